@@ -0,0 +1,200 @@
+package com.barriquebackend.recipevault.recipe;
+
+import com.barriquebackend.recipevault.recipe.components.tag.TagType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares read and write latency of one recipe in both {@link RecipeStorageMode}s against PostgreSQL.
+ * <p>
+ * Each benchmark issues the statements Hibernate issues for the layout: in TABLES mode one insert
+ * per component row and one select per component collection, in DOCUMENT mode a single row.
+ * Tables are temporary and live only for the benchmark's connection. Point it at a database with
+ * {@code -Dbench.db.url=jdbc:postgresql://localhost:5432/postgres -Dbench.db.user=... -Dbench.db.password=...},
+ * for example through {@code JAVA_TOOL_OPTIONS} when running {@code ./gradlew jmh}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecipeStorageBenchmark {
+
+    private static final String[] COMPONENT_TABLES = {"ingredient", "nutritional_value", "recipe_step", "tool", "tag"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Connection connection;
+    private String document;
+    private long tableRecipeId;
+    private long documentRecipeId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/postgres"),
+                System.getProperty("bench.db.user", "postgres"), System.getProperty("bench.db.password", "postgres"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create temp table bench_recipe (recipe_id bigserial primary key, title varchar(255), components jsonb)");
+            statement.execute("create temp table bench_ingredient (id bigserial primary key, recipe_id bigint, title varchar(255), amount float8, unit varchar(255))");
+            statement.execute("create temp table bench_nutritional_value (id bigserial primary key, recipe_id bigint, title varchar(255), amount float8)");
+            statement.execute("create temp table bench_recipe_step (id bigserial primary key, recipe_id bigint, step_description varchar(255), step_number int)");
+            statement.execute("create temp table bench_tool (id bigserial primary key, recipe_id bigint, title varchar(255), amount int)");
+            statement.execute("create temp table bench_tag (id bigserial primary key, recipe_id bigint, tag_type varchar(255))");
+            for (String table : COMPONENT_TABLES) {
+                statement.execute("create index on bench_" + table + " (recipe_id)");
+            }
+        }
+        try {
+            document = objectMapper.writeValueAsString(sampleComponents());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        tableRecipeId = writeTables();
+        documentRecipeId = writeDocument();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long writeTables() throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            long recipeId = insertReturningId("insert into bench_recipe (title) values ('Benchmark recipe') returning recipe_id");
+            RecipeComponents components = sampleComponents();
+            for (RecipeComponents.IngredientEntry ingredient : components.ingredients()) {
+                execute("insert into bench_ingredient (recipe_id, title, amount, unit) values (?, ?, ?, ?)",
+                        recipeId, ingredient.title(), ingredient.amount(), ingredient.unit());
+            }
+            for (RecipeComponents.NutritionEntry nutrition : components.nutritionalValues()) {
+                execute("insert into bench_nutritional_value (recipe_id, title, amount) values (?, ?, ?)",
+                        recipeId, nutrition.title(), nutrition.amount());
+            }
+            for (RecipeComponents.StepEntry step : components.steps()) {
+                execute("insert into bench_recipe_step (recipe_id, step_description, step_number) values (?, ?, ?)",
+                        recipeId, step.stepDescription(), step.stepNumber());
+            }
+            for (RecipeComponents.ToolEntry tool : components.tools()) {
+                execute("insert into bench_tool (recipe_id, title, amount) values (?, ?, ?)",
+                        recipeId, tool.title(), tool.amount());
+            }
+            for (TagType tag : components.tags()) {
+                execute("insert into bench_tag (recipe_id, tag_type) values (?, ?)", recipeId, tag.name());
+            }
+            connection.commit();
+            return recipeId;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    @Benchmark
+    public long writeDocument() throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "insert into bench_recipe (title, components) values ('Benchmark recipe', ?::jsonb) returning recipe_id")) {
+            statement.setString(1, document);
+            long recipeId;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                recipeId = resultSet.getLong(1);
+            }
+            connection.commit();
+            return recipeId;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    @Benchmark
+    public void readTables(Blackhole blackhole) throws SQLException {
+        readAll("select recipe_id, title, components from bench_recipe where recipe_id = ?", tableRecipeId, blackhole);
+        for (String table : COMPONENT_TABLES) {
+            readAll("select * from bench_" + table + " where recipe_id = ?", tableRecipeId, blackhole);
+        }
+    }
+
+    @Benchmark
+    public void readDocument(Blackhole blackhole) throws Exception {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select recipe_id, title, components from bench_recipe where recipe_id = ?")) {
+            statement.setLong(1, documentRecipeId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                blackhole.consume(objectMapper.readValue(resultSet.getString(3), RecipeComponents.class));
+            }
+        }
+    }
+
+    private void readAll(String sql, long recipeId, Blackhole blackhole) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, recipeId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                int columns = resultSet.getMetaData().getColumnCount();
+                while (resultSet.next()) {
+                    for (int i = 1; i <= columns; i++) {
+                        blackhole.consume(resultSet.getObject(i));
+                    }
+                }
+            }
+        }
+    }
+
+    private long insertReturningId(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private void execute(String sql, Object... parameters) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            statement.executeUpdate();
+        }
+    }
+
+    // A typical recipe: 10 ingredients, 4 nutritional values, 6 steps, 3 tools, 3 tags.
+    private static RecipeComponents sampleComponents() {
+        List<RecipeComponents.IngredientEntry> ingredients = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ingredients.add(new RecipeComponents.IngredientEntry(null, "Ingredient " + i, 100.0 + i, "g"));
+        }
+        List<RecipeComponents.NutritionEntry> nutrition = List.of(
+                new RecipeComponents.NutritionEntry("Calories", 520.0),
+                new RecipeComponents.NutritionEntry("Protein", 32.0),
+                new RecipeComponents.NutritionEntry("Carbohydrates", 48.0),
+                new RecipeComponents.NutritionEntry("Fat", 18.0));
+        List<RecipeComponents.StepEntry> steps = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            steps.add(new RecipeComponents.StepEntry("Do step " + i + " carefully and season to taste.", i));
+        }
+        List<RecipeComponents.ToolEntry> tools = List.of(
+                new RecipeComponents.ToolEntry("Pan", 1),
+                new RecipeComponents.ToolEntry("Knife", 1),
+                new RecipeComponents.ToolEntry("Bowl", 2));
+        return new RecipeComponents(ingredients, nutrition, steps, tools,
+                List.of(TagType.MAIN_COURSE, TagType.EASY, TagType.VEGETARIAN));
+    }
+}
@@ -0,0 +1,80 @@
+package com.barriquebackend.recipevault.recipe.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures query latency and single-recipe update cost of {@link InvertedIndex} on a
+ * synthetic recipe collection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InvertedIndexBenchmark {
+
+    private static final String[] WORDS = {
+            "chicken", "beef", "tofu", "salmon", "garlic", "onion", "tomato", "basil", "lemon", "butter",
+            "flour", "sugar", "egg", "milk", "cream", "rice", "pasta", "potato", "carrot", "pepper",
+            "ginger", "soy", "honey", "thyme", "rosemary", "paprika", "cumin", "spinach", "mushroom", "cheese",
+            "roast", "bake", "simmer", "fry", "grill", "stir", "chop", "whisk", "season", "serve"
+    };
+
+    @Param({"500", "3000"})
+    private int recipes;
+
+    private InvertedIndex index;
+    private Random random;
+    private long nextUpdateId;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+        index = new InvertedIndex();
+        for (long id = 1; id <= recipes; id++) {
+            index.put(document(id));
+        }
+    }
+
+    @Benchmark
+    public List<RecipeSearchHit> singleTermQuery() {
+        return index.search("garlic", 20);
+    }
+
+    @Benchmark
+    public List<RecipeSearchHit> multiTermQuery() {
+        return index.search("roast chicken with garlic and lemon", 20);
+    }
+
+    @Benchmark
+    public int updateOneRecipe() {
+        index.put(document(1 + (nextUpdateId++ % recipes)));
+        return index.size();
+    }
+
+    private RecipeDocument document(long id) {
+        List<String> ingredients = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            ingredients.add(word() + " " + word());
+        }
+        List<String> steps = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            steps.add(word() + " the " + word() + " with " + word() + " and " + word());
+        }
+        return new RecipeDocument(id, word() + " " + word(), word() + " " + word() + " " + word(), ingredients, steps);
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
@@ -1,18 +1,27 @@
 package com.barriquebackend.bucksbuddy.journey;
 
 import com.barriquebackend.bucksbuddy.journey.expense.Expense;
+import com.barriquebackend.sync.ChangeTracked;
+import com.barriquebackend.sync.ChangeTrackingListener;
 import com.barriquebackend.user.User;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "journeys")
-public class Journey {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "journey")
+@Table(name = "journeys", indexes = @Index(name = "idx_journeys_user_change", columnList = "user_id, change_seq"))
+@EntityListeners(ChangeTrackingListener.class)
+public class Journey implements ChangeTracked {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -41,8 +50,22 @@ public class Journey {
     @Column(nullable = false)
     private LocalDate endDate;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long version;
+
+    @Column(name = "change_seq", nullable = false, columnDefinition = "bigint default 0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long changeSeq;
+
+    @Column(name = "updated_at")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant updatedAt;
+
     @OneToMany(mappedBy = "journey", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "journey-expenses")
     private List<Expense> expenses = new ArrayList<>();
 
     // Getters and setters
@@ -54,6 +77,30 @@ public class Journey {
         this.journeyId = journeyId;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    @Override
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    @Override
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public String getName() {
         return name;
     }
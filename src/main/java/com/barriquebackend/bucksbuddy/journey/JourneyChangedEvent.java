@@ -0,0 +1,11 @@
+package com.barriquebackend.bucksbuddy.journey;
+
+/**
+ * Published by {@link JourneyService} and the expense service after a journey or one of its
+ * expenses was created, updated or deleted, so that caches of the journey can follow.
+ *
+ * @param userId    the ID of the journey's owner
+ * @param journeyId the ID of the journey
+ */
+public record JourneyChangedEvent(Long userId, Long journeyId) {
+}
@@ -2,12 +2,16 @@ package com.barriquebackend.bucksbuddy.journey;
 
 import com.barriquebackend.user.User;
 import com.barriquebackend.user.UserRepository;
+import com.barriquebackend.web.ETags;
+import com.barriquebackend.web.ResponseCache;
+import com.barriquebackend.web.VersionStamp;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.Optional;
 
 /**
  * REST controller for managing journeys.
@@ -17,47 +21,74 @@ import java.util.List;
 @RequestMapping("/api")
 public class JourneyController {
 
+    /** Key of the journey list in the {@link ResponseCache}. */
+    static final String JOURNEY_LIST_RESOURCE = "journeys";
+
     private final JourneyService journeyService;
     private final UserRepository userRepository;
+    private final ResponseCache responseCache;
 
     /**
      * Constructs a JourneyController with the specified JourneyService and UserRepository.
      *
      * @param journeyService the service for journey business logic
      * @param userRepository the repository for user data
+     * @param responseCache  the cache of serialized responses
      */
-    public JourneyController(JourneyService journeyService, UserRepository userRepository) {
+    public JourneyController(JourneyService journeyService, UserRepository userRepository, ResponseCache responseCache) {
         this.journeyService = journeyService;
         this.userRepository = userRepository;
+        this.responseCache = responseCache;
     }
 
     /**
      * Retrieves all journeys for the authenticated user.
+     * <p>
+     * Answers 304 without loading any journey if the If-None-Match header matches
+     * the aggregate version of the user's journeys. The serialized list is cached per user until a
+     * journey or one of its expenses changes.
+     * </p>
      *
+     * @param ifNoneMatch    the If-None-Match header (optional)
      * @param authentication the authentication token containing user details
-     * @return a list of journeys belonging to the authenticated user
+     * @return a ResponseEntity with the journeys belonging to the authenticated user, or 304
      */
     @GetMapping("/user/journey")
-    public List<Journey> getJourneysByUserId(Authentication authentication) {
+    public ResponseEntity<byte[]> getJourneysByUserId(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                      Authentication authentication) {
         User user = getAuthenticatedUser(authentication);
-        return journeyService.getAllJourneysByUserId(user.getId());
+        VersionStamp stamp = journeyService.getJourneyListVersion(user.getId());
+        return responseCache.serve(user.getId(), JOURNEY_LIST_RESOURCE, stamp.toETag("journeys"), ifNoneMatch,
+                () -> journeyService.getAllJourneysByUserId(user.getId()));
     }
 
     /**
      * Retrieves a journey by its ID.
+     * <p>
+     * Answers 304 without loading the journey if the If-None-Match header matches its current version.
+     * </p>
      *
      * @param id             the ID of the journey to retrieve
+     * @param ifNoneMatch    the If-None-Match header (optional)
      * @param authentication the authentication token containing user details
-     * @return a ResponseEntity with the journey if found and authorized, or an appropriate error status
+     * @return a ResponseEntity with the journey if found and authorized, or an appropriate status
      */
     @GetMapping("/journey/{id}")
-    public ResponseEntity<Journey> getJourneyById(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<Journey> getJourneyById(@PathVariable Long id,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                  Authentication authentication) {
         User user = getAuthenticatedUser(authentication);
+        if (ifNoneMatch != null) {
+            Optional<Long> version = journeyService.getJourneyVersion(id, user.getId());
+            if (version.isPresent() && ETags.matchesIfNoneMatch(ifNoneMatch, journeyETag(id, version.get()))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(journeyETag(id, version.get())).build();
+            }
+        }
         Journey journey = journeyService.getJourneyById(id);
         if (!journey.getUser().getId().equals(user.getId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
-        return ResponseEntity.ok(journey);
+        return ResponseEntity.ok().eTag(journeyETag(id, journey.getVersion())).body(journey);
     }
 
     /**
@@ -78,38 +109,61 @@ public class JourneyController {
      *
      * @param id             the ID of the journey to update
      * @param journeyDetails the updated journey data
+     * @param ifMatch        the If-Match header (optional); the update fails with 412 if it is outdated
      * @param authentication the authentication token containing user details
      * @return a ResponseEntity with the updated journey if successful, or an error status
      */
     @PutMapping("/journey/{id}")
-    public ResponseEntity<Journey> updateJourney(@PathVariable Long id, @RequestBody Journey journeyDetails, Authentication authentication) {
+    public ResponseEntity<Journey> updateJourney(@PathVariable Long id, @RequestBody Journey journeyDetails,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 Authentication authentication) {
         User user = getAuthenticatedUser(authentication);
         Journey journey = journeyService.getJourneyById(id);
         if (!journey.getUser().getId().equals(user.getId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
+        if (!ETags.satisfiesIfMatch(ifMatch, journeyETag(id, journey.getVersion()))) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
         Journey updatedJourney = journeyService.updateJourney(id, journeyDetails, user);
-        return ResponseEntity.ok(updatedJourney);
+        return ResponseEntity.ok().eTag(journeyETag(id, updatedJourney.getVersion())).body(updatedJourney);
     }
 
     /**
      * Deletes a journey for the authenticated user.
      *
      * @param id             the ID of the journey to delete
+     * @param ifMatch        the If-Match header (optional); the deletion fails with 412 if it is outdated
      * @param authentication the authentication token containing user details
      * @return a ResponseEntity with a success message if deletion is successful, or an error status
      */
     @DeleteMapping("/journey/{id}")
-    public ResponseEntity<String> deleteJourney(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<String> deleteJourney(@PathVariable Long id,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                Authentication authentication) {
         User user = getAuthenticatedUser(authentication);
         Journey journey = journeyService.getJourneyById(id);
         if (!journey.getUser().getId().equals(user.getId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
+        if (!ETags.satisfiesIfMatch(ifMatch, journeyETag(id, journey.getVersion()))) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
         journeyService.deleteJourney(id, user);
         return ResponseEntity.ok("Journey deleted successfully.");
     }
 
+    /**
+     * Helper method to build the entity tag of a single journey.
+     *
+     * @param id      the ID of the journey
+     * @param version the version of the journey
+     * @return the quoted entity tag
+     */
+    private String journeyETag(Long id, long version) {
+        return ETags.of("journey", id, version);
+    }
+
     /**
      * Helper method to extract the authenticated user from the security context.
      *
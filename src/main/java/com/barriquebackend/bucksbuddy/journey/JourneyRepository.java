@@ -1,11 +1,52 @@
 package com.barriquebackend.bucksbuddy.journey;
 
+import com.barriquebackend.web.VersionStamp;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface JourneyRepository extends JpaRepository<Journey, Long> {
     List<Journey> findAllByUserId(Long userId);
+
+    List<Journey> findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(Long userId, long changeSeq, Limit limit);
+
+    // Loads a journey and bumps its version on commit. Used when one of its expenses changes,
+    // because the journey's representation (and ETag) includes its expenses.
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select j from Journey j where j.journeyId = :id")
+    Optional<Journey> findForUpdateById(@Param("id") Long id);
+
+    // Owner of a journey, used to check access without loading the journey.
+    @Query("select j.user.id from Journey j where j.journeyId = :id")
+    Optional<Long> findOwnerId(@Param("id") Long id);
+
+    // Set-based delete; expenses must be deleted first (see ExpenseRepository#deleteAllByJourneyId).
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Journey j where j.journeyId = :id and j.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("select j.journeyId from Journey j where j.user.id = :userId order by j.journeyId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Journey j where j.journeyId in :journeyIds")
+    int deleteJourneysByIds(@Param("journeyIds") Collection<Long> journeyIds);
+
+    // Version of a single journey, used to answer conditional requests without loading the journey.
+    @Query("select j.version from Journey j where j.journeyId = :id and j.user.id = :userId")
+    Optional<Long> findVersion(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("select new com.barriquebackend.web.VersionStamp(count(j), coalesce(sum(j.version), 0L), coalesce(max(j.journeyId), 0L)) " +
+            "from Journey j where j.user.id = :userId")
+    VersionStamp findVersionStampByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.barriquebackend.bucksbuddy.journey;
+
+import com.barriquebackend.user.UserLoggedInEvent;
+import com.barriquebackend.web.ResponseCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the cached journey list of {@link JourneyController} in step with the journeys and their
+ * expenses, and renders it in the background right after a login.
+ */
+@Component
+public class JourneyResponseCacheListener {
+
+    private final ResponseCache responseCache;
+    private final JourneyService journeyService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean warmOnLogin;
+
+    /**
+     * Constructs a JourneyResponseCacheListener.
+     *
+     * @param responseCache      the cache of serialized responses
+     * @param journeyService     the service loading the journeys to warm the cache with
+     * @param transactionManager the transaction manager
+     * @param warmOnLogin        whether to render a user's journey list right after login
+     */
+    public JourneyResponseCacheListener(ResponseCache responseCache, JourneyService journeyService,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${response.cache.warm-on-login:true}") boolean warmOnLogin) {
+        this.responseCache = responseCache;
+        this.journeyService = journeyService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.warmOnLogin = warmOnLogin;
+    }
+
+    /**
+     * Drops the cached journey list after a journey or expense change.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJourneyChanged(JourneyChangedEvent event) {
+        responseCache.evict(event.userId(), JourneyController.JOURNEY_LIST_RESOURCE);
+    }
+
+    /**
+     * Renders the user's journey list into the cache.
+     *
+     * @param event the login
+     */
+    @Async
+    @EventListener
+    public void onUserLoggedIn(UserLoggedInEvent event) {
+        if (!warmOnLogin) {
+            return;
+        }
+        Long userId = event.userId();
+        readOnlyTransaction.executeWithoutResult(status -> responseCache.get(userId, JourneyController.JOURNEY_LIST_RESOURCE,
+                journeyService.getJourneyListVersion(userId).toETag("journeys"),
+                () -> journeyService.getAllJourneysByUserId(userId)));
+    }
+}
@@ -1,7 +1,13 @@
 package com.barriquebackend.bucksbuddy.journey;
 
+import com.barriquebackend.bucksbuddy.journey.expense.ExpenseRepository;
+import com.barriquebackend.sync.SyncEntityType;
+import com.barriquebackend.sync.SyncService;
 import com.barriquebackend.user.User;
+import com.barriquebackend.web.VersionStamp;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,14 +21,24 @@ import java.util.Optional;
 public class JourneyService {
 
     private final JourneyRepository journeyRepository;
+    private final ExpenseRepository expenseRepository;
+    private final SyncService syncService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Constructs a JourneyService with the specified JourneyRepository.
+     * Constructs a JourneyService with the specified repositories and SyncService.
      *
      * @param journeyRepository the repository used to perform CRUD operations on journeys
+     * @param expenseRepository the repository used to delete a journey's expenses
+     * @param syncService       the service recording deletions for delta sync
+     * @param eventPublisher    the publisher for journey change events
      */
-    public JourneyService(JourneyRepository journeyRepository) {
+    public JourneyService(JourneyRepository journeyRepository, ExpenseRepository expenseRepository, SyncService syncService,
+                          ApplicationEventPublisher eventPublisher) {
         this.journeyRepository = journeyRepository;
+        this.expenseRepository = expenseRepository;
+        this.syncService = syncService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -35,6 +51,31 @@ public class JourneyService {
         return journeyRepository.findAllByUserId(userId);
     }
 
+    /**
+     * Retrieves the aggregate version of all journeys of a specific user.
+     *
+     * @param userId the ID of the user
+     * @return the version stamp of the user's journey list
+     */
+    public VersionStamp getJourneyListVersion(Long userId) {
+        return journeyRepository.findVersionStampByUserId(userId);
+    }
+
+    /**
+     * Retrieves the version of a journey without loading the journey itself.
+     * <p>
+     * The version also changes whenever one of the journey's expenses is created,
+     * updated or deleted.
+     * </p>
+     *
+     * @param id     the ID of the journey
+     * @param userId the ID of the user who must own the journey
+     * @return the version, or empty if the journey does not exist or belongs to another user
+     */
+    public Optional<Long> getJourneyVersion(Long id, Long userId) {
+        return journeyRepository.findVersion(id, userId);
+    }
+
     /**
      * Retrieves a journey by its ID.
      *
@@ -60,7 +101,9 @@ public class JourneyService {
      */
     public Journey createJourney(Journey journey, User user) {
         journey.setUser(user);
-        return journeyRepository.save(journey);
+        Journey savedJourney = journeyRepository.save(journey);
+        eventPublisher.publishEvent(new JourneyChangedEvent(user.getId(), savedJourney.getJourneyId()));
+        return savedJourney;
     }
 
     /**
@@ -91,24 +134,36 @@ public class JourneyService {
         journey.setStartDate(journeyDetails.getStartDate());
         journey.setEndDate(journeyDetails.getEndDate());
 
-        return journeyRepository.save(journey);
+        Journey savedJourney = journeyRepository.save(journey);
+        eventPublisher.publishEvent(new JourneyChangedEvent(user.getId(), id));
+        return savedJourney;
     }
 
     /**
      * Deletes a journey by its ID.
+     * <p>
+     * The journey and its expenses are removed with set-based DELETE statements in one
+     * transaction, so the number of statements does not grow with the number of expenses
+     * and no expense is loaded into memory.
+     * </p>
      *
      * @param id   the ID of the journey to delete
      * @param user the user attempting to delete the journey
      * @throws RuntimeException if the journey does not belong to the user or is not found
      */
+    @Transactional
     public void deleteJourney(Long id, User user) {
-        Journey journey = getJourneyById(id);
+        Long ownerId = journeyRepository.findOwnerId(id)
+                .orElseThrow(() -> new RuntimeException("Journey not found for ID: " + id));
 
         // Verify that the journey belongs to the user.
-        if (!journey.getUser().getId().equals(user.getId())) {
+        if (!ownerId.equals(user.getId())) {
             throw new RuntimeException("You are not authorized to delete this journey.");
         }
 
-        journeyRepository.deleteById(id);
+        expenseRepository.deleteAllByJourneyId(id);
+        journeyRepository.deleteByIdAndUserId(id, user.getId());
+        syncService.recordDeletion(user.getId(), SyncEntityType.JOURNEY, id);
+        eventPublisher.publishEvent(new JourneyChangedEvent(user.getId(), id));
     }
 }
\ No newline at end of file
@@ -1,14 +1,23 @@
 package com.barriquebackend.bucksbuddy.journey.expense;
 
 import com.barriquebackend.bucksbuddy.journey.Journey;
+import com.barriquebackend.sync.ChangeTracked;
+import com.barriquebackend.sync.ChangeTrackingListener;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "expense")
-public class Expense {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "expense")
+@Table(name = "expense", indexes = @Index(name = "idx_expense_journey_change", columnList = "journey_id, change_seq"))
+@EntityListeners(ChangeTrackingListener.class)
+public class Expense implements ChangeTracked {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,6 +33,19 @@ public class Expense {
 
     private LocalDate date;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long version;
+
+    @Column(name = "change_seq", nullable = false, columnDefinition = "bigint default 0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long changeSeq;
+
+    @Column(name = "updated_at")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant updatedAt;
+
     public Long getExpenseId() {
         return expenseId;
     }
@@ -32,6 +54,30 @@ public class Expense {
         this.expenseId = expenseId;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    @Override
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    @Override
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     public String getName() {
         return name;
     }
@@ -56,6 +102,13 @@ public class Expense {
         this.date = date;
     }
 
+    // Exposes the owning journey's ID, which the back reference hides, so that
+    // expenses returned by sync and search can be matched to their journey.
+    @JsonProperty(value = "journeyId", access = JsonProperty.Access.READ_ONLY)
+    public Long getJourneyId() {
+        return journey != null ? journey.getJourneyId() : null;
+    }
+
     public Journey getJourney() {
         return journey;
     }
@@ -4,7 +4,10 @@ import com.barriquebackend.bucksbuddy.journey.Journey;
 import com.barriquebackend.bucksbuddy.journey.JourneyService;
 import com.barriquebackend.user.User;
 import com.barriquebackend.user.UserRepository;
+import com.barriquebackend.web.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -40,21 +43,35 @@ public class ExpenseController {
 
     /**
      * Retrieves all expenses for a given journey.
+     * <p>
+     * The list is tagged with the journey's version, which changes whenever one of its
+     * expenses does, so a matching If-None-Match header is answered with 304 without
+     * loading any expense.
+     * </p>
      *
      * @param journeyId      the ID of the journey
+     * @param ifNoneMatch    the If-None-Match header (optional)
      * @param authentication the authentication token containing user details
-     * @return a ResponseEntity with the list of expenses if authorized, or an error status
+     * @return a ResponseEntity with the list of expenses if authorized, or an appropriate status
      */
     @GetMapping("/journey/{journeyId}/expense")
     public ResponseEntity<List<Expense>> getAllExpenseByJourneyId(@PathVariable Long journeyId,
+                                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
                                                                   Authentication authentication) {
+        User user = getAuthenticatedUser(authentication);
+        if (ifNoneMatch != null) {
+            Optional<Long> version = journeyService.getJourneyVersion(journeyId, user.getId());
+            if (version.isPresent() && ETags.matchesIfNoneMatch(ifNoneMatch, expenseListETag(journeyId, version.get()))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(expenseListETag(journeyId, version.get())).build();
+            }
+        }
         Optional<Journey> authorizedJourney = getAuthorizedJourney(journeyId, authentication);
         if (authorizedJourney.isEmpty()) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
-        User user = getAuthenticatedUser(authentication);
+        String etag = expenseListETag(journeyId, authorizedJourney.get().getVersion());
         List<Expense> expenses = expenseService.getAllExpenseByJourneyId(journeyId, user.getId());
-        return ResponseEntity.ok(expenses);
+        return ResponseEntity.ok().eTag(etag).body(expenses);
     }
 
     /**
@@ -75,12 +92,38 @@ public class ExpenseController {
         }
         Optional<Expense> expenseOpt = expenseService.getExpenseById(expenseId);
         if (expenseOpt.isPresent() && expenseOpt.get().getJourney().getJourneyId().equals(journeyId)) {
-            return ResponseEntity.ok(expenseOpt.get());
+            return ResponseEntity.ok().eTag(expenseETag(expenseOpt.get())).body(expenseOpt.get());
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Searches the authenticated user's expenses by name.
+     *
+     * @param query          the search text
+     * @param journeyId      the ID of a journey to limit the search to (optional)
+     * @param page           the zero-based page index
+     * @param size           the page size
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with a page of ranked results, or an error status
+     */
+    @GetMapping("/user/expense/search")
+    public ResponseEntity<Page<ExpenseSearchResult>> searchExpenses(@RequestParam("q") String query,
+                                                                    @RequestParam(required = false) Long journeyId,
+                                                                    @RequestParam(defaultValue = "0") int page,
+                                                                    @RequestParam(defaultValue = "20") int size,
+                                                                    Authentication authentication) {
+        if (query.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (journeyId != null && getAuthorizedJourney(journeyId, authentication).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        User user = getAuthenticatedUser(authentication);
+        return ResponseEntity.ok(expenseService.searchExpenses(user.getId(), journeyId, query, page, size));
+    }
+
     /**
      * Creates a new expense for a given journey.
      *
@@ -107,6 +150,7 @@ public class ExpenseController {
      * @param journeyId      the ID of the journey
      * @param expenseId      the ID of the expense to update
      * @param expense        the updated expense data
+     * @param ifMatch        the If-Match header (optional); the update fails with 412 if it is outdated
      * @param authentication the authentication token containing user details
      * @return a ResponseEntity with the updated expense if successful, or an error status
      */
@@ -114,6 +158,7 @@ public class ExpenseController {
     public ResponseEntity<Expense> updateExpense(@PathVariable Long journeyId,
                                                  @PathVariable Long expenseId,
                                                  @RequestBody Expense expense,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                  Authentication authentication) {
         Optional<Journey> authorizedJourney = getAuthorizedJourney(journeyId, authentication);
         if (authorizedJourney.isEmpty()) {
@@ -121,8 +166,12 @@ public class ExpenseController {
         }
         Optional<Expense> existingExp = expenseService.getExpenseById(expenseId);
         if (existingExp.isPresent() && existingExp.get().getJourney().getJourneyId().equals(journeyId)) {
+            if (!ETags.satisfiesIfMatch(ifMatch, expenseETag(existingExp.get()))) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
             Optional<Expense> updatedExp = expenseService.updateExpense(expenseId, expense);
-            return updatedExp.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+            return updatedExp.map(updated -> ResponseEntity.ok().eTag(expenseETag(updated)).body(updated))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
         } else {
             return ResponseEntity.notFound().build();
         }
@@ -133,12 +182,14 @@ public class ExpenseController {
      *
      * @param journeyId      the ID of the journey
      * @param expenseId      the ID of the expense to delete
+     * @param ifMatch        the If-Match header (optional); the deletion fails with 412 if it is outdated
      * @param authentication the authentication token containing user details
      * @return a ResponseEntity with no content if deletion is successful, or an error status
      */
     @DeleteMapping("/journey/{journeyId}/expense/{expenseId}")
     public ResponseEntity<Void> deleteExpense(@PathVariable Long journeyId,
                                               @PathVariable Long expenseId,
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                               Authentication authentication) {
         Optional<Journey> authorizedJourney = getAuthorizedJourney(journeyId, authentication);
         if (authorizedJourney.isEmpty()) {
@@ -146,6 +197,9 @@ public class ExpenseController {
         }
         Optional<Expense> expenseOpt = expenseService.getExpenseById(expenseId);
         if (expenseOpt.isPresent() && expenseOpt.get().getJourney().getJourneyId().equals(journeyId)) {
+            if (!ETags.satisfiesIfMatch(ifMatch, expenseETag(expenseOpt.get()))) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+            }
             boolean deleted = expenseService.deleteExpense(expenseId);
             return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
         } else {
@@ -153,6 +207,27 @@ public class ExpenseController {
         }
     }
 
+    /**
+     * Helper method to build the entity tag of a journey's expense list.
+     *
+     * @param journeyId the ID of the journey
+     * @param version   the version of the journey
+     * @return the quoted entity tag
+     */
+    private String expenseListETag(Long journeyId, long version) {
+        return ETags.of("journey", journeyId, version, "expenses");
+    }
+
+    /**
+     * Helper method to build the entity tag of a single expense.
+     *
+     * @param expense the expense
+     * @return the quoted entity tag
+     */
+    private String expenseETag(Expense expense) {
+        return ETags.of("expense", expense.getExpenseId(), expense.getVersion());
+    }
+
     /**
      * Helper method to extract the authenticated user from the security context.
      *
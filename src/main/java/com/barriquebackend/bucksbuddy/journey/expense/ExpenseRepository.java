@@ -1,7 +1,14 @@
 package com.barriquebackend.bucksbuddy.journey.expense;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +18,79 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
 
     // Query expenses by the journey's id and the journey's user id.
     List<Expense> findAllByJourney_JourneyIdAndJourney_User_Id(Long journeyId, Long userId);
-}
\ No newline at end of file
+
+    List<Expense> findByJourney_User_IdAndChangeSeqGreaterThanOrderByChangeSeqAsc(Long userId, long changeSeq, Limit limit);
+
+    // Drops the references the attachments of the expenses hold on their blobs; BlobStore deletes unreferenced files.
+    @Modifying(flushAutomatically = true)
+    @Query("update Blob b set b.referenceCount = b.referenceCount - " +
+            "(select count(a) from ExpenseAttachment a where a.blobHash = b.hash and a.expense.expenseId in :expenseIds) " +
+            "where b.hash in (select a.blobHash from ExpenseAttachment a where a.expense.expenseId in :expenseIds)")
+    int releaseAttachmentsByExpenseIds(@Param("expenseIds") Collection<Long> expenseIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from ExpenseAttachment a where a.expense.expenseId in :expenseIds")
+    int deleteAttachmentsByExpenseIds(@Param("expenseIds") Collection<Long> expenseIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Blob b set b.referenceCount = b.referenceCount - " +
+            "(select count(a) from ExpenseAttachment a where a.blobHash = b.hash and a.expense.journey.journeyId in :journeyIds) " +
+            "where b.hash in (select a.blobHash from ExpenseAttachment a where a.expense.journey.journeyId in :journeyIds)")
+    int releaseAttachmentsByJourneyIds(@Param("journeyIds") Collection<Long> journeyIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from ExpenseAttachment a where a.expense.expenseId in " +
+            "(select e.expenseId from Expense e where e.journey.journeyId in :journeyIds)")
+    int deleteAttachmentsByJourneyIds(@Param("journeyIds") Collection<Long> journeyIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Expense e where e.journey.journeyId in :journeyIds")
+    int deleteExpensesByJourneyIds(@Param("journeyIds") Collection<Long> journeyIds);
+
+    // Deletes all expenses of a journey and their attachments in one statement per table instead of one per expense.
+    default int deleteAllByJourneyId(Long journeyId) {
+        return deleteAllByJourneyIds(List.of(journeyId));
+    }
+
+    default int deleteAllByJourneyIds(Collection<Long> journeyIds) {
+        releaseAttachmentsByJourneyIds(journeyIds);
+        deleteAttachmentsByJourneyIds(journeyIds);
+        return deleteExpensesByJourneyIds(journeyIds);
+    }
+
+    // Deletes the attachments of an expense before the expense itself is deleted.
+    default void deleteAttachments(Long expenseId) {
+        releaseAttachmentsByExpenseIds(List.of(expenseId));
+        deleteAttachmentsByExpenseIds(List.of(expenseId));
+    }
+
+    // Ranked search over expense names of one user, optionally limited to one journey.
+    // Relies on the full-text and trigram indexes created in schema.sql.
+    @Query(value = """
+            SELECT e.expense_id AS "expenseId", e.journey_id AS "journeyId", j.name AS "journeyName",
+                   e.name AS "name", e.amount AS "amount", e.date AS "date",
+                   GREATEST(ts_rank(to_tsvector('simple', coalesce(e.name, '')), plainto_tsquery('simple', :query)),
+                            similarity(e.name, :query)) AS "rank"
+            FROM expense e
+            JOIN journeys j ON j.journey_id = e.journey_id
+            WHERE j.user_id = :userId
+              AND (CAST(:journeyId AS bigint) IS NULL OR e.journey_id = :journeyId)
+              AND (to_tsvector('simple', coalesce(e.name, '')) @@ plainto_tsquery('simple', :query)
+                   OR e.name % :query)
+            ORDER BY "rank" DESC, e.date DESC, e.expense_id DESC
+            """,
+            countQuery = """
+            SELECT count(*)
+            FROM expense e
+            JOIN journeys j ON j.journey_id = e.journey_id
+            WHERE j.user_id = :userId
+              AND (CAST(:journeyId AS bigint) IS NULL OR e.journey_id = :journeyId)
+              AND (to_tsvector('simple', coalesce(e.name, '')) @@ plainto_tsquery('simple', :query)
+                   OR e.name % :query)
+            """,
+            nativeQuery = true)
+    Page<ExpenseSearchResult> searchByName(@Param("userId") Long userId,
+                                           @Param("journeyId") Long journeyId,
+                                           @Param("query") String query,
+                                           Pageable pageable);
+}
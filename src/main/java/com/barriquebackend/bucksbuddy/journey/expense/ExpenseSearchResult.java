@@ -0,0 +1,24 @@
+package com.barriquebackend.bucksbuddy.journey.expense;
+
+import java.time.LocalDate;
+
+/**
+ * Projection returned by the expense full-text search.
+ * Carries the owning journey so results from several journeys can be told apart.
+ */
+public interface ExpenseSearchResult {
+
+    Long getExpenseId();
+
+    Long getJourneyId();
+
+    String getJourneyName();
+
+    String getName();
+
+    double getAmount();
+
+    LocalDate getDate();
+
+    double getRank();
+}
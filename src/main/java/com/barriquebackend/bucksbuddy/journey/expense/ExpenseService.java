@@ -1,9 +1,16 @@
 package com.barriquebackend.bucksbuddy.journey.expense;
 
 import com.barriquebackend.bucksbuddy.journey.Journey;
+import com.barriquebackend.bucksbuddy.journey.JourneyChangedEvent;
 import com.barriquebackend.bucksbuddy.journey.JourneyRepository;
+import com.barriquebackend.sync.SyncEntityType;
+import com.barriquebackend.sync.SyncService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,23 +18,36 @@ import java.util.Optional;
  * Service class for handling business logic related to expenses.
  * Provides methods for creating, retrieving, updating, and deleting expenses
  * that are associated with a specific journey and user.
+ * <p>
+ * Every write bumps the version of the owning journey, because a journey is
+ * served together with its expenses and its ETag must change with them.
+ * </p>
  */
 @Service
 public class ExpenseService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
     private final ExpenseRepository expenseRepository;
     private final JourneyRepository journeyRepository;
+    private final SyncService syncService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs an ExpenseService with the given repositories.
      *
      * @param expenseRepository the repository for performing CRUD operations on expenses
      * @param journeyRepository the repository for retrieving journeys
+     * @param syncService       the service recording deletions for delta sync
+     * @param eventPublisher    the publisher for journey change events
      */
     @Autowired
-    public ExpenseService(ExpenseRepository expenseRepository, JourneyRepository journeyRepository) {
+    public ExpenseService(ExpenseRepository expenseRepository, JourneyRepository journeyRepository, SyncService syncService,
+                          ApplicationEventPublisher eventPublisher) {
         this.expenseRepository = expenseRepository;
         this.journeyRepository = journeyRepository;
+        this.syncService = syncService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -51,6 +71,26 @@ public class ExpenseService {
         return expenseRepository.findByExpenseId(expenseId);
     }
 
+    /**
+     * Searches the names of a user's expenses, optionally limited to a single journey.
+     * <p>
+     * Results are ranked by full-text relevance or trigram similarity, whichever is higher,
+     * so both whole words ("taxi") and fragments or typos ("lisbn") find matches.
+     * </p>
+     *
+     * @param userId    the ID of the user whose expenses are searched
+     * @param journeyId the ID of the journey to search in, or null to search all journeys of the user
+     * @param query     the search text
+     * @param page      the zero-based page index
+     * @param size      the page size, capped at {@value #MAX_SEARCH_PAGE_SIZE}
+     * @return a page of matching expenses, best matches first
+     */
+    public Page<ExpenseSearchResult> searchExpenses(Long userId, Long journeyId, String query, int page, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_SEARCH_PAGE_SIZE);
+        return expenseRepository.searchByName(userId, journeyId, query.trim(),
+                PageRequest.of(Math.max(page, 0), pageSize));
+    }
+
     /**
      * Creates a new expense for a given journey.
      *
@@ -59,8 +99,9 @@ public class ExpenseService {
      * @return the created expense
      * @throws IllegalArgumentException if the journey is not found
      */
+    @Transactional
     public Expense createExpense(Long journeyId, Expense expense) {
-        Optional<Journey> journeyOpt = journeyRepository.findById(journeyId);
+        Optional<Journey> journeyOpt = journeyRepository.findForUpdateById(journeyId);
         if (journeyOpt.isPresent()) {
             Journey journey = journeyOpt.get();
             expense.setJourney(journey);
@@ -68,7 +109,9 @@ public class ExpenseService {
             // Add the expense to the journey's expense list
             journey.addExpense(expense);
 
-            return expenseRepository.save(expense);
+            Expense savedExpense = expenseRepository.save(expense);
+            eventPublisher.publishEvent(new JourneyChangedEvent(journey.getUser().getId(), journeyId));
+            return savedExpense;
         } else {
             throw new IllegalArgumentException("Journey not found for id: " + journeyId);
         }
@@ -81,21 +124,27 @@ public class ExpenseService {
      * @param updatedExpense the updated expense data
      * @return an Optional containing the updated expense if the update was successful, or empty otherwise
      */
+    @Transactional
     public Optional<Expense> updateExpense(Long expenseId, Expense updatedExpense) {
         return expenseRepository.findByExpenseId(expenseId).map(expense -> {
+            Journey journey = expense.getJourney();
+            journeyRepository.findForUpdateById(journey.getJourneyId());
             expense.setName(updatedExpense.getName());
             expense.setAmount(updatedExpense.getAmount());
             expense.setDate(updatedExpense.getDate());
-            return expenseRepository.save(expense);
+            Expense savedExpense = expenseRepository.save(expense);
+            eventPublisher.publishEvent(new JourneyChangedEvent(journey.getUser().getId(), journey.getJourneyId()));
+            return savedExpense;
         });
     }
 
     /**
-     * Deletes an expense by its ID.
+     * Deletes an expense by its ID, together with its attachments.
      *
      * @param expenseId the ID of the expense to delete
      * @return true if the expense was deleted successfully, false otherwise
      */
+    @Transactional
     public boolean deleteExpense(Long expenseId) {
         Optional<Expense> expenseOpt = expenseRepository.findByExpenseId(expenseId);
 
@@ -103,9 +152,15 @@ public class ExpenseService {
             Expense expense = expenseOpt.get();
             Journey journey = expense.getJourney();
 
+            // Attachments go first, before removing the expense from the journey can flush its deletion
+            expenseRepository.deleteAttachments(expenseId);
+
             // Remove the expense from the journey's expense list
             if (journey != null) {
+                journeyRepository.findForUpdateById(journey.getJourneyId());
                 journey.removeExpense(expense);
+                syncService.recordDeletion(journey.getUser().getId(), SyncEntityType.EXPENSE, expenseId);
+                eventPublisher.publishEvent(new JourneyChangedEvent(journey.getUser().getId(), journey.getJourneyId()));
             }
 
             expenseRepository.deleteById(expenseId);
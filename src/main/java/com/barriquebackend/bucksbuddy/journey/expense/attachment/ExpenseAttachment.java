@@ -0,0 +1,93 @@
+package com.barriquebackend.bucksbuddy.journey.expense.attachment;
+
+import com.barriquebackend.bucksbuddy.journey.expense.Expense;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * A file, typically a receipt photo, attached to an expense.
+ * <p>
+ * The content lives in the BlobStore under {@code blobHash}; attaching the same receipt to
+ * several expenses adds rows here but stores the file once.
+ * </p>
+ */
+@Entity
+@Table(name = "expense_attachment", indexes = {
+        @Index(name = "idx_expense_attachment_expense", columnList = "expense_id"),
+        @Index(name = "idx_expense_attachment_blob", columnList = "blob_hash")
+})
+public class ExpenseAttachment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long attachmentId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "expense_id", nullable = false)
+    @JsonIgnore
+    private Expense expense;
+
+    @Column(name = "blob_hash", nullable = false, length = 64)
+    private String blobHash;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected ExpenseAttachment() {
+    }
+
+    public ExpenseAttachment(Expense expense, String blobHash, String fileName, String contentType, long size) {
+        this.expense = expense;
+        this.blobHash = blobHash;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.size = size;
+        this.createdAt = Instant.now();
+    }
+
+    // Getters
+    public Long getAttachmentId() {
+        return attachmentId;
+    }
+
+    public Expense getExpense() {
+        return expense;
+    }
+
+    @JsonProperty("expenseId")
+    public Long getExpenseId() {
+        return expense.getExpenseId();
+    }
+
+    public String getBlobHash() {
+        return blobHash;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
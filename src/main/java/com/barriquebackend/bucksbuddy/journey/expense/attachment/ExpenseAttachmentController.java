@@ -0,0 +1,284 @@
+package com.barriquebackend.bucksbuddy.journey.expense.attachment;
+
+import com.barriquebackend.bucksbuddy.journey.Journey;
+import com.barriquebackend.bucksbuddy.journey.JourneyService;
+import com.barriquebackend.bucksbuddy.journey.expense.Expense;
+import com.barriquebackend.bucksbuddy.journey.expense.ExpenseService;
+import com.barriquebackend.storage.BlobTooLargeException;
+import com.barriquebackend.user.User;
+import com.barriquebackend.user.UserRepository;
+import com.barriquebackend.web.ETags;
+import com.barriquebackend.web.FileResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * REST controller for the attachments (receipts) of expenses.
+ * <p>
+ * Uploads are sent as the raw request body with the file's Content-Type, so they are hashed
+ * and written to disk as they arrive instead of being buffered as multipart data first.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api")
+public class ExpenseAttachmentController {
+
+    // Attachment content never changes, but only its owner may see it
+    private static final String PRIVATE_IMMUTABLE = "private, max-age=31536000, immutable";
+
+    private final ExpenseAttachmentService attachmentService;
+    private final ExpenseService expenseService;
+    private final JourneyService journeyService;
+    private final UserRepository userRepository;
+
+    /**
+     * Constructs an ExpenseAttachmentController.
+     *
+     * @param attachmentService the service for expense attachments
+     * @param expenseService    the service for expense business logic
+     * @param journeyService    the service for journey business logic
+     * @param userRepository    the repository for user data
+     */
+    public ExpenseAttachmentController(ExpenseAttachmentService attachmentService, ExpenseService expenseService,
+                                       JourneyService journeyService, UserRepository userRepository) {
+        this.attachmentService = attachmentService;
+        this.expenseService = expenseService;
+        this.journeyService = journeyService;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Lists the attachments of an expense.
+     *
+     * @param journeyId      the ID of the journey
+     * @param expenseId      the ID of the expense
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the attachments if authorized, or an error status
+     */
+    @GetMapping("/journey/{journeyId}/expense/{expenseId}/attachment")
+    public ResponseEntity<List<ExpenseAttachment>> getAttachments(@PathVariable Long journeyId,
+                                                                  @PathVariable Long expenseId,
+                                                                  Authentication authentication) {
+        if (getAuthorizedJourney(journeyId, authentication).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (getExpenseOfJourney(journeyId, expenseId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(attachmentService.getAttachments(expenseId));
+    }
+
+    /**
+     * Uploads a file and attaches it to an expense.
+     *
+     * @param journeyId      the ID of the journey
+     * @param expenseId      the ID of the expense
+     * @param fileName       the original file name (optional)
+     * @param request        the request whose body is the file
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the created attachment, or 403, 404, 413 or 415
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping("/journey/{journeyId}/expense/{expenseId}/attachment")
+    public ResponseEntity<ExpenseAttachment> uploadAttachment(@PathVariable Long journeyId,
+                                                              @PathVariable Long expenseId,
+                                                              @RequestParam(required = false) String fileName,
+                                                              HttpServletRequest request,
+                                                              Authentication authentication) throws IOException {
+        if (getAuthorizedJourney(journeyId, authentication).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Optional<Expense> expense = getExpenseOfJourney(journeyId, expenseId);
+        if (expense.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String contentType = baseContentType(request.getContentType());
+        if (contentType == null || !ExpenseAttachmentService.ALLOWED_CONTENT_TYPES.contains(contentType)) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).build();
+        }
+        try (InputStream body = request.getInputStream()) {
+            ExpenseAttachment attachment = attachmentService.upload(expense.get(), body, contentType, fileName);
+            return new ResponseEntity<>(attachment, HttpStatus.CREATED);
+        } catch (BlobTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+    }
+
+    /**
+     * Attaches a file that is already attached to another of the user's expenses, e.g. the
+     * receipt shared by split expenses, without uploading it again.
+     *
+     * @param journeyId      the ID of the journey
+     * @param expenseId      the ID of the expense
+     * @param blobHash       the blob hash of one of the user's existing attachments
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the created attachment, or 403 or 404
+     */
+    @PutMapping("/journey/{journeyId}/expense/{expenseId}/attachment/{blobHash:[0-9a-f]{64}}")
+    public ResponseEntity<ExpenseAttachment> linkAttachment(@PathVariable Long journeyId,
+                                                            @PathVariable Long expenseId,
+                                                            @PathVariable String blobHash,
+                                                            Authentication authentication) {
+        if (getAuthorizedJourney(journeyId, authentication).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Optional<Expense> expense = getExpenseOfJourney(journeyId, expenseId);
+        if (expense.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        User user = getAuthenticatedUser(authentication);
+        return attachmentService.link(expense.get(), blobHash, user.getId())
+                .map(attachment -> new ResponseEntity<>(attachment, HttpStatus.CREATED))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Downloads an attachment.
+     * <p>
+     * Supports HEAD, If-None-Match and single byte ranges. The file is sent with zero-copy I/O.
+     * </p>
+     *
+     * @param journeyId      the ID of the journey
+     * @param expenseId      the ID of the expense
+     * @param attachmentId   the ID of the attachment
+     * @param request        the HTTP request
+     * @param response       the HTTP response
+     * @param authentication the authentication token containing user details
+     * @throws IOException if the file cannot be sent
+     */
+    @GetMapping("/journey/{journeyId}/expense/{expenseId}/attachment/{attachmentId:\\d+}")
+    public void downloadAttachment(@PathVariable Long journeyId,
+                                   @PathVariable Long expenseId,
+                                   @PathVariable Long attachmentId,
+                                   HttpServletRequest request,
+                                   HttpServletResponse response,
+                                   Authentication authentication) throws IOException {
+        if (getAuthorizedJourney(journeyId, authentication).isEmpty()) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        Optional<ExpenseAttachment> attachment = getAttachmentOfExpense(journeyId, expenseId, attachmentId);
+        if (attachment.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (attachment.get().getFileName() != null) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                    .filename(attachment.get().getFileName(), StandardCharsets.UTF_8).build().toString());
+        }
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        FileResponses.serve(attachmentService.path(attachment.get()), attachment.get().getContentType(),
+                ETags.of(attachment.get().getBlobHash()), PRIVATE_IMMUTABLE, request, response);
+    }
+
+    /**
+     * Removes an attachment from an expense.
+     *
+     * @param journeyId      the ID of the journey
+     * @param expenseId      the ID of the expense
+     * @param attachmentId   the ID of the attachment
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with no content if the attachment was removed, or an error status
+     */
+    @DeleteMapping("/journey/{journeyId}/expense/{expenseId}/attachment/{attachmentId:\\d+}")
+    public ResponseEntity<Void> deleteAttachment(@PathVariable Long journeyId,
+                                                 @PathVariable Long expenseId,
+                                                 @PathVariable Long attachmentId,
+                                                 Authentication authentication) {
+        if (getAuthorizedJourney(journeyId, authentication).isEmpty()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Optional<ExpenseAttachment> attachment = getAttachmentOfExpense(journeyId, expenseId, attachmentId);
+        if (attachment.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        attachmentService.delete(attachment.get());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Helper method to strip parameters such as charset from a Content-Type header.
+     *
+     * @param contentType the header value, may be null
+     * @return the lower-case type and subtype, or null if the header is missing or malformed
+     */
+    private String baseContentType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return (mediaType.getType() + "/" + mediaType.getSubtype()).toLowerCase(Locale.ROOT);
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Helper method to load an expense and verify that it belongs to the given journey.
+     *
+     * @param journeyId the ID of the journey
+     * @param expenseId the ID of the expense
+     * @return an Optional containing the expense, or empty if it does not exist in the journey
+     */
+    private Optional<Expense> getExpenseOfJourney(Long journeyId, Long expenseId) {
+        return expenseService.getExpenseById(expenseId)
+                .filter(expense -> expense.getJourney().getJourneyId().equals(journeyId));
+    }
+
+    /**
+     * Helper method to load an attachment and verify that it belongs to the given expense and journey.
+     *
+     * @param journeyId    the ID of the journey
+     * @param expenseId    the ID of the expense
+     * @param attachmentId the ID of the attachment
+     * @return an Optional containing the attachment, or empty if it does not exist there
+     */
+    private Optional<ExpenseAttachment> getAttachmentOfExpense(Long journeyId, Long expenseId, Long attachmentId) {
+        return attachmentService.getAttachment(attachmentId)
+                .filter(attachment -> attachment.getExpense().getExpenseId().equals(expenseId)
+                        && attachment.getExpense().getJourney().getJourneyId().equals(journeyId));
+    }
+
+    /**
+     * Helper method to extract the authenticated user from the security context.
+     *
+     * @param authentication the authentication token containing user details
+     * @return the authenticated User
+     */
+    private User getAuthenticatedUser(Authentication authentication) {
+        String username = authentication.getName();
+        return userRepository.findByUsername(username);
+    }
+
+    /**
+     * Helper method to verify that the specified journey is owned by the authenticated user.
+     *
+     * @param journeyId      the ID of the journey to verify
+     * @param authentication the authentication token containing user details
+     * @return an Optional containing the journey if ownership is confirmed, or an empty Optional otherwise
+     */
+    private Optional<Journey> getAuthorizedJourney(Long journeyId, Authentication authentication) {
+        User user = getAuthenticatedUser(authentication);
+        Journey journey = journeyService.getJourneyById(journeyId);
+        if (!journey.getUser().getId().equals(user.getId())) {
+            return Optional.empty();
+        }
+        return Optional.of(journey);
+    }
+}
@@ -0,0 +1,15 @@
+package com.barriquebackend.bucksbuddy.journey.expense.attachment;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ExpenseAttachmentRepository extends JpaRepository<ExpenseAttachment, Long> {
+    List<ExpenseAttachment> findAllByExpense_ExpenseIdOrderByAttachmentIdAsc(Long expenseId);
+
+    // An attachment of the user with the given blob; only blobs the user already has can be linked to another expense.
+    Optional<ExpenseAttachment> findFirstByBlobHashAndExpense_Journey_User_IdOrderByAttachmentIdAsc(String blobHash, Long userId);
+}
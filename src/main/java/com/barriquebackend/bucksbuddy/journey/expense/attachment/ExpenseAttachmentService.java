@@ -0,0 +1,123 @@
+package com.barriquebackend.bucksbuddy.journey.expense.attachment;
+
+import com.barriquebackend.bucksbuddy.journey.expense.Expense;
+import com.barriquebackend.storage.Blob;
+import com.barriquebackend.storage.BlobStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Service class for attaching receipts and other files to expenses.
+ * <p>
+ * Files are kept in the {@link BlobStore}: a receipt attached to several split expenses, or
+ * uploaded twice, is stored once, and it is deleted when its last attachment is.
+ * </p>
+ */
+@Service
+public class ExpenseAttachmentService {
+
+    /**
+     * The media types accepted for attachments.
+     */
+    public static final Set<String> ALLOWED_CONTENT_TYPES =
+            Set.of("image/jpeg", "image/png", "image/heic", "image/webp", "application/pdf");
+
+    private final ExpenseAttachmentRepository attachmentRepository;
+    private final BlobStore blobStore;
+    private final long maxSize;
+
+    /**
+     * Constructs an ExpenseAttachmentService.
+     *
+     * @param attachmentRepository the repository for attachments
+     * @param blobStore            the store for attachment files
+     * @param maxSize              the maximum size of an attachment
+     */
+    public ExpenseAttachmentService(ExpenseAttachmentRepository attachmentRepository, BlobStore blobStore,
+                                    @Value("${expense.attachment.max-size:10MB}") DataSize maxSize) {
+        this.attachmentRepository = attachmentRepository;
+        this.blobStore = blobStore;
+        this.maxSize = maxSize.toBytes();
+    }
+
+    /**
+     * Retrieves the attachments of an expense.
+     *
+     * @param expenseId the ID of the expense
+     * @return the attachments in the order they were added
+     */
+    public List<ExpenseAttachment> getAttachments(Long expenseId) {
+        return attachmentRepository.findAllByExpense_ExpenseIdOrderByAttachmentIdAsc(expenseId);
+    }
+
+    /**
+     * Retrieves an attachment by its ID.
+     *
+     * @param attachmentId the ID of the attachment
+     * @return an Optional containing the attachment if found, or empty otherwise
+     */
+    public Optional<ExpenseAttachment> getAttachment(Long attachmentId) {
+        return attachmentRepository.findById(attachmentId);
+    }
+
+    /**
+     * Stores an uploaded file and attaches it to an expense.
+     *
+     * @param expense     the expense
+     * @param content     the file content, streamed to disk as it is read
+     * @param contentType the media type of the file, one of {@link #ALLOWED_CONTENT_TYPES}
+     * @param fileName    the original file name, or null
+     * @return the created attachment
+     * @throws com.barriquebackend.storage.BlobTooLargeException if the file exceeds {@code expense.attachment.max-size}
+     */
+    @Transactional
+    public ExpenseAttachment upload(Expense expense, InputStream content, String contentType, String fileName) {
+        Blob blob = blobStore.store(content, contentType, maxSize);
+        return attachmentRepository.save(new ExpenseAttachment(expense, blob.getHash(), fileName, contentType, blob.getSize()));
+    }
+
+    /**
+     * Attaches a file the user already attached to another expense, without uploading it again.
+     *
+     * @param expense  the expense
+     * @param blobHash the hash of the file
+     * @param userId   the ID of the user
+     * @return the created attachment, or empty if none of the user's expenses has this file
+     */
+    @Transactional
+    public Optional<ExpenseAttachment> link(Expense expense, String blobHash, Long userId) {
+        return attachmentRepository.findFirstByBlobHashAndExpense_Journey_User_IdOrderByAttachmentIdAsc(blobHash, userId)
+                .filter(existing -> blobStore.retain(blobHash))
+                .map(existing -> attachmentRepository.save(new ExpenseAttachment(expense, blobHash,
+                        existing.getFileName(), existing.getContentType(), existing.getSize())));
+    }
+
+    /**
+     * Removes an attachment. The file is deleted once no attachment uses it anymore.
+     *
+     * @param attachment the attachment
+     */
+    @Transactional
+    public void delete(ExpenseAttachment attachment) {
+        attachmentRepository.delete(attachment);
+        blobStore.release(attachment.getBlobHash());
+    }
+
+    /**
+     * Resolves the file of an attachment.
+     *
+     * @param attachment the attachment
+     * @return the path of its file
+     */
+    public Path path(ExpenseAttachment attachment) {
+        return blobStore.path(attachment.getBlobHash());
+    }
+}
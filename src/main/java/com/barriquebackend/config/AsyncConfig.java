@@ -0,0 +1,20 @@
+package com.barriquebackend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Async} methods and {@code @Scheduled} background jobs.
+ * Both run on the task executors auto-configured by Spring Boot, which use virtual threads
+ * when {@code spring.threads.virtual.enabled} is set.
+ * <p>
+ * Code running there should guard shared state with {@link java.util.concurrent.locks.ReentrantLock}
+ * rather than {@code synchronized}, which pins a virtual thread to its carrier while it blocks.
+ * </p>
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+}
@@ -0,0 +1,55 @@
+package com.barriquebackend.config;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * A password encoder that lets only a limited number of threads hash at the same time.
+ * <p>
+ * BCrypt with cost 12 keeps a core busy for a few hundred milliseconds. On virtual threads
+ * that would occupy one of the few carrier threads for the whole time, so a burst of logins
+ * could stall every other request; waiting for a permit instead unmounts the virtual thread.
+ * </p>
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Semaphore permits;
+
+    /**
+     * Constructs a BoundedPasswordEncoder.
+     *
+     * @param delegate       the encoder doing the hashing
+     * @param maxConcurrency the maximum number of concurrent hash computations
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int maxConcurrency) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        permits.acquireUninterruptibly();
+        try {
+            return delegate.encode(rawPassword);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        permits.acquireUninterruptibly();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
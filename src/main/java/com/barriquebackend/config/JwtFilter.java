@@ -30,6 +30,18 @@ public class JwtFilter extends OncePerRequestFilter {
         this.context = context;
     }
 
+    /**
+     * Skips public endpoints, which serve the same content to everyone and must not pay for
+     * token validation and a user lookup.
+     *
+     * @param request the HttpServletRequest
+     * @return true for requests below {@code /public/}
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/public/");
+    }
+
     /**
      * Filters the request to check for a valid JWT token. If the token is valid, the user is authenticated.
      *
@@ -56,7 +68,7 @@ public class JwtFilter extends OncePerRequestFilter {
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             UserDetails userDetails = context.getBean(MyUserDetailsService.class).loadUserByUsername(username);
-            if (jwtService.validateToken(token, userDetails)) {
+            if (userDetails.isEnabled() && jwtService.validateToken(token, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -0,0 +1,123 @@
+package com.barriquebackend.recipevault.image;
+
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.recipevault.recipe.RecipeService;
+import com.barriquebackend.storage.Blob;
+import com.barriquebackend.user.User;
+import com.barriquebackend.user.UserRepository;
+import com.barriquebackend.web.ETags;
+import com.barriquebackend.web.FileResponses;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Optional;
+
+/**
+ * REST controller for uploading and serving recipe images.
+ * <p>
+ * Images are addressed by the hash of their content, so a URL always returns the same bytes
+ * and may be cached forever. They are served without authentication so that they work in
+ * plain {@code <img>} tags; the hash is only known to those who have the recipe or the file.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api")
+public class ImageController {
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    // Used when a thumbnail is not generated yet and the original stands in for it.
+    private static final String SHORT_LIVED = "public, max-age=60";
+
+    private final ImageService imageService;
+    private final RecipeService recipeService;
+    private final UserRepository userRepository;
+
+    /**
+     * Constructs an ImageController.
+     *
+     * @param imageService   the service for recipe images
+     * @param recipeService  the service used to check recipe ownership
+     * @param userRepository the repository for user data
+     */
+    public ImageController(ImageService imageService, RecipeService recipeService, UserRepository userRepository) {
+        this.imageService = imageService;
+        this.recipeService = recipeService;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Uploads the image of a recipe, replacing its image URL.
+     *
+     * @param id             the ID of the recipe
+     * @param file           the image, a JPEG, PNG, GIF or WebP file
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the updated recipe, 403 for another user's recipe, or 415 for other files
+     * @throws IOException if the upload cannot be read
+     */
+    @PostMapping("/recipe/{id}/image")
+    public ResponseEntity<Recipe> uploadRecipeImage(@PathVariable Long id, @RequestParam("file") MultipartFile file,
+                                                    Authentication authentication) throws IOException {
+        User user = getAuthenticatedUser(authentication);
+        Recipe recipe = recipeService.getRecipeById(id);
+        if (!recipe.getUser().getId().equals(user.getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        ImageFormat format = imageService.detectFormat(file);
+        if (format == null) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).build();
+        }
+        return ResponseEntity.ok(imageService.uploadRecipeImage(id, file, format, user));
+    }
+
+    /**
+     * Serves a recipe image or one of its thumbnails.
+     * <p>
+     * Supports HEAD, If-None-Match and single byte ranges. The file is sent with zero-copy I/O.
+     * </p>
+     *
+     * @param hash     the hash of the image
+     * @param size     the requested thumbnail size (optional); the original is served without it
+     * @param request  the HTTP request
+     * @param response the HTTP response
+     * @throws IOException if the file cannot be sent
+     */
+    @GetMapping("/image/{hash}")
+    public void getImage(@PathVariable String hash, @RequestParam(required = false) Integer size,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (size != null) {
+            Optional<ImageService.Thumbnail> thumbnail = imageService.findThumbnail(hash, size);
+            if (thumbnail.isPresent() && Files.exists(thumbnail.get().path())) {
+                FileResponses.serve(thumbnail.get().path(), "image/jpeg",
+                        ETags.of(hash, ImageUrls.variant(thumbnail.get().size())), IMMUTABLE, request, response);
+                return;
+            }
+        }
+
+        Optional<Blob> image = imageService.findImage(hash);
+        if (image.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        FileResponses.serve(imageService.originalPath(image.get()), image.get().getContentType(),
+                ETags.of(hash), size == null ? IMMUTABLE : SHORT_LIVED, request, response);
+    }
+
+    /**
+     * Helper method to extract the authenticated user from the security context.
+     *
+     * @param authentication the authentication token containing user details
+     * @return the authenticated User
+     */
+    private User getAuthenticatedUser(Authentication authentication) {
+        String username = authentication.getName();
+        return userRepository.findByUsername(username);
+    }
+}
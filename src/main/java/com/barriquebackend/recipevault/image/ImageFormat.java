@@ -0,0 +1,63 @@
+package com.barriquebackend.recipevault.image;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The image formats accepted for upload, recognized by their leading bytes rather than by the
+ * content type the client claims.
+ */
+public enum ImageFormat {
+    JPEG("image/jpeg"),
+    PNG("image/png"),
+    GIF("image/gif"),
+    WEBP("image/webp");
+
+    /**
+     * The number of leading bytes needed by {@link #detect(byte[])}.
+     */
+    static final int HEADER_LENGTH = 12;
+
+    private static final byte[] JPEG_MAGIC = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_MAGIC = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] GIF_MAGIC = "GIF8".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RIFF_MAGIC = "RIFF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] WEBP_MAGIC = "WEBP".getBytes(StandardCharsets.US_ASCII);
+
+    private final String contentType;
+
+    ImageFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Recognizes an image format from the first bytes of a file.
+     *
+     * @param header the first {@value #HEADER_LENGTH} bytes, or fewer if the file is shorter
+     * @return the format, or null if the bytes are not an accepted image
+     */
+    static ImageFormat detect(byte[] header) {
+        if (startsWith(header, 0, JPEG_MAGIC)) {
+            return JPEG;
+        }
+        if (startsWith(header, 0, PNG_MAGIC)) {
+            return PNG;
+        }
+        if (startsWith(header, 0, GIF_MAGIC)) {
+            return GIF;
+        }
+        if (startsWith(header, 0, RIFF_MAGIC) && startsWith(header, 8, WEBP_MAGIC)) {
+            return WEBP;
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] bytes, int offset, byte[] prefix) {
+        return bytes.length >= offset + prefix.length
+                && Arrays.equals(bytes, offset, offset + prefix.length, prefix, 0, prefix.length);
+    }
+}
@@ -0,0 +1,142 @@
+package com.barriquebackend.recipevault.image;
+
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.recipevault.recipe.RecipeRepository;
+import com.barriquebackend.recipevault.recipe.RecipeService;
+import com.barriquebackend.storage.Blob;
+import com.barriquebackend.storage.BlobStore;
+import com.barriquebackend.user.User;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Service class for uploading recipe images and locating their files.
+ * <p>
+ * Images are kept in the {@link BlobStore}, so a photo used by several recipes is stored once.
+ * Thumbnails are generated after the upload by the {@link ThumbnailGenerator}.
+ * </p>
+ */
+@Service
+public class ImageService {
+
+    private final BlobStore blobStore;
+    private final RecipeService recipeService;
+    private final RecipeRepository recipeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructs an ImageService.
+     *
+     * @param blobStore        the store for image files
+     * @param recipeService    the service the uploaded image is attached to recipes with
+     * @param recipeRepository the repository used to check that an image belongs to a recipe
+     * @param eventPublisher   the publisher for upload events
+     */
+    public ImageService(BlobStore blobStore, RecipeService recipeService, RecipeRepository recipeRepository,
+                        ApplicationEventPublisher eventPublisher) {
+        this.blobStore = blobStore;
+        this.recipeService = recipeService;
+        this.recipeRepository = recipeRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Recognizes the format of an uploaded file from its content.
+     *
+     * @param file the uploaded file
+     * @return the image format, or null if the file is not an accepted image
+     * @throws IOException if the upload cannot be read
+     */
+    public ImageFormat detectFormat(MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return ImageFormat.detect(in.readNBytes(ImageFormat.HEADER_LENGTH));
+        }
+    }
+
+    /**
+     * Stores an uploaded image and makes it the image of a recipe, replacing the previous one.
+     *
+     * @param recipeId the ID of the recipe
+     * @param file     the uploaded image
+     * @param format   the format returned by {@link #detectFormat(MultipartFile)}
+     * @param user     the user attempting to change the recipe
+     * @return the updated recipe
+     * @throws IOException      if the upload cannot be read
+     * @throws RuntimeException if the recipe does not belong to the user or is not found
+     */
+    @Transactional
+    public Recipe uploadRecipeImage(Long recipeId, MultipartFile file, ImageFormat format, User user) throws IOException {
+        Blob blob;
+        try (InputStream in = file.getInputStream()) {
+            blob = blobStore.store(in, format.getContentType());
+        }
+        Recipe recipe = recipeService.attachImage(recipeId, blob.getHash(), user);
+        eventPublisher.publishEvent(new ImageStoredEvent(blob.getHash(), format));
+        return recipe;
+    }
+
+    /**
+     * Retrieves an original image, if some recipe uses it.
+     * <p>
+     * The blob store also holds files that are not recipe images, which must not be served here.
+     * </p>
+     *
+     * @param hash the hash of the image
+     * @return the image, or empty if the hash is malformed or not a recipe image
+     */
+    @Transactional(readOnly = true)
+    public Optional<Blob> findImage(String hash) {
+        if (!BlobStore.isHash(hash) || !recipeRepository.existsByImageHash(hash)) {
+            return Optional.empty();
+        }
+        return blobStore.find(hash);
+    }
+
+    /**
+     * Resolves the original file of an image.
+     *
+     * @param image the image
+     * @return the path of its file
+     */
+    public Path originalPath(Blob image) {
+        return blobStore.path(image.getHash());
+    }
+
+    /**
+     * Resolves the thumbnail best suited for a requested size: the smallest one at least that large,
+     * or the largest one.
+     * <p>
+     * Thumbnails only exist for recipe images, so no database lookup is needed.
+     * </p>
+     *
+     * @param hash the hash of the image
+     * @param size the requested length of the longer side in pixels
+     * @return the thumbnail size and path, or empty if the hash is malformed; the file may not exist
+     */
+    public Optional<Thumbnail> findThumbnail(String hash, int size) {
+        if (!BlobStore.isHash(hash)) {
+            return Optional.empty();
+        }
+        int chosen = ImageUrls.THUMBNAIL_SIZES.stream()
+                .filter(candidate -> candidate >= size)
+                .findFirst()
+                .orElse(ImageUrls.THUMBNAIL_SIZES.get(ImageUrls.THUMBNAIL_SIZES.size() - 1));
+        return Optional.of(new Thumbnail(chosen, blobStore.variantPath(hash, ImageUrls.variant(chosen))));
+    }
+
+    /**
+     * A thumbnail file of an image.
+     *
+     * @param size the length of its longer side in pixels
+     * @param path its file
+     */
+    public record Thumbnail(int size, Path path) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.barriquebackend.recipevault.image;
+
+/**
+ * Published by {@link ImageService} after an image was uploaded, so that its thumbnails can be generated.
+ *
+ * @param hash   the hash of the image in the blob store
+ * @param format the format of the image
+ */
+public record ImageStoredEvent(String hash, ImageFormat format) {
+}
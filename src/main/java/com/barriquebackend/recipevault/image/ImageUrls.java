@@ -0,0 +1,53 @@
+package com.barriquebackend.recipevault.image;
+
+import java.util.List;
+
+/**
+ * URLs and thumbnail sizes of uploaded recipe images, served by {@link ImageController}.
+ */
+public final class ImageUrls {
+
+    /**
+     * The thumbnail sizes generated for every image, as the length of the longer side in pixels.
+     */
+    public static final List<Integer> THUMBNAIL_SIZES = List.of(160, 320, 640);
+
+    /**
+     * The thumbnail size referenced by recipe lists.
+     */
+    public static final int LIST_THUMBNAIL_SIZE = 320;
+
+    private ImageUrls() {
+    }
+
+    /**
+     * Builds the URL of an original image.
+     *
+     * @param hash the hash of the image
+     * @return the URL
+     */
+    public static String original(String hash) {
+        return "/api/image/" + hash;
+    }
+
+    /**
+     * Builds the URL of a thumbnail.
+     *
+     * @param hash the hash of the image
+     * @param size the thumbnail size
+     * @return the URL
+     */
+    public static String thumbnail(String hash, int size) {
+        return original(hash) + "?size=" + size;
+    }
+
+    /**
+     * Names the blob variant holding a thumbnail.
+     *
+     * @param size the thumbnail size
+     * @return the variant name
+     */
+    static String variant(int size) {
+        return "w" + size;
+    }
+}
@@ -0,0 +1,143 @@
+package com.barriquebackend.recipevault.image;
+
+import com.barriquebackend.storage.BlobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Generates the thumbnails of uploaded images in the background, once per distinct image.
+ * <p>
+ * Thumbnails are JPEGs stored as variants of the original blob. Sizes the original does not
+ * exceed are skipped, and formats the JDK cannot decode (WebP) get no thumbnails; in both
+ * cases {@link ImageController} serves the original instead.
+ * </p>
+ */
+@Component
+public class ThumbnailGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(ThumbnailGenerator.class);
+
+    // Larger images are not decoded, so that a small compressed file cannot exhaust the heap.
+    private static final long MAX_PIXELS = 40_000_000L;
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final BlobStore blobStore;
+
+    /**
+     * Constructs a ThumbnailGenerator.
+     *
+     * @param blobStore the store holding the originals and their thumbnails
+     */
+    public ThumbnailGenerator(BlobStore blobStore) {
+        this.blobStore = blobStore;
+    }
+
+    /**
+     * Generates the missing thumbnails of an uploaded image.
+     *
+     * @param event the upload
+     */
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onImageStored(ImageStoredEvent event) {
+        String hash = event.hash();
+        if (event.format() == ImageFormat.WEBP || ImageUrls.THUMBNAIL_SIZES.stream()
+                .allMatch(size -> Files.exists(blobStore.variantPath(hash, ImageUrls.variant(size))))) {
+            return;
+        }
+        try {
+            BufferedImage original = read(blobStore.path(hash));
+            if (original == null) {
+                return;
+            }
+            for (int size : ImageUrls.THUMBNAIL_SIZES) {
+                if (Math.max(original.getWidth(), original.getHeight()) > size) {
+                    BufferedImage thumbnail = scale(original, size);
+                    blobStore.writeVariant(hash, ImageUrls.variant(size), file -> writeJpeg(thumbnail, file));
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not generate thumbnails of image {}", hash, e);
+        }
+    }
+
+    private static BufferedImage read(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Halves the image until it is at most twice the target, then scales once more;
+    // a single bilinear step from a much larger image would skip most of its pixels.
+    private static BufferedImage scale(BufferedImage source, int size) {
+        double factor = (double) size / Math.max(source.getWidth(), source.getHeight());
+        int width = Math.max(1, (int) Math.round(source.getWidth() * factor));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * factor));
+
+        BufferedImage current = source;
+        while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        return draw(current, width, height);
+    }
+
+    // Also flattens transparency onto white, as JPEG has no alpha channel.
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path file) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(file.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.barriquebackend.recipevault.ingredient;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for the ingredient dictionary.
+ */
+@RestController
+@RequestMapping("/api")
+public class IngredientController {
+
+    private final IngredientDictionary ingredientDictionary;
+
+    /**
+     * Constructs an IngredientController with the specified IngredientDictionary.
+     *
+     * @param ingredientDictionary the in-memory ingredient dictionary
+     */
+    public IngredientController(IngredientDictionary ingredientDictionary) {
+        this.ingredientDictionary = ingredientDictionary;
+    }
+
+    /**
+     * Suggests ingredient names for autocompletion. Served from memory only.
+     *
+     * @param prefix the text typed so far
+     * @param limit  the maximum number of suggestions
+     * @return the matching ingredient names in alphabetical order
+     */
+    @GetMapping("/ingredient/autocomplete")
+    public List<String> autocomplete(@RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) {
+        return ingredientDictionary.complete(prefix, limit);
+    }
+}
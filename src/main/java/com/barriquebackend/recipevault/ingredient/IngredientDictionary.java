@@ -0,0 +1,225 @@
+package com.barriquebackend.recipevault.ingredient;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Service class holding the ingredient dictionary in memory.
+ * <p>
+ * The dictionary is loaded once at startup. Every term exists exactly once in memory, so all
+ * ingredients resolved through {@link #resolve(String)} share the same instance. Next to the
+ * lookup map, normalized names are kept in a sorted array, so prefix autocompletion is a binary
+ * search followed by a short scan and never touches the database.
+ * </p>
+ * <p>
+ * Terms created by this instance are added immediately; terms created by other instances are
+ * picked up by a periodic incremental refresh. Term IDs are drawn before commit, so a term may
+ * become visible after one with a higher ID. Each refresh therefore reads again from where the
+ * previous one started, and an hourly full reload catches terms that committed even later.
+ * </p>
+ */
+@Service
+public class IngredientDictionary {
+
+    private static final int MAX_SUGGESTIONS = 50;
+
+    private final IngredientTermRepository termRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, IngredientTerm> termsByNormalizedName = new HashMap<>();
+    // Normalized names in ascending order, with the term of each at the same index.
+    private String[] sortedNames = new String[0];
+    private IngredientTerm[] sortedTerms = new IngredientTerm[0];
+    private long maxLoadedTermId;
+    // Where the next incremental refresh starts: the highest ID loaded before the previous refresh.
+    private long refreshFromTermId;
+
+    /**
+     * Constructs an IngredientDictionary.
+     *
+     * @param termRepository     the repository for dictionary terms
+     * @param jdbcTemplate       the template used to insert new terms
+     * @param transactionManager the transaction manager; new terms are committed on their own
+     */
+    public IngredientDictionary(IngredientTermRepository termRepository, JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager) {
+        this.termRepository = termRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Loads the whole dictionary at startup, and afterwards the terms created by other instances.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelay = 60_000, initialDelay = 60_000)
+    public void refresh() {
+        long after;
+        long previousMax;
+        lock.readLock().lock();
+        try {
+            after = refreshFromTermId;
+            previousMax = maxLoadedTermId;
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<IngredientTerm> loaded = termRepository.findByTermIdGreaterThanOrderByTermIdAsc(after);
+        lock.writeLock().lock();
+        try {
+            addAll(loaded);
+            refreshFromTermId = Math.max(refreshFromTermId, previousMax);
+            if (!loaded.isEmpty()) {
+                maxLoadedTermId = Math.max(maxLoadedTermId, loaded.get(loaded.size() - 1).getTermId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds every term that is missing from memory, whatever its ID.
+     */
+    @Scheduled(fixedDelay = 3_600_000, initialDelay = 3_600_000)
+    public void reloadAll() {
+        List<IngredientTerm> terms = termRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            addAll(terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the dictionary term for an ingredient name, creating it if it does not exist yet.
+     * <p>
+     * A new term is committed in its own transaction, so it survives a rollback of the caller
+     * and is never referenced from memory without existing in the database.
+     * </p>
+     *
+     * @param name the ingredient name as entered
+     * @return the shared term, or null if the name is blank
+     */
+    public IngredientTerm resolve(String name) {
+        String normalizedName = IngredientTerm.normalize(name);
+        if (normalizedName.isEmpty()) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            IngredientTerm term = termsByNormalizedName.get(normalizedName);
+            if (term != null) {
+                return term;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        String displayName = name.strip().replaceAll("\\s+", " ");
+        IngredientTerm stored = newTransaction.execute(status -> {
+            // Another instance may have created the term concurrently; keep whichever was first.
+            jdbcTemplate.update("insert into ingredient_term (name, normalized_name) values (?, ?) " +
+                    "on conflict (normalized_name) do nothing", displayName, normalizedName);
+            return jdbcTemplate.queryForObject("select term_id, name from ingredient_term where normalized_name = ?",
+                    (rs, rowNum) -> new IngredientTerm(rs.getLong("term_id"), rs.getString("name")),
+                    normalizedName);
+        });
+
+        lock.writeLock().lock();
+        try {
+            IngredientTerm existing = termsByNormalizedName.get(normalizedName);
+            if (existing != null) {
+                return existing;
+            }
+            addAll(List.of(stored));
+            return stored;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Suggests ingredient names starting with the given prefix, in alphabetical order.
+     *
+     * @param prefix the text typed so far
+     * @param limit  the maximum number of suggestions, capped at {@value #MAX_SUGGESTIONS}
+     * @return the names of the matching terms
+     */
+    public List<String> complete(String prefix, int limit) {
+        String normalizedPrefix = IngredientTerm.normalize(prefix);
+        int max = Math.min(Math.max(limit, 1), MAX_SUGGESTIONS);
+        List<String> suggestions = new ArrayList<>(max);
+        if (normalizedPrefix.isEmpty()) {
+            return suggestions;
+        }
+        lock.readLock().lock();
+        try {
+            int index = Arrays.binarySearch(sortedNames, normalizedPrefix);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            for (; index < sortedNames.length && suggestions.size() < max; index++) {
+                if (!sortedNames[index].startsWith(normalizedPrefix)) {
+                    break;
+                }
+                suggestions.add(sortedTerms[index].getName());
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Must be called with the write lock held.
+    private void addAll(List<IngredientTerm> terms) {
+        List<IngredientTerm> added = new ArrayList<>(terms.size());
+        for (IngredientTerm term : terms) {
+            if (termsByNormalizedName.putIfAbsent(term.getNormalizedName(), term) == null) {
+                added.add(term);
+            }
+        }
+        if (added.isEmpty()) {
+            return;
+        }
+        if (added.size() == 1) {
+            // Incremental update: shift the tail of the sorted arrays by one.
+            IngredientTerm term = added.get(0);
+            int index = -Arrays.binarySearch(sortedNames, term.getNormalizedName()) - 1;
+            String[] names = new String[sortedNames.length + 1];
+            IngredientTerm[] sorted = new IngredientTerm[sortedTerms.length + 1];
+            System.arraycopy(sortedNames, 0, names, 0, index);
+            System.arraycopy(sortedTerms, 0, sorted, 0, index);
+            names[index] = term.getNormalizedName();
+            sorted[index] = term;
+            System.arraycopy(sortedNames, index, names, index + 1, sortedNames.length - index);
+            System.arraycopy(sortedTerms, index, sorted, index + 1, sortedTerms.length - index);
+            sortedNames = names;
+            sortedTerms = sorted;
+            return;
+        }
+        IngredientTerm[] sorted = termsByNormalizedName.values().toArray(new IngredientTerm[0]);
+        Arrays.sort(sorted, (a, b) -> a.getNormalizedName().compareTo(b.getNormalizedName()));
+        String[] names = new String[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            names[i] = sorted[i].getNormalizedName();
+        }
+        sortedNames = names;
+        sortedTerms = sorted;
+    }
+}
@@ -0,0 +1,69 @@
+package com.barriquebackend.recipevault.ingredient;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.util.Locale;
+
+/**
+ * An entry of the shared ingredient dictionary.
+ * <p>
+ * Ingredients reference a term instead of repeating its name. Terms are matched by their
+ * normalized name, so "Olive oil" and "olive  OIL" share one term, which keeps the spelling
+ * it was first created with. Terms are immutable once stored.
+ * </p>
+ */
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "ingredient-term")
+@Table(name = "ingredient_term",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ingredient_term_normalized_name", columnNames = "normalized_name"))
+public class IngredientTerm {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long termId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "normalized_name", nullable = false)
+    private String normalizedName;
+
+    protected IngredientTerm() {
+    }
+
+    public IngredientTerm(Long termId, String name) {
+        this.termId = termId;
+        this.name = name;
+        this.normalizedName = normalize(name);
+    }
+
+    /**
+     * Normalizes an ingredient name for matching: trimmed, inner whitespace collapsed, lower-cased.
+     * The same normalization is applied by the backfill in schema.sql.
+     *
+     * @param name the ingredient name
+     * @return the normalized name, empty for a null or blank name
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        return name.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // Getters
+    public Long getTermId() {
+        return termId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getNormalizedName() {
+        return normalizedName;
+    }
+}
@@ -0,0 +1,11 @@
+package com.barriquebackend.recipevault.ingredient;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface IngredientTermRepository extends JpaRepository<IngredientTerm, Long> {
+    List<IngredientTerm> findByTermIdGreaterThanOrderByTermIdAsc(Long termId);
+}
@@ -0,0 +1,13 @@
+package com.barriquebackend.recipevault.mealplan;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * The planned nutrition of one day.
+ *
+ * @param date   the day
+ * @param totals the summed amount per nutrient
+ */
+public record DailyNutrition(LocalDate date, Map<String, Double> totals) {
+}
@@ -0,0 +1,11 @@
+package com.barriquebackend.recipevault.mealplan;
+
+/**
+ * Published by {@link MealPlanService} after a meal plan entry was created, updated or deleted.
+ *
+ * @param userId   the ID of the plan's owner
+ * @param previous the entry before the change, or null if it was created
+ * @param current  the entry after the change, or null if it was deleted
+ */
+public record MealPlanChangedEvent(Long userId, PlannedMeal previous, PlannedMeal current) {
+}
@@ -0,0 +1,155 @@
+package com.barriquebackend.recipevault.mealplan;
+
+import com.barriquebackend.user.User;
+import com.barriquebackend.user.UserRepository;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * REST controller for meal plans and their nutrition totals.
+ */
+@RestController
+@RequestMapping("/api")
+public class MealPlanController {
+
+    private static final long MAX_RANGE_DAYS = 366;
+
+    private final MealPlanService mealPlanService;
+    private final NutritionRollupService nutritionRollupService;
+    private final UserRepository userRepository;
+
+    /**
+     * Constructs a MealPlanController.
+     *
+     * @param mealPlanService        the service for meal plan entries
+     * @param nutritionRollupService the service for nutrition totals
+     * @param userRepository         the repository for user data
+     */
+    public MealPlanController(MealPlanService mealPlanService, NutritionRollupService nutritionRollupService,
+                              UserRepository userRepository) {
+        this.mealPlanService = mealPlanService;
+        this.nutritionRollupService = nutritionRollupService;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Retrieves the authenticated user's meal plan entries within a date range.
+     *
+     * @param from           the first day, inclusive
+     * @param to             the last day, inclusive
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the entries, or 400 for an invalid range
+     */
+    @GetMapping("/user/meal-plan")
+    public ResponseEntity<List<MealPlanEntry>> getEntries(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                          Authentication authentication) {
+        if (!isValidRange(from, to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        User user = getAuthenticatedUser(authentication);
+        return ResponseEntity.ok(mealPlanService.getEntries(user.getId(), from, to));
+    }
+
+    /**
+     * Retrieves the daily and weekly nutrition totals of the authenticated user's meal plan.
+     *
+     * @param from           the first day, inclusive
+     * @param to             the last day, inclusive
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the totals, or 400 for an invalid range
+     */
+    @GetMapping("/user/meal-plan/nutrition")
+    public ResponseEntity<NutritionRollup> getNutrition(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                        Authentication authentication) {
+        if (!isValidRange(from, to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        User user = getAuthenticatedUser(authentication);
+        return ResponseEntity.ok(nutritionRollupService.getRollup(user.getId(), from, to));
+    }
+
+    /**
+     * Plans a recipe for a day.
+     *
+     * @param request        the day, recipe and portions
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the created entry, or 400 if the day or recipe is missing
+     */
+    @PostMapping("/meal-plan")
+    public ResponseEntity<MealPlanEntry> createEntry(@RequestBody MealPlanEntryRequest request, Authentication authentication) {
+        if (!isValidRequest(request)) {
+            return ResponseEntity.badRequest().build();
+        }
+        User user = getAuthenticatedUser(authentication);
+        return ResponseEntity.ok(mealPlanService.createEntry(request, user));
+    }
+
+    /**
+     * Updates a meal plan entry of the authenticated user.
+     *
+     * @param id             the ID of the entry
+     * @param request        the new day, recipe and portions
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the updated entry, or an error status
+     */
+    @PutMapping("/meal-plan/{id}")
+    public ResponseEntity<MealPlanEntry> updateEntry(@PathVariable Long id, @RequestBody MealPlanEntryRequest request,
+                                                     Authentication authentication) {
+        if (!isValidRequest(request)) {
+            return ResponseEntity.badRequest().build();
+        }
+        User user = getAuthenticatedUser(authentication);
+        MealPlanEntry entry = mealPlanService.getEntryById(id);
+        if (!entry.getUser().getId().equals(user.getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(mealPlanService.updateEntry(id, request, user));
+    }
+
+    /**
+     * Deletes a meal plan entry of the authenticated user.
+     *
+     * @param id             the ID of the entry
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with a success message, or an error status
+     */
+    @DeleteMapping("/meal-plan/{id}")
+    public ResponseEntity<String> deleteEntry(@PathVariable Long id, Authentication authentication) {
+        User user = getAuthenticatedUser(authentication);
+        MealPlanEntry entry = mealPlanService.getEntryById(id);
+        if (!entry.getUser().getId().equals(user.getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        mealPlanService.deleteEntry(id, user);
+        return ResponseEntity.ok("Meal plan entry deleted successfully.");
+    }
+
+    private static boolean isValidRange(LocalDate from, LocalDate to) {
+        return !to.isBefore(from) && ChronoUnit.DAYS.between(from, to) < MAX_RANGE_DAYS;
+    }
+
+    private static boolean isValidRequest(MealPlanEntryRequest request) {
+        return request.date() != null && request.recipeId() != null
+                && (request.portions() == null || request.portions() > 0);
+    }
+
+    /**
+     * Helper method to extract the authenticated user from the security context.
+     *
+     * @param authentication the authentication token containing user details
+     * @return the authenticated User
+     */
+    private User getAuthenticatedUser(Authentication authentication) {
+        String username = authentication.getName();
+        return userRepository.findByUsername(username);
+    }
+}
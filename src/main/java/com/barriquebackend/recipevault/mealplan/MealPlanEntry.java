@@ -0,0 +1,85 @@
+package com.barriquebackend.recipevault.mealplan;
+
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.user.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * A recipe planned for a day, with the number of portions to eat.
+ */
+@Entity
+@Table(name = "meal_plan_entry", indexes = {
+        @Index(name = "idx_meal_plan_user_date", columnList = "user_id, plan_date"),
+        @Index(name = "idx_meal_plan_recipe", columnList = "recipe_id")
+})
+public class MealPlanEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long entryId;
+
+    @ManyToOne
+    @JoinColumn(name = "user_id", nullable = false)
+    @JsonIgnore
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "recipe_id", nullable = false)
+    @JsonIgnore
+    private Recipe recipe;
+
+    @Column(name = "plan_date", nullable = false)
+    private LocalDate date;
+
+    private double portions;
+
+    // Getters and setters
+    public Long getEntryId() {
+        return entryId;
+    }
+
+    public void setEntryId(Long entryId) {
+        this.entryId = entryId;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public Recipe getRecipe() {
+        return recipe;
+    }
+
+    public void setRecipe(Recipe recipe) {
+        this.recipe = recipe;
+    }
+
+    @JsonProperty(value = "recipeId", access = JsonProperty.Access.READ_ONLY)
+    public Long getRecipeId() {
+        return recipe != null ? recipe.getRecipeId() : null;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public double getPortions() {
+        return portions;
+    }
+
+    public void setPortions(double portions) {
+        this.portions = portions;
+    }
+}
@@ -0,0 +1,24 @@
+package com.barriquebackend.recipevault.mealplan;
+
+import com.barriquebackend.recipevault.recipe.Recipe;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MealPlanEntryRepository extends JpaRepository<MealPlanEntry, Long> {
+    List<MealPlanEntry> findAllByUserIdAndDateBetweenOrderByDateAscEntryIdAsc(Long userId, LocalDate from, LocalDate to);
+
+    @Query("select new com.barriquebackend.recipevault.mealplan.PlannedMeal(e.entryId, e.date, e.recipe.recipeId, e.portions) " +
+            "from MealPlanEntry e where e.user.id = :userId")
+    List<PlannedMeal> findPlannedMealsByUserId(@Param("userId") Long userId);
+
+    // Recipes with their nutritional values in one query, in either storage mode.
+    @Query("select r from Recipe r left join fetch r.nutritionalValues where r.recipeId in :recipeIds")
+    List<Recipe> findRecipesWithNutrition(@Param("recipeIds") Collection<Long> recipeIds);
+}
@@ -0,0 +1,13 @@
+package com.barriquebackend.recipevault.mealplan;
+
+import java.time.LocalDate;
+
+/**
+ * The data of a meal plan entry as submitted by a client.
+ *
+ * @param date     the day the recipe is planned for
+ * @param recipeId the ID of the planned recipe
+ * @param portions the portions to eat, or null for one
+ */
+public record MealPlanEntryRequest(LocalDate date, Long recipeId, Double portions) {
+}
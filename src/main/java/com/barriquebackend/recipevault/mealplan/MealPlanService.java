@@ -0,0 +1,140 @@
+package com.barriquebackend.recipevault.mealplan;
+
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.recipevault.recipe.RecipeRepository;
+import com.barriquebackend.user.User;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service class for handling business logic related to meal plans.
+ * <p>
+ * Every change is announced as a {@link MealPlanChangedEvent}, from which
+ * {@link NutritionRollupService} keeps its totals current.
+ * </p>
+ */
+@Service
+public class MealPlanService {
+
+    private final MealPlanEntryRepository entryRepository;
+    private final RecipeRepository recipeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructs a MealPlanService.
+     *
+     * @param entryRepository  the repository for meal plan entries
+     * @param recipeRepository the repository used to look up planned recipes
+     * @param eventPublisher   the publisher for meal plan change events
+     */
+    public MealPlanService(MealPlanEntryRepository entryRepository, RecipeRepository recipeRepository,
+                           ApplicationEventPublisher eventPublisher) {
+        this.entryRepository = entryRepository;
+        this.recipeRepository = recipeRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Retrieves the meal plan entries of a user within a date range.
+     *
+     * @param userId the ID of the user
+     * @param from   the first day, inclusive
+     * @param to     the last day, inclusive
+     * @return the entries ordered by day
+     */
+    public List<MealPlanEntry> getEntries(Long userId, LocalDate from, LocalDate to) {
+        return entryRepository.findAllByUserIdAndDateBetweenOrderByDateAscEntryIdAsc(userId, from, to);
+    }
+
+    /**
+     * Retrieves a meal plan entry by its ID.
+     *
+     * @param id the ID of the entry
+     * @return the entry
+     * @throws RuntimeException if no entry is found with the given ID
+     */
+    public MealPlanEntry getEntryById(Long id) {
+        return entryRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Meal plan entry not found for ID: " + id));
+    }
+
+    /**
+     * Plans a recipe for a day.
+     *
+     * @param request the day, recipe and portions
+     * @param user    the user whose plan is extended
+     * @return the created entry
+     * @throws RuntimeException if the recipe is not found or belongs to another user
+     */
+    @Transactional
+    public MealPlanEntry createEntry(MealPlanEntryRequest request, User user) {
+        MealPlanEntry entry = new MealPlanEntry();
+        entry.setUser(user);
+        apply(entry, request, user);
+        MealPlanEntry savedEntry = entryRepository.save(entry);
+        eventPublisher.publishEvent(new MealPlanChangedEvent(user.getId(), null, PlannedMeal.of(savedEntry)));
+        return savedEntry;
+    }
+
+    /**
+     * Updates a meal plan entry.
+     *
+     * @param id      the ID of the entry to update
+     * @param request the new day, recipe and portions
+     * @param user    the user attempting to update the entry
+     * @return the updated entry
+     * @throws RuntimeException if the entry or recipe is not found or belongs to another user
+     */
+    @Transactional
+    public MealPlanEntry updateEntry(Long id, MealPlanEntryRequest request, User user) {
+        MealPlanEntry entry = getEntryById(id);
+        if (!entry.getUser().getId().equals(user.getId())) {
+            throw new RuntimeException("You are not authorized to update this meal plan entry.");
+        }
+        PlannedMeal previous = PlannedMeal.of(entry);
+        apply(entry, request, user);
+        MealPlanEntry savedEntry = entryRepository.save(entry);
+        eventPublisher.publishEvent(new MealPlanChangedEvent(user.getId(), previous, PlannedMeal.of(savedEntry)));
+        return savedEntry;
+    }
+
+    /**
+     * Deletes a meal plan entry.
+     *
+     * @param id   the ID of the entry to delete
+     * @param user the user attempting to delete the entry
+     * @throws RuntimeException if the entry is not found or belongs to another user
+     */
+    @Transactional
+    public void deleteEntry(Long id, User user) {
+        MealPlanEntry entry = getEntryById(id);
+        if (!entry.getUser().getId().equals(user.getId())) {
+            throw new RuntimeException("You are not authorized to delete this meal plan entry.");
+        }
+        PlannedMeal previous = PlannedMeal.of(entry);
+        entryRepository.delete(entry);
+        eventPublisher.publishEvent(new MealPlanChangedEvent(user.getId(), previous, null));
+    }
+
+    /**
+     * Helper method to copy the submitted data onto an entry.
+     *
+     * @param entry   the entry to modify
+     * @param request the submitted data
+     * @param user    the user who must own the planned recipe
+     */
+    private void apply(MealPlanEntry entry, MealPlanEntryRequest request, User user) {
+        Recipe recipe = recipeRepository.findById(request.recipeId())
+                .orElseThrow(() -> new RuntimeException("Recipe not found for ID: " + request.recipeId()));
+        if (!recipe.getUser().getId().equals(user.getId())) {
+            throw new RuntimeException("You are not authorized to plan this recipe.");
+        }
+        entry.setRecipe(recipe);
+        entry.setDate(request.date());
+        entry.setPortions(request.portions() != null ? request.portions() : 1);
+    }
+}
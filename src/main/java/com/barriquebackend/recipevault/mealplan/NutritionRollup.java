@@ -0,0 +1,12 @@
+package com.barriquebackend.recipevault.mealplan;
+
+import java.util.List;
+
+/**
+ * Nutrition totals of a meal plan over a date range.
+ *
+ * @param days  the days in the range that have planned meals
+ * @param weeks the weeks overlapping the range, each totalled over all of its days
+ */
+public record NutritionRollup(List<DailyNutrition> days, List<WeeklyNutrition> weeks) {
+}
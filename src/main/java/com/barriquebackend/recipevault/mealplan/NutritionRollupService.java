@@ -0,0 +1,334 @@
+package com.barriquebackend.recipevault.mealplan;
+
+import com.barriquebackend.recipevault.recipe.BulkRecipeChangedEvent;
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.recipevault.recipe.RecipeChangedEvent;
+import com.barriquebackend.recipevault.recipe.components.NutritionalValue;
+import com.barriquebackend.user.purge.AccountPurgeRequestedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service class for the nutrition totals of meal plans.
+ * <p>
+ * {@link NutritionalValue} amounts are taken to be per portion. For each user the planned meals,
+ * the nutrition per portion of every planned recipe and the total of every planned day are
+ * cached in memory. The cache is built on first access with two queries and from then on only
+ * the days touched by a change are recomputed: a {@link MealPlanChangedEvent} recomputes the
+ * entry's old and new day, a {@link RecipeChangedEvent} the days the recipe is planned on.
+ * Weekly totals are summed from the cached daily totals. Caches that have not been read for
+ * {@link #IDLE_TIMEOUT} are dropped.
+ * </p>
+ */
+@Service
+public class NutritionRollupService {
+
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(30);
+    private static final int RECIPE_IDS_PER_QUERY = 500;
+
+    private final MealPlanEntryRepository entryRepository;
+    private final ConcurrentHashMap<Long, UserRollups> rollups = new ConcurrentHashMap<>();
+    // Bumped on every change, so a cache built from a snapshot that went stale is not kept. Entries are
+    // created by builds only and dropped with the cache they belong to.
+    private final ConcurrentHashMap<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a NutritionRollupService with the specified MealPlanEntryRepository.
+     *
+     * @param entryRepository the repository used to load planned meals and nutritional values
+     */
+    public NutritionRollupService(MealPlanEntryRepository entryRepository) {
+        this.entryRepository = entryRepository;
+    }
+
+    /**
+     * Retrieves the daily and weekly nutrition totals of a user's meal plan.
+     *
+     * @param userId the ID of the user
+     * @param from   the first day, inclusive
+     * @param to     the last day, inclusive
+     * @return the totals of the planned days in the range and of the weeks overlapping it
+     */
+    public NutritionRollup getRollup(Long userId, LocalDate from, LocalDate to) {
+        UserRollups userRollups = rollupsFor(userId);
+        userRollups.lock.lock();
+        try {
+            List<DailyNutrition> days = new ArrayList<>();
+            userRollups.dailyTotals.subMap(from, true, to, true)
+                    .forEach((date, totals) -> days.add(new DailyNutrition(date, Map.copyOf(totals))));
+
+            List<WeeklyNutrition> weeks = new ArrayList<>();
+            LocalDate weekStart = from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            for (; !weekStart.isAfter(to); weekStart = weekStart.plusWeeks(1)) {
+                Map<String, Double> totals = new LinkedHashMap<>();
+                userRollups.dailyTotals.subMap(weekStart, true, weekStart.plusDays(6), true).values()
+                        .forEach(daily -> daily.forEach((nutrient, amount) -> totals.merge(nutrient, amount, Double::sum)));
+                weeks.add(new WeeklyNutrition(weekStart, totals));
+            }
+            return new NutritionRollup(days, weeks);
+        } finally {
+            userRollups.lock.unlock();
+        }
+    }
+
+    /**
+     * Applies a meal plan change to the owner's cached totals, if they have been built.
+     *
+     * @param event the meal plan change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMealPlanChanged(MealPlanChangedEvent event) {
+        bumpGeneration(event.userId());
+        UserRollups userRollups = rollups.get(event.userId());
+        if (userRollups == null) {
+            return;
+        }
+        userRollups.lock.lock();
+        try {
+            Set<LocalDate> affected = new HashSet<>();
+            if (event.previous() != null) {
+                userRollups.removeMeal(event.previous().entryId(), affected);
+            }
+            if (event.current() != null) {
+                PlannedMeal meal = event.current();
+                if (!userRollups.nutritionByRecipe.containsKey(meal.recipeId())) {
+                    userRollups.nutritionByRecipe.putAll(loadNutrition(List.of(meal.recipeId())));
+                }
+                userRollups.addMeal(meal, affected);
+            }
+            affected.forEach(userRollups::recomputeDay);
+        } finally {
+            userRollups.lock.unlock();
+        }
+    }
+
+    /**
+     * Recomputes the days a changed recipe is planned on, if the owner's totals have been built.
+     *
+     * @param event the recipe change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        bumpGeneration(event.userId());
+        UserRollups userRollups = rollups.get(event.userId());
+        if (userRollups == null) {
+            return;
+        }
+        userRollups.lock.lock();
+        try {
+            if (!userRollups.nutritionByRecipe.containsKey(event.recipeId())) {
+                return;
+            }
+            Set<LocalDate> affected = new HashSet<>();
+            if (event.deleted()) {
+                userRollups.removeRecipes(Set.of(event.recipeId()), affected);
+            } else {
+                Map<String, Double> nutrition = event.recipe() != null
+                        ? perPortion(event.recipe().getNutritionalValues())
+                        : loadNutrition(List.of(event.recipeId())).getOrDefault(event.recipeId(), Map.of());
+                userRollups.nutritionByRecipe.put(event.recipeId(), nutrition);
+                for (PlannedMeal meal : userRollups.meals.values()) {
+                    if (meal.recipeId().equals(event.recipeId())) {
+                        affected.add(meal.date());
+                    }
+                }
+            }
+            affected.forEach(userRollups::recomputeDay);
+        } finally {
+            userRollups.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the recipes of a bulk delete from the owner's totals. The other bulk operations
+     * do not change nutritional values, so the totals stay as they are.
+     *
+     * @param event the bulk change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkRecipeChanged(BulkRecipeChangedEvent event) {
+        if (!event.deleted()) {
+            return;
+        }
+        bumpGeneration(event.userId());
+        UserRollups userRollups = rollups.get(event.userId());
+        if (userRollups == null) {
+            return;
+        }
+        userRollups.lock.lock();
+        try {
+            Set<LocalDate> affected = new HashSet<>();
+            userRollups.removeRecipes(Set.copyOf(event.recipeIds()), affected);
+            affected.forEach(userRollups::recomputeDay);
+        } finally {
+            userRollups.lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the cached totals of an account that is being deleted.
+     *
+     * @param event the purge request
+     */
+    @EventListener
+    public void onAccountPurgeRequested(AccountPurgeRequestedEvent event) {
+        rollups.remove(event.userId());
+        generations.remove(event.userId());
+    }
+
+    /**
+     * Drops cached totals that have not been read recently, together with their generations.
+     */
+    @Scheduled(fixedDelay = 300_000)
+    public void evictIdleRollups() {
+        long threshold = System.nanoTime() - IDLE_TIMEOUT.toNanos();
+        rollups.values().removeIf(userRollups -> userRollups.lastAccess - threshold < 0);
+        generations.keySet().removeIf(userId -> !rollups.containsKey(userId));
+    }
+
+    private UserRollups rollupsFor(Long userId) {
+        UserRollups existing = rollups.get(userId);
+        if (existing != null) {
+            existing.lastAccess = System.nanoTime();
+            return existing;
+        }
+
+        // Registered before loading, so a change committed after the load is counted
+        AtomicLong generation = generations.computeIfAbsent(userId, id -> new AtomicLong());
+        long seen = generation.get();
+        UserRollups built = new UserRollups();
+        List<PlannedMeal> meals = entryRepository.findPlannedMealsByUserId(userId);
+        Set<Long> recipeIds = new HashSet<>();
+        meals.forEach(meal -> recipeIds.add(meal.recipeId()));
+        built.nutritionByRecipe.putAll(loadNutrition(recipeIds));
+        Set<LocalDate> days = new HashSet<>();
+        meals.forEach(meal -> built.addMeal(meal, days));
+        days.forEach(built::recomputeDay);
+        if (!isCurrent(userId, generation, seen)) {
+            return built;
+        }
+
+        UserRollups raced = rollups.putIfAbsent(userId, built);
+        if (raced != null) {
+            return raced;
+        }
+        if (!isCurrent(userId, generation, seen)) {
+            rollups.remove(userId, built);
+        }
+        return built;
+    }
+
+    private Map<Long, Map<String, Double>> loadNutrition(Collection<Long> recipeIds) {
+        Map<Long, Map<String, Double>> nutrition = new HashMap<>();
+        List<Long> ids = List.copyOf(recipeIds);
+        for (int start = 0; start < ids.size(); start += RECIPE_IDS_PER_QUERY) {
+            List<Long> chunk = ids.subList(start, Math.min(start + RECIPE_IDS_PER_QUERY, ids.size()));
+            for (Recipe recipe : entryRepository.findRecipesWithNutrition(chunk)) {
+                nutrition.put(recipe.getRecipeId(), perPortion(recipe.getNutritionalValues()));
+            }
+        }
+        // Planned recipes without nutritional values are known to contribute nothing.
+        recipeIds.forEach(id -> nutrition.putIfAbsent(id, Map.of()));
+        return nutrition;
+    }
+
+    private static Map<String, Double> perPortion(List<NutritionalValue> values) {
+        Map<String, Double> perPortion = new LinkedHashMap<>();
+        if (values != null) {
+            for (NutritionalValue value : values) {
+                if (value.getTitle() != null && value.getAmount() != null) {
+                    perPortion.merge(value.getTitle().strip(), value.getAmount(), Double::sum);
+                }
+            }
+        }
+        return perPortion;
+    }
+
+    private void bumpGeneration(Long userId) {
+        AtomicLong generation = generations.get(userId);
+        if (generation != null) {
+            generation.incrementAndGet();
+        }
+    }
+
+    // False if the entry changed or was dropped by the eviction meanwhile.
+    private boolean isCurrent(Long userId, AtomicLong generation, long seen) {
+        return generations.get(userId) == generation && generation.get() == seen;
+    }
+
+    /**
+     * The cached meal plan of one user; all access is guarded by {@link #lock}.
+     */
+    private static final class UserRollups {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, PlannedMeal> meals = new HashMap<>();
+        private final Map<LocalDate, Set<Long>> entryIdsByDate = new HashMap<>();
+        private final Map<Long, Map<String, Double>> nutritionByRecipe = new HashMap<>();
+        private final TreeMap<LocalDate, Map<String, Double>> dailyTotals = new TreeMap<>();
+        private volatile long lastAccess = System.nanoTime();
+
+        private void addMeal(PlannedMeal meal, Set<LocalDate> affected) {
+            meals.put(meal.entryId(), meal);
+            entryIdsByDate.computeIfAbsent(meal.date(), date -> new HashSet<>()).add(meal.entryId());
+            affected.add(meal.date());
+        }
+
+        private void removeMeal(Long entryId, Set<LocalDate> affected) {
+            PlannedMeal meal = meals.remove(entryId);
+            if (meal == null) {
+                return;
+            }
+            Set<Long> entryIds = entryIdsByDate.get(meal.date());
+            entryIds.remove(entryId);
+            if (entryIds.isEmpty()) {
+                entryIdsByDate.remove(meal.date());
+            }
+            affected.add(meal.date());
+        }
+
+        // The entries of deleted recipes were deleted with them.
+        private void removeRecipes(Set<Long> recipeIds, Set<LocalDate> affected) {
+            for (PlannedMeal meal : List.copyOf(meals.values())) {
+                if (recipeIds.contains(meal.recipeId())) {
+                    removeMeal(meal.entryId(), affected);
+                }
+            }
+            nutritionByRecipe.keySet().removeAll(recipeIds);
+        }
+
+        private void recomputeDay(LocalDate date) {
+            Set<Long> entryIds = entryIdsByDate.get(date);
+            if (entryIds == null) {
+                dailyTotals.remove(date);
+                return;
+            }
+            Map<String, Double> totals = new LinkedHashMap<>();
+            for (Long entryId : entryIds) {
+                PlannedMeal meal = meals.get(entryId);
+                nutritionByRecipe.getOrDefault(meal.recipeId(), Map.of())
+                        .forEach((nutrient, amount) -> totals.merge(nutrient, amount * meal.portions(), Double::sum));
+            }
+            dailyTotals.put(date, totals);
+        }
+    }
+}
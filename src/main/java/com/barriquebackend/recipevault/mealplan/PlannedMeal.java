@@ -0,0 +1,18 @@
+package com.barriquebackend.recipevault.mealplan;
+
+import java.time.LocalDate;
+
+/**
+ * The parts of a meal plan entry the nutrition rollups depend on.
+ *
+ * @param entryId  the ID of the entry
+ * @param date     the planned day
+ * @param recipeId the ID of the planned recipe
+ * @param portions the planned portions
+ */
+public record PlannedMeal(Long entryId, LocalDate date, Long recipeId, double portions) {
+
+    static PlannedMeal of(MealPlanEntry entry) {
+        return new PlannedMeal(entry.getEntryId(), entry.getDate(), entry.getRecipeId(), entry.getPortions());
+    }
+}
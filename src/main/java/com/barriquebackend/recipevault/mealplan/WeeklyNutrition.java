@@ -0,0 +1,13 @@
+package com.barriquebackend.recipevault.mealplan;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * The planned nutrition of one week, Monday to Sunday.
+ *
+ * @param weekStart the Monday the week starts on
+ * @param totals    the summed amount per nutrient over the whole week
+ */
+public record WeeklyNutrition(LocalDate weekStart, Map<String, Double> totals) {
+}
@@ -0,0 +1,26 @@
+package com.barriquebackend.recipevault.recipe;
+
+import java.util.List;
+
+/**
+ * Published by {@link RecipeService} once per bulk operation that changed or deleted recipes.
+ * <p>
+ * Listeners handle all recipes at once and skip what the operation cannot affect: a favorite
+ * flag changes neither text nor tags, and derived rows of deleted recipes were already removed
+ * in the same transaction.
+ * </p>
+ *
+ * @param userId    the ID of the recipes' owner
+ * @param recipeIds the IDs of the changed or deleted recipes
+ * @param operation the operation that was applied
+ */
+public record BulkRecipeChangedEvent(Long userId, List<Long> recipeIds, BulkRecipeOperation operation) {
+
+    public boolean deleted() {
+        return operation == BulkRecipeOperation.DELETE;
+    }
+
+    public boolean tagsChanged() {
+        return operation == BulkRecipeOperation.ADD_TAG || operation == BulkRecipeOperation.REMOVE_TAG;
+    }
+}
@@ -0,0 +1,14 @@
+package com.barriquebackend.recipevault.recipe;
+
+/**
+ * The operations that can be applied to many recipes at once.
+ */
+public enum BulkRecipeOperation {
+    DELETE,
+    FAVORITE,
+    UNFAVORITE,
+
+    // Require BulkRecipeRequest.tag.
+    ADD_TAG,
+    REMOVE_TAG
+}
@@ -0,0 +1,15 @@
+package com.barriquebackend.recipevault.recipe;
+
+import com.barriquebackend.recipevault.recipe.components.tag.TagType;
+
+import java.util.List;
+
+/**
+ * An operation to apply to several recipes of the authenticated user.
+ *
+ * @param operation the operation
+ * @param recipeIds the IDs of the recipes
+ * @param tag       the tag to add or remove; only used by the tag operations
+ */
+public record BulkRecipeRequest(BulkRecipeOperation operation, List<Long> recipeIds, TagType tag) {
+}
@@ -0,0 +1,29 @@
+package com.barriquebackend.recipevault.recipe;
+
+import java.util.List;
+
+/**
+ * The outcome of a bulk operation, one entry per requested recipe in request order.
+ *
+ * @param results the outcome per recipe
+ */
+public record BulkRecipeResult(List<Item> results) {
+
+    public enum Status {
+        UPDATED,
+        // The recipe already was in the requested state.
+        UNCHANGED,
+        DELETED,
+        // The recipe does not exist or belongs to another user.
+        NOT_FOUND
+    }
+
+    /**
+     * The outcome for one recipe.
+     *
+     * @param recipeId the ID of the recipe
+     * @param status   what happened to it
+     */
+    public record Item(Long recipeId, Status status) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.barriquebackend.recipevault.recipe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses the cooking time of recipes that were saved before the parsed minutes existed.
+ * <p>
+ * Only recipes with a time text but no minutes are read; times that cannot be parsed stay
+ * without minutes and are looked at again on the next startup. Recipes are processed in
+ * chunks of {@value #CHUNK_SIZE}, each in its own transaction, with one update per distinct
+ * number of minutes in the chunk.
+ * </p>
+ */
+@Component
+public class CookingTimeBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(CookingTimeBackfill.class);
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final RecipeRepository recipeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructs a CookingTimeBackfill.
+     *
+     * @param recipeRepository   the repository used to read cooking times and write minutes
+     * @param transactionManager the transaction manager used for each chunk
+     */
+    public CookingTimeBackfill(RecipeRepository recipeRepository, PlatformTransactionManager transactionManager) {
+        this.recipeRepository = recipeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Parses the cooking times of all recipes without minutes at startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int parsed = 0;
+        long afterId = 0;
+        List<Object[]> rows;
+        while (!(rows = recipeRepository.findUnparsedTimes(afterId, Limit.of(CHUNK_SIZE))).isEmpty()) {
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+            Map<Integer, List<Long>> recipeIdsByMinutes = new HashMap<>();
+            for (Object[] row : rows) {
+                Integer minutes = CookingTimeParser.parseMinutes((String) row[1]);
+                if (minutes != null) {
+                    recipeIdsByMinutes.computeIfAbsent(minutes, key -> new ArrayList<>()).add((Long) row[0]);
+                    parsed++;
+                }
+            }
+            if (!recipeIdsByMinutes.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status ->
+                        recipeIdsByMinutes.forEach((minutes, ids) -> recipeRepository.updateTimeMinutes(ids, minutes)));
+            }
+        }
+        if (parsed > 0) {
+            log.info("Backfilled cooking time minutes of {} recipes", parsed);
+        }
+    }
+}
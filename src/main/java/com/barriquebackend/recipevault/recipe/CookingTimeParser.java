@@ -0,0 +1,100 @@
+package com.barriquebackend.recipevault.recipe;
+
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the free-text cooking time of a recipe into minutes.
+ * <p>
+ * Understands plain numbers (minutes), amounts with English or German hour, minute and day units
+ * ("1 h 30 min", "1.5 hours", "1 1/2 hours", "90 Min.", "2 Std."), clock notation ("1:30"), ranges,
+ * which count with their upper bound ("45-60 min"), and ISO-8601 durations as used by schema.org
+ * ("PT1H30M"). Words around the amounts are ignored ("Prep: 15 min").
+ * </p>
+ */
+final class CookingTimeParser {
+
+    // Only text that starts like a duration, so that words such as "prep" are not taken for one.
+    private static final Pattern ISO_DURATION = Pattern.compile("pt?\\d.*");
+    private static final Pattern CLOCK = Pattern.compile("(\\d+):(\\d{2})");
+    // A mixed number ("1 1/2"), a fraction ("1/2") or a decimal ("1.5", "1,5"), tried in that order.
+    private static final String NUMBER = "\\d+\\s+\\d+/\\d+|\\d+/\\d+|\\d+(?:[.,]\\d+)?";
+    private static final Pattern RANGE = Pattern.compile("(" + NUMBER + ")\\s*(?:-|to|bis)\\s*(" + NUMBER + ")");
+    private static final Pattern AMOUNT = Pattern.compile("(" + NUMBER + ")\\s*([a-z]*)");
+    private static final Pattern FRACTION = Pattern.compile("(?:(\\d+)\\s+)?(\\d+)/(\\d+)");
+
+    private static final Set<String> DAYS = Set.of("d", "day", "days", "tag", "tage");
+    private static final Set<String> HOURS = Set.of("h", "hr", "hrs", "hour", "hours", "std", "stunde", "stunden");
+    private static final Set<String> MINUTES = Set.of("m", "min", "mins", "minute", "minutes", "minuten");
+
+    private CookingTimeParser() {
+    }
+
+    /**
+     * Parses a cooking time.
+     *
+     * @param text the cooking time as entered
+     * @return the time in minutes, or null if the text is blank or not understood
+     */
+    static Integer parseMinutes(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String normalized = text.strip().toLowerCase(Locale.ROOT);
+
+        if (ISO_DURATION.matcher(normalized).matches()) {
+            try {
+                return Math.toIntExact(Duration.parse(normalized.toUpperCase(Locale.ROOT)).toMinutes());
+            } catch (DateTimeParseException | ArithmeticException e) {
+                return null;
+            }
+        }
+
+        Matcher clock = CLOCK.matcher(normalized);
+        if (clock.matches()) {
+            return Integer.parseInt(clock.group(1)) * 60 + Integer.parseInt(clock.group(2));
+        }
+
+        normalized = RANGE.matcher(normalized).replaceAll("$2");
+
+        double minutes = 0;
+        boolean understood = false;
+        Matcher amount = AMOUNT.matcher(normalized);
+        while (amount.find()) {
+            double value = parseNumber(amount.group(1));
+            String unit = amount.group(2);
+            if (Double.isNaN(value)) {
+                continue;
+            } else if (DAYS.contains(unit)) {
+                minutes += value * 24 * 60;
+            } else if (HOURS.contains(unit)) {
+                minutes += value * 60;
+            } else if (MINUTES.contains(unit) || unit.isEmpty()) {
+                // A bare number is minutes, also after hours as in "1h 30".
+                minutes += value;
+            } else {
+                continue;
+            }
+            understood = true;
+        }
+        return understood ? (int) Math.round(minutes) : null;
+    }
+
+    // Returns NaN for a fraction with a zero denominator.
+    private static double parseNumber(String number) {
+        Matcher fraction = FRACTION.matcher(number);
+        if (!fraction.matches()) {
+            return Double.parseDouble(number.replace(',', '.'));
+        }
+        int denominator = Integer.parseInt(fraction.group(3));
+        if (denominator == 0) {
+            return Double.NaN;
+        }
+        int whole = fraction.group(1) != null ? Integer.parseInt(fraction.group(1)) : 0;
+        return whole + (double) Integer.parseInt(fraction.group(2)) / denominator;
+    }
+}
@@ -1,17 +1,39 @@
 package com.barriquebackend.recipevault.recipe;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.barriquebackend.recipevault.image.ImageUrls;
+import com.barriquebackend.recipevault.ingredient.IngredientTerm;
 import com.barriquebackend.recipevault.recipe.components.Ingredient;
 import com.barriquebackend.recipevault.recipe.components.NutritionalValue;
 import com.barriquebackend.recipevault.recipe.components.RecipeStep;
 import com.barriquebackend.recipevault.recipe.components.Tool;
 import com.barriquebackend.recipevault.recipe.components.tag.Tag;
+import com.barriquebackend.recipevault.recipe.components.tag.TagType;
+import com.barriquebackend.sync.ChangeTracked;
+import com.barriquebackend.sync.ChangeTrackingListener;
 import com.barriquebackend.user.User;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 @Entity
-public class Recipe {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipe")
+@Table(indexes = {
+        @Index(name = "idx_recipe_user_change", columnList = "user_id, change_seq"),
+        @Index(name = "idx_recipe_user_time", columnList = "user_id, time_minutes"),
+        @Index(name = "idx_recipe_image_hash", columnList = "image_hash")
+})
+@EntityListeners(ChangeTrackingListener.class)
+public class Recipe implements ChangeTracked {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,25 +49,73 @@ public class Recipe {
 
     private String description;
     private String imageUrl;
+
+    // Hash of the uploaded image in the BlobStore; null if imageUrl points elsewhere or is empty.
+    @Column(name = "image_hash", length = 64)
+    @JsonIgnore
+    private String imageHash;
+
+    // Secret of the recipe's public share link; null while the recipe is not shared.
+    @Column(name = "share_token", length = 32, unique = true)
+    @JsonIgnore
+    private String shareToken;
     private Boolean favorite;
     private String time;
+
+    // The cooking time parsed from time; null if time is empty or not understood.
+    @Column(name = "time_minutes")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer timeMinutes;
     private String sourceUrl;
     private int servings;
     private int portionSize;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long version;
+
+    @Column(name = "change_seq", nullable = false, columnDefinition = "bigint default 0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long changeSeq;
+
+    @Column(name = "updated_at")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant updatedAt;
+
+    // Denormalized copy of the tag types in tags, one bit per TagType; maintained by RecipeService.
+    @Column(name = "tag_mask", nullable = false, columnDefinition = "bigint default 0")
+    @JsonIgnore
+    private long tagMask;
+
+    // Set only for recipes stored in DOCUMENT mode; the component tables then hold no rows for the recipe.
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "components")
+    @JsonIgnore
+    private RecipeComponents components;
+
+    // Component entities materialized from the document, rebuilt whenever the document is replaced.
+    @Transient
+    private ComponentView documentView;
+
     @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipe-ingredients")
     private List<Ingredient> ingredients;
 
     @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipe-nutritional-values")
     private List<NutritionalValue> nutritionalValues;
 
     @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipe-steps")
     private List<RecipeStep> steps;
 
     @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipe-tools")
     private List<Tool> tools;
 
     @OneToMany(mappedBy = "recipe", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "recipe-tags")
     private List<Tag> tags;
 
     // Getters and setters
@@ -57,6 +127,38 @@ public class Recipe {
         this.recipeId = recipeId;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    @Override
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    @Override
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getTagMask() {
+        return tagMask;
+    }
+
+    public void setTagMask(long tagMask) {
+        this.tagMask = tagMask;
+    }
+
     public User getUser() {
         return user;
     }
@@ -73,6 +175,28 @@ public class Recipe {
         this.imageUrl = imageUrl;
     }
 
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
+    public String getShareToken() {
+        return shareToken;
+    }
+
+    public void setShareToken(String shareToken) {
+        this.shareToken = shareToken;
+    }
+
+    // Small version of an uploaded image for list pages; null for external or missing images.
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public String getThumbnailUrl() {
+        return imageHash != null ? ImageUrls.thumbnail(imageHash, ImageUrls.LIST_THUMBNAIL_SIZE) : null;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -105,6 +229,14 @@ public class Recipe {
         this.time = duration;
     }
 
+    public Integer getTimeMinutes() {
+        return timeMinutes;
+    }
+
+    public void setTimeMinutes(Integer timeMinutes) {
+        this.timeMinutes = timeMinutes;
+    }
+
     public String getSourceUrl() {
         return sourceUrl;
     }
@@ -130,7 +262,7 @@ public class Recipe {
     }
 
     public List<Ingredient> getIngredients() {
-        return ingredients;
+        return components != null ? documentView().ingredients : ingredients;
     }
 
     public void setIngredients(List<Ingredient> ingredients) {
@@ -138,7 +270,7 @@ public class Recipe {
     }
 
     public List<NutritionalValue> getNutritionalValues() {
-        return nutritionalValues;
+        return components != null ? documentView().nutritionalValues : nutritionalValues;
     }
 
     public void setNutritionalValues(List<NutritionalValue> nutritionalValues) {
@@ -146,7 +278,7 @@ public class Recipe {
     }
 
     public List<RecipeStep> getSteps() {
-        return steps;
+        return components != null ? documentView().steps : steps;
     }
 
     public void setSteps(List<RecipeStep> steps) {
@@ -154,7 +286,7 @@ public class Recipe {
     }
 
     public List<Tool> getTools() {
-        return tools;
+        return components != null ? documentView().tools : tools;
     }
 
     public void setTools(List<Tool> tools) {
@@ -162,7 +294,7 @@ public class Recipe {
     }
 
     public List<Tag> getTags() {
-        return tags;
+        return components != null ? documentView().tags : tags;
     }
 
     public void setTags(List<Tag> tags) {
@@ -194,4 +326,107 @@ public class Recipe {
         tags.add(tag);
         tag.setRecipe(this);
     }
+
+    // Storage mode helpers
+
+    @JsonIgnore
+    public boolean isStoredAsDocument() {
+        return components != null;
+    }
+
+    /**
+     * Removes all components, from the component tables as well as from the document.
+     * Components added afterwards go to the tables until {@link #moveComponentsToDocument()}.
+     */
+    public void clearComponents() {
+        components = null;
+        ingredients = clearedOrNew(ingredients);
+        nutritionalValues = clearedOrNew(nutritionalValues);
+        steps = clearedOrNew(steps);
+        tools = clearedOrNew(tools);
+        tags = clearedOrNew(tags);
+    }
+
+    /**
+     * Replaces all components by the given document.
+     * <p>
+     * The component tables are only touched if the recipe was stored in them so far; a recipe
+     * that already is a document stays a single row.
+     * </p>
+     *
+     * @param document the new components
+     */
+    public void storeComponentsAsDocument(RecipeComponents document) {
+        if (components == null) {
+            clearComponents();
+        }
+        components = document;
+    }
+
+    /**
+     * Moves the components from the component tables into the document, so that the recipe is one row.
+     * The tag mask is recomputed, as the tag rows it could be backfilled from are gone afterwards.
+     */
+    public void moveComponentsToDocument() {
+        if (components == null) {
+            storeComponentsAsDocument(RecipeComponents.of(ingredients, nutritionalValues, steps, tools, tags));
+            tagMask = TagType.maskOf(components.tags());
+        }
+    }
+
+    /**
+     * Moves the components from the document into the component tables, recomputing the tag mask.
+     *
+     * @param terms looks up the dictionary term of an ingredient by its ID
+     */
+    public void moveComponentsToTables(Function<Long, IngredientTerm> terms) {
+        if (components == null) {
+            return;
+        }
+        RecipeComponents document = components;
+        clearComponents();
+        document.toIngredients(terms).forEach(this::addIngredient);
+        document.toNutritionalValues().forEach(this::addNutritionalValue);
+        document.toSteps().forEach(this::addStep);
+        document.toTools().forEach(this::addTool);
+        document.toTags().forEach(this::addTag);
+        tagMask = TagType.maskOf(document.tags());
+    }
+
+    private ComponentView documentView() {
+        if (documentView == null || documentView.source != components) {
+            documentView = new ComponentView(components);
+        }
+        return documentView;
+    }
+
+    private static <T> List<T> clearedOrNew(List<T> list) {
+        if (list == null) {
+            return new ArrayList<>();
+        }
+        list.clear();
+        return list;
+    }
+
+    /**
+     * Detached component entities built from a document; changes to them are not persisted.
+     */
+    private static final class ComponentView {
+
+        private final RecipeComponents source;
+        private final List<Ingredient> ingredients;
+        private final List<NutritionalValue> nutritionalValues;
+        private final List<RecipeStep> steps;
+        private final List<Tool> tools;
+        private final List<Tag> tags;
+
+        private ComponentView(RecipeComponents source) {
+            this.source = source;
+            this.ingredients = source.toIngredients();
+            this.nutritionalValues = source.toNutritionalValues();
+            this.steps = source.toSteps();
+            this.tools = source.toTools();
+            this.tags = source.toTags();
+        }
+    }
 }
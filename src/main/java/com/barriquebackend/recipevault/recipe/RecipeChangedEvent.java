@@ -0,0 +1,21 @@
+package com.barriquebackend.recipevault.recipe;
+
+/**
+ * Published by {@link RecipeService} after a recipe was created, updated or deleted,
+ * so that derived data (indexes, caches) can follow.
+ *
+ * @param userId   the ID of the recipe's owner
+ * @param recipeId the ID of the recipe
+ * @param recipe   the saved recipe, or null if it was deleted or changed by a bulk statement
+ * @param deleted  true if the recipe no longer exists
+ */
+public record RecipeChangedEvent(Long userId, Long recipeId, Recipe recipe, boolean deleted) {
+
+    public static RecipeChangedEvent saved(Recipe recipe) {
+        return new RecipeChangedEvent(recipe.getUser().getId(), recipe.getRecipeId(), recipe, false);
+    }
+
+    public static RecipeChangedEvent deleted(Long userId, Long recipeId) {
+        return new RecipeChangedEvent(userId, recipeId, null, true);
+    }
+}
@@ -0,0 +1,127 @@
+package com.barriquebackend.recipevault.recipe;
+
+import com.barriquebackend.recipevault.ingredient.IngredientTerm;
+import com.barriquebackend.recipevault.recipe.components.Ingredient;
+import com.barriquebackend.recipevault.recipe.components.NutritionalValue;
+import com.barriquebackend.recipevault.recipe.components.RecipeStep;
+import com.barriquebackend.recipevault.recipe.components.Tool;
+import com.barriquebackend.recipevault.recipe.components.tag.Tag;
+import com.barriquebackend.recipevault.recipe.components.tag.TagType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The components of a recipe as one document, stored in the recipe row in
+ * {@link RecipeStorageMode#DOCUMENT} mode.
+ * <p>
+ * Records compare by value, so Hibernate only writes the document when its content changed.
+ * </p>
+ *
+ * @param ingredients       the ingredients
+ * @param nutritionalValues the nutritional values
+ * @param steps             the preparation steps
+ * @param tools             the tools
+ * @param tags              the tag types
+ */
+public record RecipeComponents(List<IngredientEntry> ingredients,
+                               List<NutritionEntry> nutritionalValues,
+                               List<StepEntry> steps,
+                               List<ToolEntry> tools,
+                               List<TagType> tags) {
+
+    public record IngredientEntry(Long termId, String title, Double amount, String unit) {
+    }
+
+    public record NutritionEntry(String title, Double amount) {
+    }
+
+    public record StepEntry(String stepDescription, Integer stepNumber) {
+    }
+
+    public record ToolEntry(String title, Integer amount) {
+    }
+
+    /**
+     * Builds the document from component entities.
+     */
+    static RecipeComponents of(List<Ingredient> ingredients, List<NutritionalValue> nutritionalValues,
+                               List<RecipeStep> steps, List<Tool> tools, List<Tag> tags) {
+        return new RecipeComponents(
+                map(ingredients, i -> new IngredientEntry(i.getTerm() != null ? i.getTerm().getTermId() : null,
+                        i.getTitle(), i.getAmount(), i.getUnit())),
+                map(nutritionalValues, n -> new NutritionEntry(n.getTitle(), n.getAmount())),
+                map(steps, s -> new StepEntry(s.getStepDescription(), s.getStepNumber())),
+                map(tools, t -> new ToolEntry(t.getTitle(), t.getAmount())),
+                map(tags, Tag::getTagType));
+    }
+
+    List<Ingredient> toIngredients() {
+        return toIngredients(termId -> null);
+    }
+
+    /**
+     * Builds ingredient entities linked to their dictionary terms.
+     *
+     * @param terms looks up a dictionary term by its ID
+     */
+    List<Ingredient> toIngredients(Function<Long, IngredientTerm> terms) {
+        return map(ingredients, entry -> {
+            Ingredient ingredient = new Ingredient();
+            ingredient.setTitle(entry.title());
+            ingredient.setAmount(entry.amount());
+            ingredient.setUnit(entry.unit());
+            IngredientTerm term = entry.termId() != null ? terms.apply(entry.termId()) : null;
+            if (term != null) {
+                ingredient.setTerm(term);
+            }
+            return ingredient;
+        });
+    }
+
+    List<NutritionalValue> toNutritionalValues() {
+        return map(nutritionalValues, entry -> {
+            NutritionalValue nutritionalValue = new NutritionalValue();
+            nutritionalValue.setTitle(entry.title());
+            nutritionalValue.setAmount(entry.amount());
+            return nutritionalValue;
+        });
+    }
+
+    List<RecipeStep> toSteps() {
+        return map(steps, entry -> {
+            RecipeStep step = new RecipeStep();
+            step.setStepDescription(entry.stepDescription());
+            step.setStepNumber(entry.stepNumber());
+            return step;
+        });
+    }
+
+    List<Tool> toTools() {
+        return map(tools, entry -> {
+            Tool tool = new Tool();
+            tool.setTitle(entry.title());
+            tool.setAmount(entry.amount());
+            return tool;
+        });
+    }
+
+    List<Tag> toTags() {
+        return map(tags, tagType -> {
+            Tag tag = new Tag();
+            tag.setTagType(tagType);
+            return tag;
+        });
+    }
+
+    private static <S, T> List<T> map(List<S> source, Function<S, T> mapper) {
+        List<T> result = new ArrayList<>();
+        if (source != null) {
+            for (S element : source) {
+                result.add(mapper.apply(element));
+            }
+        }
+        return result;
+    }
+}
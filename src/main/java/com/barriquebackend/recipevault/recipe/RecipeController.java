@@ -1,13 +1,28 @@
 package com.barriquebackend.recipevault.recipe;
 
+import com.barriquebackend.recipevault.recipe.components.tag.TagType;
+import com.barriquebackend.recipevault.recipe.duplicate.DuplicateCandidate;
+import com.barriquebackend.recipevault.recipe.duplicate.DuplicateDetectionService;
+import com.barriquebackend.recipevault.recipe.duplicate.DuplicatePair;
+import com.barriquebackend.recipevault.recipe.search.CookableRecipe;
+import com.barriquebackend.recipevault.recipe.search.RecipeSearchHit;
+import com.barriquebackend.recipevault.recipe.search.RecipeSearchService;
+import com.barriquebackend.recipevault.recipe.similar.SimilarRecipe;
+import com.barriquebackend.recipevault.recipe.similar.SimilarRecipeService;
 import com.barriquebackend.user.User;
 import com.barriquebackend.user.UserRepository;
+import com.barriquebackend.web.ETags;
+import com.barriquebackend.web.ResponseCache;
+import com.barriquebackend.web.VersionStamp;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * REST controller for handling recipe-related endpoints.
@@ -17,47 +32,230 @@ import java.util.List;
 @RequestMapping("/api")
 public class RecipeController {
 
+    private static final int MAX_BULK_SIZE = 1000;
+
+    /** Key of the unfiltered recipe list in the {@link ResponseCache}; filtered variants extend it. */
+    static final String RECIPE_LIST_RESOURCE = "recipes";
+
     private final RecipeService recipeService;
+    private final RecipeSearchService recipeSearchService;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final SimilarRecipeService similarRecipeService;
     private final UserRepository userRepository;
+    private final ResponseCache responseCache;
 
     /**
-     * Constructs a RecipeController with the specified RecipeService and UserRepository.
+     * Constructs a RecipeController with the specified services and UserRepository.
      *
-     * @param recipeService  the service for recipe business logic
-     * @param userRepository the repository for user data
+     * @param recipeService             the service for recipe business logic
+     * @param recipeSearchService       the service for recipe full-text search
+     * @param duplicateDetectionService the service for finding near-duplicate recipes
+     * @param similarRecipeService      the service for precomputed similar recipes
+     * @param userRepository            the repository for user data
+     * @param responseCache             the cache of serialized responses
      */
-    public RecipeController(RecipeService recipeService, UserRepository userRepository) {
+    public RecipeController(RecipeService recipeService, RecipeSearchService recipeSearchService,
+                            DuplicateDetectionService duplicateDetectionService, SimilarRecipeService similarRecipeService,
+                            UserRepository userRepository, ResponseCache responseCache) {
         this.recipeService = recipeService;
+        this.recipeSearchService = recipeSearchService;
+        this.duplicateDetectionService = duplicateDetectionService;
+        this.similarRecipeService = similarRecipeService;
         this.userRepository = userRepository;
+        this.responseCache = responseCache;
     }
 
     /**
-     * Retrieves all recipes for the authenticated user.
+     * Retrieves all recipes for the authenticated user, optionally filtered by cooking time and sorted.
+     * <p>
+     * Answers 304 without loading any recipe if the If-None-Match header matches
+     * the aggregate version of the user's recipes. The serialized list is cached per user and
+     * combination of parameters until a recipe changes.
+     * </p>
      *
+     * @param minMinutes     the minimum parsed cooking time in minutes (optional)
+     * @param maxMinutes     the maximum parsed cooking time in minutes (optional)
+     * @param sort           the sort key: time, title or updated (optional)
+     * @param order          the sort order: asc or desc
+     * @param ifNoneMatch    the If-None-Match header (optional)
      * @param authentication the authentication token containing user details
-     * @return a list of recipes belonging to the authenticated user
+     * @return a ResponseEntity with the recipes belonging to the authenticated user, 304, or 400 for invalid parameters
      */
     @GetMapping("/user/recipe")
-    public List<Recipe> getRecipesByUserId(Authentication authentication) {
+    public ResponseEntity<byte[]> getRecipesByUserId(@RequestParam(required = false) Integer minMinutes,
+                                                     @RequestParam(required = false) Integer maxMinutes,
+                                                     @RequestParam(required = false) String sort,
+                                                     @RequestParam(defaultValue = "asc") String order,
+                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                     Authentication authentication) {
+        RecipeSortKey sortKey = sort != null ? RecipeSortKey.fromParameter(sort) : null;
+        boolean descending = "desc".equalsIgnoreCase(order);
+        if ((sort != null && sortKey == null) || (!descending && !"asc".equalsIgnoreCase(order))
+                || (minMinutes != null && maxMinutes != null && minMinutes > maxMinutes)) {
+            return ResponseEntity.badRequest().build();
+        }
+
         User user = getAuthenticatedUser(authentication);
-        return recipeService.getRecipesByUserId(user.getId());
+        VersionStamp stamp = recipeService.getRecipeListVersion(user.getId());
+        String etag = stamp.toETag("recipes");
+        if (minMinutes == null && maxMinutes == null && sortKey == null) {
+            return responseCache.serve(user.getId(), RECIPE_LIST_RESOURCE, etag, ifNoneMatch,
+                    () -> recipeService.getRecipesByUserId(user.getId()));
+        }
+        String resource = RECIPE_LIST_RESOURCE + "?minMinutes=" + minMinutes + "&maxMinutes=" + maxMinutes
+                + "&sort=" + sortKey + "&descending=" + descending;
+        return responseCache.serve(user.getId(), resource, etag, ifNoneMatch,
+                () -> recipeService.getRecipesByUserId(user.getId(), minMinutes, maxMinutes, sortKey, descending));
+    }
+
+    /**
+     * Searches the authenticated user's recipes by title, description, ingredients and steps.
+     *
+     * @param query          the search text
+     * @param limit          the maximum number of hits
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the hits ordered by relevance, or 400 for a blank query
+     */
+    @GetMapping("/user/recipe/search")
+    public ResponseEntity<List<RecipeSearchHit>> searchRecipes(@RequestParam("q") String query,
+                                                               @RequestParam(defaultValue = "20") int limit,
+                                                               Authentication authentication) {
+        if (query.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        User user = getAuthenticatedUser(authentication);
+        return ResponseEntity.ok(recipeSearchService.search(user.getId(), query, limit));
+    }
+
+    /**
+     * Ranks the authenticated user's recipes by how many of their ingredients the user already has.
+     *
+     * @param ingredients    the ingredients the user has, e.g. {@code ?ingredients=garlic,olive oil}
+     * @param limit          the maximum number of results
+     * @param authentication the authentication token containing user details
+     * @return the best covered recipes, each with the ingredients still missing
+     */
+    @GetMapping("/user/recipe/cookable")
+    public List<CookableRecipe> findCookableRecipes(@RequestParam List<String> ingredients,
+                                                    @RequestParam(defaultValue = "20") int limit,
+                                                    Authentication authentication) {
+        User user = getAuthenticatedUser(authentication);
+        return recipeSearchService.findCookableRecipes(user.getId(), ingredients, limit);
+    }
+
+    /**
+     * Filters the authenticated user's recipes by tags and counts the tags of the matching recipes.
+     * <p>
+     * For example {@code ?include=VEGAN,EASY&exclude=DESSERT} returns the easy vegan recipes that
+     * are not desserts, plus for every tag type how many of them carry it.
+     * </p>
+     *
+     * @param include        the tag types a recipe must all carry (optional)
+     * @param exclude        the tag types a recipe must not carry (optional)
+     * @param authentication the authentication token containing user details
+     * @return the matching recipes and the facet counts
+     */
+    @GetMapping("/user/recipe/filter")
+    public RecipeFilterResult filterRecipesByTags(@RequestParam(required = false) Set<TagType> include,
+                                                  @RequestParam(required = false) Set<TagType> exclude,
+                                                  Authentication authentication) {
+        User user = getAuthenticatedUser(authentication);
+        return recipeService.filterRecipesByTags(user.getId(), include, exclude);
+    }
+
+    /**
+     * Lists pairs of the authenticated user's recipes that are possibly duplicates of each other.
+     *
+     * @param authentication the authentication token containing user details
+     * @return the pairs, most similar first
+     */
+    @GetMapping("/user/recipe/duplicates")
+    public List<DuplicatePair> findDuplicateRecipes(Authentication authentication) {
+        User user = getAuthenticatedUser(authentication);
+        return duplicateDetectionService.findDuplicatePairs(user.getId());
+    }
+
+    /**
+     * Deletes, favorites, unfavorites, tags or untags several recipes of the authenticated user at once.
+     *
+     * @param request        the operation and up to {@value #MAX_BULK_SIZE} recipe IDs
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the outcome per recipe, or 400 for an invalid request
+     */
+    @PostMapping("/user/recipe/bulk")
+    public ResponseEntity<BulkRecipeResult> applyBulkOperation(@RequestBody BulkRecipeRequest request,
+                                                               Authentication authentication) {
+        if (request.operation() == null || request.recipeIds() == null
+                || request.recipeIds().size() > MAX_BULK_SIZE || request.recipeIds().contains(null)
+                || ((request.operation() == BulkRecipeOperation.ADD_TAG
+                || request.operation() == BulkRecipeOperation.REMOVE_TAG) && request.tag() == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        User user = getAuthenticatedUser(authentication);
+        return ResponseEntity.ok(recipeService.applyBulkOperation(request, user));
+    }
+
+    /**
+     * Checks a recipe against the authenticated user's recipes before it is saved.
+     * <p>
+     * Nothing is stored; clients call this before {@code POST /api/recipe} to warn about duplicates.
+     * </p>
+     *
+     * @param recipe         the recipe about to be saved
+     * @param authentication the authentication token containing user details
+     * @return the user's recipes that are possibly duplicates of it, most similar first
+     */
+    @PostMapping("/user/recipe/duplicates/check")
+    public List<DuplicateCandidate> checkForDuplicates(@RequestBody Recipe recipe, Authentication authentication) {
+        User user = getAuthenticatedUser(authentication);
+        return duplicateDetectionService.findDuplicatesOf(user.getId(), recipe);
     }
 
     /**
      * Retrieves a recipe by its ID.
+     * <p>
+     * Answers 304 without loading the recipe if the If-None-Match header matches its current version,
+     * and serves the serialized recipe from the response cache while that version is current.
+     * </p>
      *
      * @param id             the ID of the recipe
+     * @param ifNoneMatch    the If-None-Match header (optional)
      * @param authentication the authentication token containing user details
-     * @return a ResponseEntity with the recipe if found and authorized, or an appropriate error status
+     * @return a ResponseEntity with the recipe if found and authorized, or an appropriate status
      */
     @GetMapping("/recipe/{id}")
-    public ResponseEntity<Recipe> getRecipeById(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<byte[]> getRecipeById(@PathVariable Long id,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                Authentication authentication) {
         User user = getAuthenticatedUser(authentication);
-        Recipe recipe = recipeService.getRecipeById(id);
-        if (!recipe.getUser().getId().equals(user.getId())) {
+        Optional<Long> version = recipeService.getRecipeVersion(id, user.getId());
+        if (version.isEmpty()) {
+            recipeService.getRecipeById(id); // Throws if the recipe does not exist at all
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return responseCache.serve(user.getId(), recipeResource(id), recipeETag(id, version.get()), ifNoneMatch,
+                () -> recipeService.getRecipeById(id));
+    }
+
+    /**
+     * Retrieves recipes similar to a recipe by tags, ingredients and cooking time.
+     * <p>
+     * The recommendations are precomputed in the background, so a recipe saved a moment ago may
+     * have none yet and recent changes may take a few seconds to show.
+     * </p>
+     *
+     * @param id             the ID of the recipe
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the similar recipes, most similar first, or 403 if the recipe belongs to another user
+     */
+    @GetMapping("/recipe/{id}/similar")
+    public ResponseEntity<List<SimilarRecipe>> getSimilarRecipes(@PathVariable Long id, Authentication authentication) {
+        User user = getAuthenticatedUser(authentication);
+        if (recipeService.getRecipeVersion(id, user.getId()).isEmpty()) {
+            recipeService.getRecipeById(id); // Throws if the recipe does not exist at all
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
-        return ResponseEntity.ok(recipe);
+        return ResponseEntity.ok(similarRecipeService.getSimilarRecipes(id));
     }
 
     /**
@@ -78,38 +276,71 @@ public class RecipeController {
      *
      * @param id             the ID of the recipe to update
      * @param recipeDetails  the updated recipe data
+     * @param ifMatch        the If-Match header (optional); the update fails with 412 if it is outdated
      * @param authentication the authentication token containing user details
      * @return a ResponseEntity with the updated recipe if successful, or an error status
      */
     @PutMapping("/recipe/{id}")
-    public ResponseEntity<Recipe> updateRecipe(@PathVariable Long id, @RequestBody Recipe recipeDetails, Authentication authentication) {
+    public ResponseEntity<Recipe> updateRecipe(@PathVariable Long id, @RequestBody Recipe recipeDetails,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                               Authentication authentication) {
         User user = getAuthenticatedUser(authentication);
         Recipe recipe = recipeService.getRecipeById(id);
         if (!recipe.getUser().getId().equals(user.getId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
+        if (!ETags.satisfiesIfMatch(ifMatch, recipeETag(id, recipe.getVersion()))) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
         Recipe updatedRecipe = recipeService.updateRecipe(id, recipeDetails, user);
-        return ResponseEntity.ok(updatedRecipe);
+        return ResponseEntity.ok().eTag(recipeETag(id, updatedRecipe.getVersion())).body(updatedRecipe);
     }
 
     /**
      * Deletes a recipe for the authenticated user.
      *
      * @param id             the ID of the recipe to delete
+     * @param ifMatch        the If-Match header (optional); the deletion fails with 412 if it is outdated
      * @param authentication the authentication token containing user details
      * @return a ResponseEntity with a success message if deletion is successful, or an error status
      */
     @DeleteMapping("/recipe/{id}")
-    public ResponseEntity<String> deleteRecipe(@PathVariable Long id, Authentication authentication) {
+    public ResponseEntity<String> deleteRecipe(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                               Authentication authentication) {
         User user = getAuthenticatedUser(authentication);
         Recipe recipe = recipeService.getRecipeById(id);
         if (!recipe.getUser().getId().equals(user.getId())) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
+        if (!ETags.satisfiesIfMatch(ifMatch, recipeETag(id, recipe.getVersion()))) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
         recipeService.deleteRecipe(id, user);
         return ResponseEntity.ok("Recipe deleted successfully.");
     }
 
+    /**
+     * Helper method to build the key of a single recipe in the {@link ResponseCache}.
+     *
+     * @param id the ID of the recipe
+     * @return the resource key
+     */
+    static String recipeResource(Long id) {
+        return "recipe/" + id;
+    }
+
+    /**
+     * Helper method to build the entity tag of a single recipe.
+     *
+     * @param id      the ID of the recipe
+     * @param version the version of the recipe
+     * @return the quoted entity tag
+     */
+    private String recipeETag(Long id, long version) {
+        return ETags.of("recipe", id, version);
+    }
+
     /**
      * Helper method to extract the authenticated user from the security context.
      *
@@ -0,0 +1,15 @@
+package com.barriquebackend.recipevault.recipe;
+
+import com.barriquebackend.recipevault.recipe.components.tag.TagType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of filtering recipes by tags.
+ *
+ * @param recipes the recipes matching the filter
+ * @param facets  for every tag type, the number of matching recipes that carry it
+ */
+public record RecipeFilterResult(List<Recipe> recipes, Map<TagType, Integer> facets) {
+}
@@ -1,12 +1,243 @@
 package com.barriquebackend.recipevault.recipe;
 
+import com.barriquebackend.recipevault.recipe.components.tag.TagType;
+import com.barriquebackend.web.VersionStamp;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
 
 @Repository
 public interface RecipeRepository extends JpaRepository<Recipe, Long> {
     List<Recipe> findAllByUserId(Long userId);
+
+    // Read through a server-side cursor; only valid inside a transaction and must be closed.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "100"))
+    @Query("select r from Recipe r where r.user.id = :userId order by r.recipeId")
+    Stream<Recipe> streamAllByUserId(@Param("userId") Long userId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "100"))
+    @Query("select distinct r.imageHash from Recipe r where r.user.id = :userId and r.imageHash is not null")
+    Stream<String> streamImageHashesByUserId(@Param("userId") Long userId);
+
+    // Recipes whose parsed cooking time lies within the bounds; a null bound is not applied.
+    @Query("select r from Recipe r where r.user.id = :userId " +
+            "and (:minMinutes is null or r.timeMinutes >= :minMinutes) " +
+            "and (:maxMinutes is null or r.timeMinutes <= :maxMinutes)")
+    List<Recipe> findAllByUserIdAndTimeRange(@Param("userId") Long userId,
+                                             @Param("minMinutes") Integer minMinutes,
+                                             @Param("maxMinutes") Integer maxMinutes,
+                                             Sort sort);
+
+    // Cooking time texts without parsed minutes, as (recipeId, time) pairs in ID order after the given ID.
+    @Query("select r.recipeId, r.time from Recipe r where r.timeMinutes is null and r.time is not null " +
+            "and r.recipeId > :afterId order by r.recipeId")
+    List<Object[]> findUnparsedTimes(@Param("afterId") long afterId, Limit limit);
+
+    @Modifying
+    @Query("update Recipe r set r.timeMinutes = :timeMinutes where r.recipeId in :recipeIds")
+    int updateTimeMinutes(@Param("recipeIds") Collection<Long> recipeIds, @Param("timeMinutes") Integer timeMinutes);
+
+    // Recipes carrying every tag in includeMask and none in excludeMask.
+    @Query(value = "select * from recipe r where r.user_id = :userId " +
+            "and (r.tag_mask & :includeMask) = :includeMask and (r.tag_mask & :excludeMask) = 0",
+            nativeQuery = true)
+    List<Recipe> findAllByUserIdAndTagMask(@Param("userId") Long userId,
+                                           @Param("includeMask") long includeMask,
+                                           @Param("excludeMask") long excludeMask);
+
+    // Tagged recipes whose tag mask has not been computed yet, in ID order after the given ID.
+    @Query("select distinct t.recipe.recipeId from Tag t where t.recipe.tagMask = 0 and t.tagType is not null " +
+            "and t.recipe.recipeId > :afterId order by t.recipe.recipeId")
+    List<Long> findUnmaskedTaggedIds(@Param("afterId") long afterId, Limit limit);
+
+    // Tag types of the given recipes, as (recipeId, tagType) pairs.
+    @Query("select t.recipe.recipeId, t.tagType from Tag t where t.recipe.recipeId in :recipeIds and t.tagType is not null")
+    List<Object[]> findTagTypesByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @Modifying
+    @Query("update Recipe r set r.tagMask = :tagMask where r.recipeId in :recipeIds")
+    int updateTagMask(@Param("recipeIds") Collection<Long> recipeIds, @Param("tagMask") long tagMask);
+
+    List<Recipe> findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(Long userId, long changeSeq, Limit limit);
+
+    @Query("select r.recipeId from Recipe r where r.user.id = :userId order by r.recipeId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query("select r.recipeId from Recipe r where r.components is null and r.recipeId > :afterId order by r.recipeId")
+    List<Long> findIdsStoredInTables(@Param("afterId") long afterId, Limit limit);
+
+    @Query("select r.recipeId from Recipe r where r.components is not null and r.recipeId > :afterId order by r.recipeId")
+    List<Long> findIdsStoredAsDocument(@Param("afterId") long afterId, Limit limit);
+
+    // Bulk mutations. Each targets only recipes of the given user and, like a save, bumps the version
+    // and draws a new change sequence value so that ETags and delta sync see the change.
+
+    @Query("select r.recipeId from Recipe r where r.user.id = :userId and r.recipeId in :recipeIds")
+    List<Long> findOwnedIds(@Param("userId") Long userId, @Param("recipeIds") Collection<Long> recipeIds);
+
+    @Query("select r.recipeId from Recipe r where r.user.id = :userId and r.recipeId in :recipeIds " +
+            "and (r.favorite is null or r.favorite <> :favorite)")
+    List<Long> findOwnedIdsWithFavoriteNot(@Param("userId") Long userId,
+                                           @Param("recipeIds") Collection<Long> recipeIds,
+                                           @Param("favorite") boolean favorite);
+
+    // Owned recipes whose tag mask has the bit set (hasBit = true) or cleared (hasBit = false).
+    @Query(value = "select r.recipe_id from recipe r where r.user_id = :userId and r.recipe_id in :recipeIds " +
+            "and ((r.tag_mask & :bit) <> 0) = :hasBit",
+            nativeQuery = true)
+    List<Long> findOwnedIdsByTagBit(@Param("userId") Long userId, @Param("recipeIds") Collection<Long> recipeIds,
+                                    @Param("bit") long bit, @Param("hasBit") boolean hasBit);
+
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "recipe"))
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update recipe set favorite = :favorite, version = version + 1, " +
+            "change_seq = nextval('change_seq'), updated_at = now() where recipe_id in :recipeIds",
+            nativeQuery = true)
+    int updateFavorite(@Param("recipeIds") Collection<Long> recipeIds, @Param("favorite") boolean favorite);
+
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "tag"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert into tag (tag_type, recipe_id) select :tagType, r.recipe_id from recipe r " +
+            "where r.recipe_id in :recipeIds and r.components is null",
+            nativeQuery = true)
+    int insertTags(@Param("recipeIds") Collection<Long> recipeIds, @Param("tagType") String tagType);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Tag t where t.recipe.recipeId in :recipeIds and t.tagType = :tagType")
+    int deleteTags(@Param("recipeIds") Collection<Long> recipeIds, @Param("tagType") TagType tagType);
+
+    // Tags of recipes stored in DOCUMENT mode are a JSON array of tag type names.
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "recipe"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update recipe set components = jsonb_set(components, array['tags'], " +
+            "coalesce(components -> 'tags', cast('[]' as jsonb)) || jsonb_build_array(cast(:tagType as text))) " +
+            "where recipe_id in :recipeIds and components is not null",
+            nativeQuery = true)
+    int addDocumentTags(@Param("recipeIds") Collection<Long> recipeIds, @Param("tagType") String tagType);
+
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "recipe"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = "update recipe set components = jsonb_set(components, array['tags'], " +
+            "coalesce(components -> 'tags', cast('[]' as jsonb)) - cast(:tagType as text)) " +
+            "where recipe_id in :recipeIds and components is not null",
+            nativeQuery = true)
+    int removeDocumentTags(@Param("recipeIds") Collection<Long> recipeIds, @Param("tagType") String tagType);
+
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "recipe"))
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update recipe set tag_mask = (tag_mask & ~cast(:clearBits as bigint)) | :setBits, " +
+            "version = version + 1, change_seq = nextval('change_seq'), updated_at = now() " +
+            "where recipe_id in :recipeIds",
+            nativeQuery = true)
+    int updateTagMaskBits(@Param("recipeIds") Collection<Long> recipeIds,
+                          @Param("setBits") long setBits, @Param("clearBits") long clearBits);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Ingredient i where i.recipe.recipeId in :recipeIds")
+    int deleteIngredientsByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from NutritionalValue n where n.recipe.recipeId in :recipeIds")
+    int deleteNutritionalValuesByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from RecipeStep s where s.recipe.recipeId in :recipeIds")
+    int deleteStepsByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Tool t where t.recipe.recipeId in :recipeIds")
+    int deleteToolsByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Tag t where t.recipe.recipeId in :recipeIds")
+    int deleteTagsByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from MealPlanEntry e where e.recipe.recipeId in :recipeIds")
+    int deleteMealPlanEntriesByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from RecipeLshBucket b where b.recipeId in :recipeIds")
+    int deleteLshBucketsByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from RecipeSignature s where s.recipeId in :recipeIds")
+    int deleteSignaturesByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from RecipeFeatureVector v where v.recipeId in :recipeIds")
+    int deleteFeatureVectorsByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from RecipeNeighbors n where n.recipeId in :recipeIds")
+    int deleteNeighborsByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from RecipeRevision r where r.recipeId in :recipeIds")
+    int deleteRevisionsByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    // Drops the references the recipes hold on their uploaded images; BlobStore deletes unreferenced files.
+    @Modifying(flushAutomatically = true)
+    @Query("update Blob b set b.referenceCount = b.referenceCount - " +
+            "(select count(r) from Recipe r where r.imageHash = b.hash and r.recipeId in :recipeIds) " +
+            "where b.hash in (select r.imageHash from Recipe r where r.recipeId in :recipeIds)")
+    int releaseImagesByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Recipe r where r.recipeId in :recipeIds")
+    int deleteRecipesByIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    // Deletes recipes with their components, derived duplicate and similarity data, revision history, image references and the
+    // meal plan entries using them, with one statement per table regardless of how many recipes or components there are.
+    default int deleteAllWithComponents(Collection<Long> recipeIds) {
+        deleteIngredientsByRecipeIds(recipeIds);
+        deleteNutritionalValuesByRecipeIds(recipeIds);
+        deleteStepsByRecipeIds(recipeIds);
+        deleteToolsByRecipeIds(recipeIds);
+        deleteTagsByRecipeIds(recipeIds);
+        deleteMealPlanEntriesByRecipeIds(recipeIds);
+        deleteLshBucketsByRecipeIds(recipeIds);
+        deleteSignaturesByRecipeIds(recipeIds);
+        deleteFeatureVectorsByRecipeIds(recipeIds);
+        deleteNeighborsByRecipeIds(recipeIds);
+        deleteRevisionsByRecipeIds(recipeIds);
+        releaseImagesByRecipeIds(recipeIds);
+        return deleteRecipesByIds(recipeIds);
+    }
+
+    boolean existsByImageHash(String imageHash);
+
+    @Query("select r.recipeId, r.title from Recipe r where r.recipeId in :recipeIds")
+    List<Object[]> findTitlesByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    // The recipe behind a share link, as long as its owner's account is not being deleted.
+    @Query("select r from Recipe r where r.shareToken = :shareToken " +
+            "and r.user.status = com.barriquebackend.user.AccountStatus.ACTIVE")
+    Optional<Recipe> findSharedRecipe(@Param("shareToken") String shareToken);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Recipe r set r.shareToken = :shareToken where r.recipeId = :recipeId")
+    int updateShareToken(@Param("recipeId") Long recipeId, @Param("shareToken") String shareToken);
+
+    // Version of a single recipe, used to answer conditional requests without loading the recipe.
+    @Query("select r.version from Recipe r where r.recipeId = :id and r.user.id = :userId")
+    Optional<Long> findVersion(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query("select new com.barriquebackend.web.VersionStamp(count(r), coalesce(sum(r.version), 0L), coalesce(max(r.recipeId), 0L)) " +
+            "from Recipe r where r.user.id = :userId")
+    VersionStamp findVersionStampByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
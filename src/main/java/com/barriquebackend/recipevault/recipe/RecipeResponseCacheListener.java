@@ -0,0 +1,85 @@
+package com.barriquebackend.recipevault.recipe;
+
+import com.barriquebackend.user.UserLoggedInEvent;
+import com.barriquebackend.web.ResponseCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the cached responses of {@link RecipeController} in step with the recipes.
+ * <p>
+ * A changed recipe drops its own entry and every variant of its owner's recipe list. After a
+ * login the unfiltered list is rendered in the background, so the app's first request after
+ * starting is already served from memory.
+ * </p>
+ */
+@Component
+public class RecipeResponseCacheListener {
+
+    private final ResponseCache responseCache;
+    private final RecipeService recipeService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean warmOnLogin;
+
+    /**
+     * Constructs a RecipeResponseCacheListener.
+     *
+     * @param responseCache      the cache of serialized responses
+     * @param recipeService      the service loading the recipes to warm the cache with
+     * @param transactionManager the transaction manager
+     * @param warmOnLogin        whether to render a user's recipe list right after login
+     */
+    public RecipeResponseCacheListener(ResponseCache responseCache, RecipeService recipeService,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${response.cache.warm-on-login:true}") boolean warmOnLogin) {
+        this.responseCache = responseCache;
+        this.recipeService = recipeService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.warmOnLogin = warmOnLogin;
+    }
+
+    /**
+     * Drops the cached responses a recipe change made outdated.
+     *
+     * @param event the change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        responseCache.evict(event.userId(), RecipeController.recipeResource(event.recipeId()));
+        responseCache.evictAll(event.userId(), RecipeController.RECIPE_LIST_RESOURCE);
+    }
+
+    /**
+     * Drops the cached responses a bulk operation made outdated.
+     *
+     * @param event the bulk change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkRecipeChanged(BulkRecipeChangedEvent event) {
+        event.recipeIds().forEach(recipeId -> responseCache.evict(event.userId(), RecipeController.recipeResource(recipeId)));
+        responseCache.evictAll(event.userId(), RecipeController.RECIPE_LIST_RESOURCE);
+    }
+
+    /**
+     * Renders the user's recipe list into the cache.
+     *
+     * @param event the login
+     */
+    @Async
+    @EventListener
+    public void onUserLoggedIn(UserLoggedInEvent event) {
+        if (!warmOnLogin) {
+            return;
+        }
+        Long userId = event.userId();
+        readOnlyTransaction.executeWithoutResult(status -> responseCache.get(userId, RecipeController.RECIPE_LIST_RESOURCE,
+                recipeService.getRecipeListVersion(userId).toETag("recipes"),
+                () -> recipeService.getRecipesByUserId(userId)));
+    }
+}
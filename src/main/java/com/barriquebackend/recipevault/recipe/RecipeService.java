@@ -1,28 +1,73 @@
 package com.barriquebackend.recipevault.recipe;
 
+import com.barriquebackend.recipevault.image.ImageUrls;
+import com.barriquebackend.recipevault.ingredient.IngredientDictionary;
+import com.barriquebackend.recipevault.recipe.components.Ingredient;
+import com.barriquebackend.recipevault.recipe.components.tag.Tag;
+import com.barriquebackend.recipevault.recipe.components.tag.TagType;
+import com.barriquebackend.storage.BlobStore;
+import com.barriquebackend.sync.ChangeSequence;
+import com.barriquebackend.sync.SyncEntityType;
+import com.barriquebackend.sync.SyncService;
 import com.barriquebackend.user.User;
+import com.barriquebackend.web.VersionStamp;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service class for handling business logic related to recipes.
  * Provides methods for creating, retrieving, updating, and deleting recipes
  * that are associated with a particular user.
+ * <p>
+ * Every change is announced as a {@link RecipeChangedEvent}. Components of recipes written
+ * here are stored according to {@code recipe.storage.mode} (see {@link RecipeStorageMode}).
+ * </p>
  */
 @Service
 public class RecipeService {
 
     private final RecipeRepository recipeRepository;
+    private final SyncService syncService;
+    private final ChangeSequence changeSequence;
+    private final IngredientDictionary ingredientDictionary;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlobStore blobStore;
+    private final RecipeStorageMode storageMode;
 
     /**
-     * Constructs a RecipeService with the specified RecipeRepository.
+     * Constructs a RecipeService with the specified RecipeRepository and SyncService.
      *
-     * @param recipeRepository the repository used to perform CRUD operations on recipes
+     * @param recipeRepository     the repository used to perform CRUD operations on recipes
+     * @param syncService          the service recording deletions for delta sync
+     * @param changeSequence       the sequence the set-based updates draw change sequence values from
+     * @param ingredientDictionary the dictionary ingredient titles are resolved against
+     * @param eventPublisher       the publisher for recipe change events
+     * @param blobStore            the store holding uploaded recipe images
+     * @param storageMode          where recipe components are stored
      */
-    public RecipeService(RecipeRepository recipeRepository) {
+    public RecipeService(RecipeRepository recipeRepository, SyncService syncService, ChangeSequence changeSequence,
+                         IngredientDictionary ingredientDictionary, ApplicationEventPublisher eventPublisher,
+                         BlobStore blobStore, @Value("${recipe.storage.mode:TABLES}") RecipeStorageMode storageMode) {
         this.recipeRepository = recipeRepository;
+        this.syncService = syncService;
+        this.changeSequence = changeSequence;
+        this.ingredientDictionary = ingredientDictionary;
+        this.eventPublisher = eventPublisher;
+        this.blobStore = blobStore;
+        this.storageMode = storageMode;
     }
 
     /**
@@ -35,6 +80,88 @@ public class RecipeService {
         return recipeRepository.findAllByUserId(userId);
     }
 
+    /**
+     * Retrieves the recipes of the specified user whose cooking time lies within a range, optionally sorted.
+     * <p>
+     * Filtering and sorting run in the database on the parsed cooking time, using the
+     * (user_id, time_minutes) index. Recipes without a parsed time never match a bound and
+     * sort last.
+     * </p>
+     *
+     * @param userId     the ID of the user whose recipes are to be retrieved
+     * @param minMinutes the minimum cooking time in minutes, or null
+     * @param maxMinutes the maximum cooking time in minutes, or null
+     * @param sortKey    the property to sort by, or null for no particular order
+     * @param descending true to sort in descending order
+     * @return the matching recipes
+     */
+    public List<Recipe> getRecipesByUserId(Long userId, Integer minMinutes, Integer maxMinutes,
+                                           RecipeSortKey sortKey, boolean descending) {
+        Sort sort = Sort.unsorted();
+        if (sortKey != null) {
+            Sort.Order order = descending ? Sort.Order.desc(sortKey.property()) : Sort.Order.asc(sortKey.property());
+            sort = Sort.by(order.nullsLast(), Sort.Order.asc("recipeId"));
+        }
+        return recipeRepository.findAllByUserIdAndTimeRange(userId, minMinutes, maxMinutes, sort);
+    }
+
+    /**
+     * Retrieves the recipes of the specified user that carry all included and none of the excluded tags,
+     * together with how many of those recipes carry each tag type.
+     * <p>
+     * The filter is evaluated on the recipes' tag masks with bitwise predicates, and the facet
+     * counts are computed in a single pass over the masks of the matching recipes.
+     * </p>
+     *
+     * @param userId  the ID of the user whose recipes are filtered
+     * @param include the tag types a recipe must all carry
+     * @param exclude the tag types a recipe must not carry
+     * @return the matching recipes and the facet count of every tag type
+     */
+    public RecipeFilterResult filterRecipesByTags(Long userId, Set<TagType> include, Set<TagType> exclude) {
+        List<Recipe> recipes = recipeRepository.findAllByUserIdAndTagMask(userId, TagType.maskOf(include), TagType.maskOf(exclude));
+
+        TagType[] tagTypes = TagType.values();
+        int[] counts = new int[tagTypes.length];
+        for (Recipe recipe : recipes) {
+            long mask = recipe.getTagMask();
+            while (mask != 0) {
+                int bit = Long.numberOfTrailingZeros(mask);
+                if (bit < counts.length) {
+                    counts[bit]++;
+                }
+                mask &= mask - 1;
+            }
+        }
+
+        Map<TagType, Integer> facets = new EnumMap<>(TagType.class);
+        for (TagType tagType : tagTypes) {
+            facets.put(tagType, counts[tagType.ordinal()]);
+        }
+        return new RecipeFilterResult(recipes, facets);
+    }
+
+    /**
+     * Retrieves the aggregate version of all recipes of the specified user.
+     *
+     * @param userId the ID of the user
+     * @return the version stamp of the user's recipe list
+     */
+    public VersionStamp getRecipeListVersion(Long userId) {
+        return recipeRepository.findVersionStampByUserId(userId);
+    }
+
+    /**
+     * Retrieves the version of a recipe without loading the recipe itself.
+     *
+     * @param id     the ID of the recipe
+     * @param userId the ID of the user who must own the recipe
+     * @return the version, or empty if the recipe does not exist or belongs to another user
+     */
+    public Optional<Long> getRecipeVersion(Long id, Long userId) {
+        return recipeRepository.findVersion(id, userId);
+    }
+
     /**
      * Retrieves a recipe by its ID.
      *
@@ -56,6 +183,7 @@ public class RecipeService {
      * <p>
      * This method sets the recipe's owner and links all its components (ingredients,
      * nutritional values, steps, tools, and tags) to the recipe before saving.
+     * Ingredient titles are replaced by references to the ingredient dictionary.
      * </p>
      *
      * @param recipe the recipe object to be created
@@ -67,12 +195,20 @@ public class RecipeService {
 
         // Link each recipe component to the recipe
         recipe.getIngredients().forEach(ingredient -> ingredient.setRecipe(recipe));
+        recipe.getIngredients().forEach(this::resolveTerm);
         recipe.getNutritionalValues().forEach(nutritionalValue -> nutritionalValue.setRecipe(recipe));
         recipe.getSteps().forEach(step -> step.setRecipe(recipe));
         recipe.getTools().forEach(tool -> tool.setRecipe(recipe));
         recipe.getTags().forEach(tag -> tag.setRecipe(recipe));
+        recipe.setTagMask(tagMaskOf(recipe.getTags()));
+        recipe.setTimeMinutes(CookingTimeParser.parseMinutes(recipe.getTime()));
+        if (storageMode == RecipeStorageMode.DOCUMENT) {
+            recipe.moveComponentsToDocument();
+        }
 
-        return recipeRepository.save(recipe);
+        Recipe savedRecipe = recipeRepository.save(recipe);
+        eventPublisher.publishEvent(RecipeChangedEvent.saved(savedRecipe));
+        return savedRecipe;
     }
 
     /**
@@ -88,6 +224,7 @@ public class RecipeService {
      * @return the updated recipe
      * @throws RuntimeException if the recipe does not belong to the user or is not found
      */
+    @Transactional
     public Recipe updateRecipe(Long id, Recipe recipeDetails, User user) {
         Recipe recipe = getRecipeById(id);
 
@@ -96,38 +233,85 @@ public class RecipeService {
             throw new RuntimeException("You are not authorized to update this recipe.");
         }
 
+        // An uploaded image stays attached only as long as the client keeps its URL
+        String releasedImageHash = null;
+        if (recipe.getImageHash() != null && !Objects.equals(recipe.getImageUrl(), recipeDetails.getImageUrl())) {
+            releasedImageHash = recipe.getImageHash();
+            recipe.setImageHash(null);
+        }
+
         recipe.setTitle(recipeDetails.getTitle());
         recipe.setDescription(recipeDetails.getDescription());
         recipe.setImageUrl(recipeDetails.getImageUrl());
         recipe.setFavorite(recipeDetails.getFavorite());
         recipe.setTime(recipeDetails.getTime());
+        recipe.setTimeMinutes(CookingTimeParser.parseMinutes(recipeDetails.getTime()));
         recipe.setSourceUrl(recipeDetails.getSourceUrl());
         recipe.setServings(recipeDetails.getServings());
         recipe.setPortionSize(recipeDetails.getPortionSize());
 
-        // Clear existing components and re-add updated ones
-        recipe.getIngredients().clear();
-        recipe.getNutritionalValues().clear();
-        recipe.getSteps().clear();
-        recipe.getTools().clear();
-        recipe.getTags().clear();
+        // Replace the existing components with the updated ones
+        recipeDetails.getIngredients().forEach(this::resolveTerm);
+        if (storageMode == RecipeStorageMode.DOCUMENT) {
+            recipe.storeComponentsAsDocument(RecipeComponents.of(recipeDetails.getIngredients(),
+                    recipeDetails.getNutritionalValues(), recipeDetails.getSteps(),
+                    recipeDetails.getTools(), recipeDetails.getTags()));
+        } else {
+            recipe.clearComponents();
+            recipeDetails.getIngredients().forEach(recipe::addIngredient);
+            recipeDetails.getNutritionalValues().forEach(recipe::addNutritionalValue);
+            recipeDetails.getSteps().forEach(recipe::addStep);
+            recipeDetails.getTools().forEach(recipe::addTool);
+            recipeDetails.getTags().forEach(recipe::addTag);
+        }
+        recipe.setTagMask(tagMaskOf(recipe.getTags()));
+
+        Recipe savedRecipe = recipeRepository.save(recipe);
+        if (releasedImageHash != null) {
+            blobStore.release(releasedImageHash);
+        }
+        eventPublisher.publishEvent(RecipeChangedEvent.saved(savedRecipe));
+        return savedRecipe;
+    }
+
+    /**
+     * Makes an uploaded image the image of a recipe, releasing the previously uploaded one.
+     *
+     * @param id        the ID of the recipe
+     * @param imageHash the hash of the image in the blob store, already referenced for this recipe
+     * @param user      the user attempting to change the recipe
+     * @return the updated recipe
+     * @throws RuntimeException if the recipe does not belong to the user or is not found
+     */
+    @Transactional
+    public Recipe attachImage(Long id, String imageHash, User user) {
+        Recipe recipe = getRecipeById(id);
 
-        recipeDetails.getIngredients().forEach(recipe::addIngredient);
-        recipeDetails.getNutritionalValues().forEach(recipe::addNutritionalValue);
-        recipeDetails.getSteps().forEach(recipe::addStep);
-        recipeDetails.getTools().forEach(recipe::addTool);
-        recipeDetails.getTags().forEach(recipe::addTag);
+        // Verify ownership
+        if (!recipe.getUser().getId().equals(user.getId())) {
+            throw new RuntimeException("You are not authorized to update this recipe.");
+        }
 
-        return recipeRepository.save(recipe);
+        String previousImageHash = recipe.getImageHash();
+        recipe.setImageHash(imageHash);
+        recipe.setImageUrl(ImageUrls.original(imageHash));
+
+        Recipe savedRecipe = recipeRepository.save(recipe);
+        if (previousImageHash != null) {
+            blobStore.release(previousImageHash);
+        }
+        eventPublisher.publishEvent(RecipeChangedEvent.saved(savedRecipe));
+        return savedRecipe;
     }
 
     /**
-     * Deletes a recipe for the specified user.
+     * Deletes a recipe for the specified user, together with the meal plan entries using it.
      *
      * @param id   the ID of the recipe to delete
      * @param user the user attempting to delete the recipe
      * @throws RuntimeException if the recipe does not belong to the user or is not found
      */
+    @Transactional
     public void deleteRecipe(Long id, User user) {
         Recipe recipe = getRecipeById(id);
 
@@ -136,6 +320,112 @@ public class RecipeService {
             throw new RuntimeException("You are not authorized to delete this recipe.");
         }
 
+        recipeRepository.deleteMealPlanEntriesByRecipeIds(List.of(id));
         recipeRepository.delete(recipe);
+        if (recipe.getImageHash() != null) {
+            blobStore.release(recipe.getImageHash());
+        }
+        syncService.recordDeletion(user.getId(), SyncEntityType.RECIPE, id);
+        eventPublisher.publishEvent(RecipeChangedEvent.deleted(user.getId(), id));
+    }
+
+    /**
+     * Applies an operation to several recipes of a user in one transaction.
+     * <p>
+     * Recipes are changed with one set-based statement per table rather than loaded one by one.
+     * Recipes already in the requested state are left untouched. The changed or deleted recipes
+     * are announced together in one {@link BulkRecipeChangedEvent}.
+     * </p>
+     *
+     * @param request the operation and the recipe IDs
+     * @param user    the user owning the recipes
+     * @return the outcome per requested recipe; recipes of other users are reported as not found
+     * @throws IllegalArgumentException if a tag operation has no tag
+     */
+    @Transactional
+    public BulkRecipeResult applyBulkOperation(BulkRecipeRequest request, User user) {
+        Long userId = user.getId();
+        Set<Long> requested = new LinkedHashSet<>(request.recipeIds());
+        TagType tag = request.tag();
+        if ((request.operation() == BulkRecipeOperation.ADD_TAG
+                || request.operation() == BulkRecipeOperation.REMOVE_TAG) && tag == null) {
+            throw new IllegalArgumentException("The tag operations need a tag.");
+        }
+
+        Set<Long> owned = requested.isEmpty()
+                ? Set.of()
+                : new HashSet<>(recipeRepository.findOwnedIds(userId, requested));
+        if (!owned.isEmpty()) {
+            // The set-based updates draw change_seq values in SQL
+            changeSequence.lease();
+        }
+        List<Long> changed = owned.isEmpty() ? List.of() : switch (request.operation()) {
+            case DELETE -> new ArrayList<>(owned);
+            case FAVORITE, UNFAVORITE -> {
+                boolean favorite = request.operation() == BulkRecipeOperation.FAVORITE;
+                List<Long> ids = recipeRepository.findOwnedIdsWithFavoriteNot(userId, owned, favorite);
+                if (!ids.isEmpty()) {
+                    recipeRepository.updateFavorite(ids, favorite);
+                }
+                yield ids;
+            }
+            case ADD_TAG -> {
+                List<Long> ids = recipeRepository.findOwnedIdsByTagBit(userId, owned, tag.bit(), false);
+                if (!ids.isEmpty()) {
+                    recipeRepository.insertTags(ids, tag.name());
+                    recipeRepository.addDocumentTags(ids, tag.name());
+                    recipeRepository.updateTagMaskBits(ids, tag.bit(), 0L);
+                }
+                yield ids;
+            }
+            case REMOVE_TAG -> {
+                List<Long> ids = recipeRepository.findOwnedIdsByTagBit(userId, owned, tag.bit(), true);
+                if (!ids.isEmpty()) {
+                    recipeRepository.deleteTags(ids, tag);
+                    recipeRepository.removeDocumentTags(ids, tag.name());
+                    recipeRepository.updateTagMaskBits(ids, 0L, tag.bit());
+                }
+                yield ids;
+            }
+        };
+
+        boolean deleted = request.operation() == BulkRecipeOperation.DELETE;
+        if (deleted && !changed.isEmpty()) {
+            recipeRepository.deleteAllWithComponents(changed);
+            syncService.recordDeletions(userId, SyncEntityType.RECIPE, changed);
+        }
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new BulkRecipeChangedEvent(userId, List.copyOf(changed), request.operation()));
+        }
+
+        Set<Long> changedIds = new HashSet<>(changed);
+        BulkRecipeResult.Status changedStatus = deleted ? BulkRecipeResult.Status.DELETED : BulkRecipeResult.Status.UPDATED;
+        return new BulkRecipeResult(requested.stream()
+                .map(recipeId -> new BulkRecipeResult.Item(recipeId,
+                        !owned.contains(recipeId) ? BulkRecipeResult.Status.NOT_FOUND
+                                : changedIds.contains(recipeId) ? changedStatus
+                                : BulkRecipeResult.Status.UNCHANGED))
+                .toList());
+    }
+
+    /**
+     * Helper method to replace an ingredient's free-text title by its dictionary term.
+     *
+     * @param ingredient the ingredient as submitted
+     */
+    private void resolveTerm(Ingredient ingredient) {
+        if (ingredient.getTerm() == null) {
+            ingredient.setTerm(ingredientDictionary.resolve(ingredient.getTitle()));
+        }
+    }
+
+    /**
+     * Helper method to compute the tag mask of a recipe's tags.
+     *
+     * @param tags the tags of the recipe
+     * @return the tag mask
+     */
+    private static long tagMaskOf(List<Tag> tags) {
+        return TagType.maskOf(tags.stream().map(Tag::getTagType).toList());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.barriquebackend.recipevault.recipe;
+
+import java.util.Locale;
+
+/**
+ * The properties the recipe list can be sorted by.
+ */
+public enum RecipeSortKey {
+    TIME("timeMinutes"),
+    TITLE("title"),
+    UPDATED("updatedAt");
+
+    private final String property;
+
+    RecipeSortKey(String property) {
+        this.property = property;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    /**
+     * Looks up a sort key by its request parameter value, e.g. "time".
+     *
+     * @param parameter the parameter value
+     * @return the sort key, or null if there is none with that name
+     */
+    public static RecipeSortKey fromParameter(String parameter) {
+        for (RecipeSortKey key : values()) {
+            if (key.name().equals(parameter.strip().toUpperCase(Locale.ROOT))) {
+                return key;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,113 @@
+package com.barriquebackend.recipevault.recipe;
+
+import com.barriquebackend.recipevault.ingredient.IngredientTerm;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Moves the components of existing recipes to the configured {@link RecipeStorageMode}.
+ * <p>
+ * Runs at startup in chunks of {@code recipe.storage.migration-chunk-size} recipes, each in its
+ * own transaction, so switching the mode in either direction converts all recipes once.
+ * Reads work for recipes in both layouts, so the application stays usable while it runs.
+ * </p>
+ * <p>
+ * A chunk that collides with a concurrent edit is retried one recipe at a time. A recipe that
+ * still cannot be moved is skipped and logged, and it is picked up again on the next startup.
+ * </p>
+ */
+@Component
+public class RecipeStorageMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeStorageMigration.class);
+
+    private final RecipeRepository recipeRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final RecipeStorageMode storageMode;
+    private final int chunkSize;
+
+    /**
+     * Constructs a RecipeStorageMigration.
+     *
+     * @param recipeRepository   the repository used to find and load the recipes to move
+     * @param entityManager      the entity manager used to reference dictionary terms
+     * @param transactionManager the transaction manager used for each chunk
+     * @param storageMode        the storage mode to move the recipes to
+     * @param chunkSize          the number of recipes moved per transaction
+     */
+    public RecipeStorageMigration(RecipeRepository recipeRepository, EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${recipe.storage.mode:TABLES}") RecipeStorageMode storageMode,
+                                  @Value("${recipe.storage.migration-chunk-size:200}") int chunkSize) {
+        this.recipeRepository = recipeRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.storageMode = storageMode;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Moves the components of all recipes not yet stored in the configured mode at startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        int migrated = 0;
+        int skipped = 0;
+        long afterId = 0;
+        try {
+            List<Long> recipeIds;
+            while (!(recipeIds = findIdsToMigrate(afterId)).isEmpty()) {
+                List<Long> chunk = recipeIds;
+                afterId = chunk.get(chunk.size() - 1);
+                try {
+                    move(chunk);
+                    migrated += chunk.size();
+                } catch (OptimisticLockingFailureException e) {
+                    for (Long recipeId : chunk) {
+                        try {
+                            move(List.of(recipeId));
+                            migrated++;
+                        } catch (OptimisticLockingFailureException conflict) {
+                            log.warn("Skipped moving recipe {} to {} storage, it was changed concurrently", recipeId, storageMode);
+                            skipped++;
+                        }
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Moving recipe components to {} storage stopped after {} recipes", storageMode, migrated, e);
+            return;
+        }
+        if (migrated > 0 || skipped > 0) {
+            log.info("Moved the components of {} recipes to {} storage, skipped {}", migrated, storageMode, skipped);
+        }
+    }
+
+    private void move(List<Long> recipeIds) {
+        transactionTemplate.executeWithoutResult(status -> recipeRepository.findAllById(recipeIds).forEach(recipe -> {
+            if (storageMode == RecipeStorageMode.DOCUMENT) {
+                recipe.moveComponentsToDocument();
+            } else {
+                recipe.moveComponentsToTables(termId -> entityManager.getReference(IngredientTerm.class, termId));
+            }
+        }));
+    }
+
+    private List<Long> findIdsToMigrate(long afterId) {
+        return storageMode == RecipeStorageMode.DOCUMENT
+                ? recipeRepository.findIdsStoredInTables(afterId, Limit.of(chunkSize))
+                : recipeRepository.findIdsStoredAsDocument(afterId, Limit.of(chunkSize));
+    }
+}
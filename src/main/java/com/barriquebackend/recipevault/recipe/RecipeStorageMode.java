@@ -0,0 +1,17 @@
+package com.barriquebackend.recipevault.recipe;
+
+/**
+ * Where the components of a recipe (ingredients, nutritional values, steps, tools and tags) are stored.
+ * Selected with the {@code recipe.storage.mode} property.
+ */
+public enum RecipeStorageMode {
+    /**
+     * One row per component in the ingredient, nutritional_value, recipe_step, tool and tag tables.
+     */
+    TABLES,
+
+    /**
+     * A single JSONB document in the components column of the recipe row.
+     */
+    DOCUMENT
+}
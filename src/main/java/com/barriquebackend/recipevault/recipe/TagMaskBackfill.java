@@ -0,0 +1,74 @@
+package com.barriquebackend.recipevault.recipe;
+
+import com.barriquebackend.recipevault.recipe.components.tag.TagType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the tag mask of recipes that were tagged before the mask existed.
+ * <p>
+ * Only recipes with an empty mask and at least one tag are touched, so once every
+ * recipe has been backfilled this costs a single empty query per startup. Recipes are
+ * processed in chunks of {@value #CHUNK_SIZE}, each in its own transaction, with one
+ * update per distinct mask in the chunk.
+ * </p>
+ */
+@Component
+public class TagMaskBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(TagMaskBackfill.class);
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final RecipeRepository recipeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructs a TagMaskBackfill.
+     *
+     * @param recipeRepository   the repository used to read tags and write masks
+     * @param transactionManager the transaction manager used for each chunk
+     */
+    public TagMaskBackfill(RecipeRepository recipeRepository, PlatformTransactionManager transactionManager) {
+        this.recipeRepository = recipeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Computes the masks of all tagged recipes without one at startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int backfilled = 0;
+        long afterId = 0;
+        List<Long> recipeIds;
+        while (!(recipeIds = recipeRepository.findUnmaskedTaggedIds(afterId, Limit.of(CHUNK_SIZE))).isEmpty()) {
+            List<Long> chunk = recipeIds;
+            afterId = chunk.get(chunk.size() - 1);
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<Long, Long> masks = new HashMap<>();
+                for (Object[] row : recipeRepository.findTagTypesByRecipeIds(chunk)) {
+                    masks.merge((Long) row[0], ((TagType) row[1]).bit(), (a, b) -> a | b);
+                }
+                Map<Long, List<Long>> recipeIdsByMask = new HashMap<>();
+                masks.forEach((recipeId, mask) -> recipeIdsByMask.computeIfAbsent(mask, key -> new ArrayList<>()).add(recipeId));
+                recipeIdsByMask.forEach((mask, ids) -> recipeRepository.updateTagMask(ids, mask));
+            });
+            backfilled += chunk.size();
+        }
+        if (backfilled > 0) {
+            log.info("Backfilled tag masks of {} recipes", backfilled);
+        }
+    }
+}
@@ -1,16 +1,28 @@
 package com.barriquebackend.recipevault.recipe.components;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.barriquebackend.recipevault.ingredient.IngredientTerm;
 import com.barriquebackend.recipevault.recipe.Recipe;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ingredient")
 public class Ingredient {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long ingredientId;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "term_id")
+    @JsonIgnore
+    private IngredientTerm term;
+
+    // Only set until RecipeService resolves the submitted title to a term.
     private String title;
     private Double amount;
     private String unit;
@@ -29,11 +41,21 @@ public class Ingredient {
     }
 
     public String getTitle() {
-        return title;
+        return term != null ? term.getName() : title;
     }
 
     public void setTitle(String title) {
         this.title = title;
+        this.term = null;
+    }
+
+    public IngredientTerm getTerm() {
+        return term;
+    }
+
+    public void setTerm(IngredientTerm term) {
+        this.term = term;
+        this.title = null;
     }
 
     public Double getAmount() {
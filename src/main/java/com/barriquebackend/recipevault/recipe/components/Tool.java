@@ -3,8 +3,12 @@ package com.barriquebackend.recipevault.recipe.components;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.barriquebackend.recipevault.recipe.Recipe;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tool")
 public class Tool {
 
     @Id
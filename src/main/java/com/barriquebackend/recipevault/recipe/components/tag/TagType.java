@@ -1,5 +1,15 @@
 package com.barriquebackend.recipevault.recipe.components.tag;
 
+import java.util.Collection;
+
+/**
+ * The tags a recipe can carry.
+ * <p>
+ * Each constant owns the bit {@code 1 << ordinal()} of {@code Recipe.tagMask}, which is stored
+ * in the database. New constants must therefore only be appended, never inserted or reordered,
+ * and there is room for 64 of them.
+ * </p>
+ */
 public enum TagType {
     // Nutrition tags
     MEAT,
@@ -28,6 +38,33 @@ public enum TagType {
     GLUTEN_FREE,
     PALEO,
     LOW_SUGAR,
-    CLEAN_EATING
+    CLEAN_EATING;
+
+    /**
+     * Returns the bit of this tag in a tag mask.
+     *
+     * @return the single-bit mask of this tag
+     */
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Combines tag types into a tag mask.
+     *
+     * @param tagTypes the tag types, may contain null
+     * @return the mask with the bits of all given tag types set
+     */
+    public static long maskOf(Collection<TagType> tagTypes) {
+        long mask = 0L;
+        if (tagTypes != null) {
+            for (TagType tagType : tagTypes) {
+                if (tagType != null) {
+                    mask |= tagType.bit();
+                }
+            }
+        }
+        return mask;
+    }
 }
 
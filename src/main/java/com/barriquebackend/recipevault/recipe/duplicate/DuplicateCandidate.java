@@ -0,0 +1,11 @@
+package com.barriquebackend.recipevault.recipe.duplicate;
+
+/**
+ * A recipe that is possibly a duplicate of another one.
+ *
+ * @param recipeId   the ID of the possible duplicate
+ * @param title      its title
+ * @param similarity the estimated similarity of the two recipes' text, between 0 and 1
+ */
+public record DuplicateCandidate(long recipeId, String title, double similarity) {
+}
@@ -0,0 +1,287 @@
+package com.barriquebackend.recipevault.recipe.duplicate;
+
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.recipevault.recipe.RecipeChangedEvent;
+import com.barriquebackend.recipevault.recipe.RecipeRepository;
+import com.barriquebackend.recipevault.recipe.components.Ingredient;
+import com.barriquebackend.recipevault.recipe.components.RecipeStep;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service class for finding near-duplicate recipes.
+ * <p>
+ * Every saved recipe gets a {@link MinHash} signature and one LSH bucket row per signature band.
+ * Candidates are the recipes sharing a bucket, found through the (user_id, band_key) index
+ * without looking at the user's other recipes; they are confirmed by comparing signatures.
+ * </p>
+ * <p>
+ * Recipe changes only mark the recipe as pending, so a failure here never fails the save. A
+ * background job picks up the pending recipes every few seconds and recomputes their signatures
+ * and buckets, {@value #CHUNK_SIZE} recipes per transaction.
+ * </p>
+ */
+@Service
+public class DuplicateDetectionService {
+
+    private static final Logger log = LoggerFactory.getLogger(DuplicateDetectionService.class);
+
+    static final double SIMILARITY_THRESHOLD = 0.7;
+    private static final int MAX_CANDIDATE_PAIRS = 1000;
+    private static final int CHUNK_SIZE = 200;
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeSignatureRepository signatureRepository;
+    private final RecipeLshBucketRepository bucketRepository;
+    private final TransactionTemplate transactionTemplate;
+    // Changed or deleted recipe IDs waiting for the background job.
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a DuplicateDetectionService.
+     *
+     * @param recipeRepository    the repository used to load recipes
+     * @param signatureRepository the repository for recipe signatures
+     * @param bucketRepository    the repository for LSH buckets
+     * @param transactionManager  the transaction manager used by the background job and the backfill
+     */
+    public DuplicateDetectionService(RecipeRepository recipeRepository,
+                                     RecipeSignatureRepository signatureRepository,
+                                     RecipeLshBucketRepository bucketRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.recipeRepository = recipeRepository;
+        this.signatureRepository = signatureRepository;
+        this.bucketRepository = bucketRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Finds the user's recipes that are possibly duplicates of a recipe that has not been saved yet.
+     *
+     * @param userId the ID of the user
+     * @param recipe the recipe about to be saved
+     * @return the possible duplicates, most similar first
+     */
+    @Transactional(readOnly = true)
+    public List<DuplicateCandidate> findDuplicatesOf(Long userId, Recipe recipe) {
+        int[] signature = signatureOf(recipe);
+        if (signature == null) {
+            return List.of();
+        }
+        List<Long> bandKeys = new ArrayList<>(MinHash.BANDS);
+        for (long key : MinHash.bandKeys(signature)) {
+            bandKeys.add(key);
+        }
+        List<Long> candidateIds = new ArrayList<>(bucketRepository.findRecipeIdsInBuckets(userId, bandKeys));
+        if (recipe.getRecipeId() != null) {
+            candidateIds.remove(recipe.getRecipeId());
+        }
+        if (candidateIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Double> similarities = new HashMap<>();
+        for (RecipeSignature candidate : signatureRepository.findAllByRecipeIdIn(candidateIds)) {
+            double similarity = MinHash.similarity(signature, MinHash.decode(candidate.getSignature()));
+            if (similarity >= SIMILARITY_THRESHOLD) {
+                similarities.put(candidate.getRecipeId(), similarity);
+            }
+        }
+        Map<Long, String> titles = titlesOf(similarities.keySet());
+        List<DuplicateCandidate> duplicates = new ArrayList<>();
+        similarities.forEach((id, similarity) -> duplicates.add(new DuplicateCandidate(id, titles.get(id), similarity)));
+        duplicates.sort(Comparator.comparingDouble(DuplicateCandidate::similarity).reversed());
+        return duplicates;
+    }
+
+    /**
+     * Finds all pairs of the user's recipes that are possibly duplicates of each other.
+     *
+     * @param userId the ID of the user
+     * @return the pairs, most similar first
+     */
+    @Transactional(readOnly = true)
+    public List<DuplicatePair> findDuplicatePairs(Long userId) {
+        List<Object[]> candidatePairs = bucketRepository.findCandidatePairs(userId, MAX_CANDIDATE_PAIRS);
+        if (candidatePairs.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> recipeIds = new HashSet<>();
+        for (Object[] pair : candidatePairs) {
+            recipeIds.add(((Number) pair[0]).longValue());
+            recipeIds.add(((Number) pair[1]).longValue());
+        }
+        Map<Long, int[]> signatures = new HashMap<>();
+        for (RecipeSignature signature : signatureRepository.findAllByRecipeIdIn(recipeIds)) {
+            signatures.put(signature.getRecipeId(), MinHash.decode(signature.getSignature()));
+        }
+
+        List<long[]> confirmed = new ArrayList<>();
+        List<Double> similarities = new ArrayList<>();
+        Set<Long> confirmedIds = new HashSet<>();
+        for (Object[] pair : candidatePairs) {
+            long first = ((Number) pair[0]).longValue();
+            long second = ((Number) pair[1]).longValue();
+            int[] a = signatures.get(first);
+            int[] b = signatures.get(second);
+            if (a == null || b == null) {
+                continue;
+            }
+            double similarity = MinHash.similarity(a, b);
+            if (similarity >= SIMILARITY_THRESHOLD) {
+                confirmed.add(new long[]{first, second});
+                similarities.add(similarity);
+                confirmedIds.add(first);
+                confirmedIds.add(second);
+            }
+        }
+
+        Map<Long, String> titles = titlesOf(confirmedIds);
+        List<DuplicatePair> pairs = new ArrayList<>(confirmed.size());
+        for (int i = 0; i < confirmed.size(); i++) {
+            long first = confirmed.get(i)[0];
+            long second = confirmed.get(i)[1];
+            double similarity = similarities.get(i);
+            pairs.add(new DuplicatePair(new DuplicateCandidate(first, titles.get(first), similarity),
+                    new DuplicateCandidate(second, titles.get(second), similarity), similarity));
+        }
+        pairs.sort(Comparator.comparingDouble(DuplicatePair::similarity).reversed());
+        return pairs;
+    }
+
+    /**
+     * Marks a changed or deleted recipe for the background job.
+     *
+     * @param event the recipe change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        pending.add(event.recipeId());
+    }
+
+    /**
+     * Recomputes the signatures and buckets of the pending recipes, or removes them for deleted recipes.
+     * If a chunk fails, its recipes are retried one by one so that only the failing ones are skipped.
+     */
+    @Scheduled(fixedDelay = 5_000)
+    public void processPending() {
+        List<Long> recipeIds = new ArrayList<>(pending);
+        pending.removeAll(recipeIds);
+        for (int from = 0; from < recipeIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = recipeIds.subList(from, Math.min(from + CHUNK_SIZE, recipeIds.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> update(chunk));
+            } catch (RuntimeException e) {
+                log.warn("Could not update duplicate detection of recipes {}, retrying them one by one", chunk, e);
+                for (Long recipeId : chunk) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> update(List.of(recipeId)));
+                    } catch (RuntimeException recipeFailure) {
+                        log.warn("Could not update duplicate detection of recipe {}", recipeId, recipeFailure);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes signatures for recipes saved before duplicate detection existed.
+     * A chunk that fails is skipped and logged; its recipes are picked up again at the next start.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int indexed = 0;
+        long afterId = 0;
+        List<Long> recipeIds;
+        while (!(recipeIds = signatureRepository.findRecipeIdsWithoutSignature(afterId, Limit.of(CHUNK_SIZE))).isEmpty()) {
+            List<Long> chunk = recipeIds;
+            afterId = chunk.get(chunk.size() - 1);
+            try {
+                transactionTemplate.executeWithoutResult(status -> recipeRepository.findAllById(chunk).forEach(this::index));
+                indexed += chunk.size();
+            } catch (RuntimeException e) {
+                log.warn("Could not compute duplicate detection signatures of recipes {}", chunk, e);
+            }
+        }
+        if (indexed > 0) {
+            log.info("Computed duplicate detection signatures of {} recipes", indexed);
+        }
+    }
+
+    private void update(List<Long> recipeIds) {
+        Set<Long> removedIds = new HashSet<>(recipeIds);
+        for (Recipe recipe : recipeRepository.findAllById(recipeIds)) {
+            removedIds.remove(recipe.getRecipeId());
+            index(recipe);
+        }
+        if (!removedIds.isEmpty()) {
+            remove(List.copyOf(removedIds));
+        }
+    }
+
+    private void index(Recipe recipe) {
+        remove(List.of(recipe.getRecipeId()));
+        int[] signature = signatureOf(recipe);
+        Long userId = recipe.getUser().getId();
+        // Recipes without text get an empty signature row and no buckets, so the backfill skips them.
+        signatureRepository.save(new RecipeSignature(recipe.getRecipeId(), userId,
+                signature != null ? MinHash.encode(signature) : new byte[0]));
+        if (signature == null) {
+            return;
+        }
+        List<RecipeLshBucket> buckets = new ArrayList<>(MinHash.BANDS);
+        for (long key : MinHash.bandKeys(signature)) {
+            buckets.add(new RecipeLshBucket(userId, recipe.getRecipeId(), key));
+        }
+        bucketRepository.saveAll(buckets);
+    }
+
+    private void remove(List<Long> recipeIds) {
+        bucketRepository.deleteByRecipeIds(recipeIds);
+        signatureRepository.deleteByRecipeIds(recipeIds);
+    }
+
+    private Map<Long, String> titlesOf(Set<Long> recipeIds) {
+        Map<Long, String> titles = new HashMap<>();
+        if (!recipeIds.isEmpty()) {
+            for (Object[] row : recipeRepository.findTitlesByRecipeIds(recipeIds)) {
+                titles.put((Long) row[0], (String) row[1]);
+            }
+        }
+        return titles;
+    }
+
+    private static int[] signatureOf(Recipe recipe) {
+        List<String> ingredients = new ArrayList<>();
+        if (recipe.getIngredients() != null) {
+            for (Ingredient ingredient : recipe.getIngredients()) {
+                ingredients.add(ingredient.getTitle());
+            }
+        }
+        List<String> steps = new ArrayList<>();
+        if (recipe.getSteps() != null) {
+            for (RecipeStep step : recipe.getSteps()) {
+                steps.add(step.getStepDescription());
+            }
+        }
+        return MinHash.signature(MinHash.shingles(recipe.getTitle(), ingredients, steps));
+    }
+}
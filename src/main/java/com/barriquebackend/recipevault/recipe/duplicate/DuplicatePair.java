@@ -0,0 +1,11 @@
+package com.barriquebackend.recipevault.recipe.duplicate;
+
+/**
+ * Two recipes of a user that are possibly duplicates of each other.
+ *
+ * @param first      the recipe with the lower ID
+ * @param second     the recipe with the higher ID
+ * @param similarity the estimated similarity of the two recipes' text, between 0 and 1
+ */
+public record DuplicatePair(DuplicateCandidate first, DuplicateCandidate second, double similarity) {
+}
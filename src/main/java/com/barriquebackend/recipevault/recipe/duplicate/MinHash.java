@@ -0,0 +1,176 @@
+package com.barriquebackend.recipevault.recipe.duplicate;
+
+import java.nio.ByteBuffer;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * MinHash signatures and locality-sensitive hashing over the text of a recipe.
+ * <p>
+ * A recipe is reduced to shingles: its normalized title, each normalized ingredient title, and
+ * every three consecutive words of its steps. The signature holds, for each of {@value #SIZE}
+ * hash functions, the minimum hash over all shingles; the share of equal positions in two
+ * signatures estimates the Jaccard similarity of their shingle sets.
+ * </p>
+ * <p>
+ * For candidate search the signature is split into {@value #BANDS} bands of {@value #ROWS}
+ * values, each hashed to one bucket key. Two recipes share at least one bucket with
+ * probability {@code 1 - (1 - s^ROWS)^BANDS} for similarity s: about 0.98 at s = 0.7 and
+ * 0.05 at s = 0.25.
+ * </p>
+ */
+final class MinHash {
+
+    static final int BANDS = 16;
+    static final int ROWS = 4;
+    static final int SIZE = BANDS * ROWS;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int STEP_SHINGLE_WORDS = 3;
+
+    private MinHash() {
+    }
+
+    /**
+     * Builds the shingle set of a recipe.
+     *
+     * @param title       the recipe title
+     * @param ingredients the ingredient titles
+     * @param steps       the step descriptions
+     * @return the distinct shingles, empty if the recipe has no text
+     */
+    static Set<String> shingles(String title, Collection<String> ingredients, Collection<String> steps) {
+        Set<String> shingles = new HashSet<>();
+        addPhrase(shingles, "t:", title);
+        for (String ingredient : ingredients) {
+            addPhrase(shingles, "i:", ingredient);
+        }
+        for (String step : steps) {
+            List<String> words = words(step);
+            if (words.size() < STEP_SHINGLE_WORDS) {
+                addPhrase(shingles, "s:", String.join(" ", words));
+                continue;
+            }
+            for (int i = 0; i + STEP_SHINGLE_WORDS <= words.size(); i++) {
+                shingles.add("s:" + String.join(" ", words.subList(i, i + STEP_SHINGLE_WORDS)));
+            }
+        }
+        return shingles;
+    }
+
+    /**
+     * Computes the MinHash signature of a shingle set.
+     *
+     * @param shingles the shingles
+     * @return the signature, or null for an empty set
+     */
+    static int[] signature(Set<String> shingles) {
+        if (shingles.isEmpty()) {
+            return null;
+        }
+        int[] signature = new int[SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String shingle : shingles) {
+            long base = fnv1a(shingle);
+            for (int i = 0; i < SIZE; i++) {
+                int hash = (int) mix(base + (i + 1) * 0x9E3779B97F4A7C15L);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Computes the LSH bucket key of every band of a signature.
+     *
+     * @param signature the signature
+     * @return one key per band
+     */
+    static long[] bandKeys(int[] signature) {
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band;
+            for (int row = 0; row < ROWS; row++) {
+                key = mix(key * 31 + signature[band * ROWS + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+
+    /**
+     * Estimates the Jaccard similarity of the shingle sets behind two signatures.
+     *
+     * @return the share of equal positions, between 0 and 1
+     */
+    static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIZE;
+    }
+
+    static byte[] encode(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(SIZE * Integer.BYTES);
+        buffer.asIntBuffer().put(signature);
+        return buffer.array();
+    }
+
+    static int[] decode(byte[] bytes) {
+        int[] signature = new int[SIZE];
+        ByteBuffer.wrap(bytes).asIntBuffer().get(signature);
+        return signature;
+    }
+
+    private static void addPhrase(Set<String> shingles, String prefix, String text) {
+        List<String> words = words(text);
+        if (!words.isEmpty()) {
+            shingles.add(prefix + String.join(" ", words));
+        }
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String word : NON_WORD.split(normalized)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static long fnv1a(String text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
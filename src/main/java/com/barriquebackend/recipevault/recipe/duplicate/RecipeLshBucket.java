@@ -0,0 +1,53 @@
+package com.barriquebackend.recipevault.recipe.duplicate;
+
+import jakarta.persistence.*;
+
+/**
+ * Membership of a recipe in the LSH bucket of one signature band.
+ */
+@Entity
+@Table(name = "recipe_lsh_bucket", indexes = {
+        @Index(name = "idx_recipe_lsh_bucket_user_key", columnList = "user_id, band_key"),
+        @Index(name = "idx_recipe_lsh_bucket_recipe", columnList = "recipe_id")
+})
+public class RecipeLshBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long bucketId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "recipe_id", nullable = false)
+    private Long recipeId;
+
+    @Column(name = "band_key", nullable = false)
+    private long bandKey;
+
+    protected RecipeLshBucket() {
+    }
+
+    public RecipeLshBucket(Long userId, Long recipeId, long bandKey) {
+        this.userId = userId;
+        this.recipeId = recipeId;
+        this.bandKey = bandKey;
+    }
+
+    // Getters
+    public Long getBucketId() {
+        return bucketId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getRecipeId() {
+        return recipeId;
+    }
+
+    public long getBandKey() {
+        return bandKey;
+    }
+}
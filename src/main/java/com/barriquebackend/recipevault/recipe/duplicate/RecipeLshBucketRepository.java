@@ -0,0 +1,29 @@
+package com.barriquebackend.recipevault.recipe.duplicate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RecipeLshBucketRepository extends JpaRepository<RecipeLshBucket, Long> {
+
+    // Recipes of the user sharing at least one bucket with the given keys.
+    @Query("select distinct b.recipeId from RecipeLshBucket b where b.userId = :userId and b.bandKey in :bandKeys")
+    List<Long> findRecipeIdsInBuckets(@Param("userId") Long userId, @Param("bandKeys") Collection<Long> bandKeys);
+
+    // Pairs (lower ID, higher ID) of the user's recipes sharing at least one bucket.
+    @Query(value = "select distinct a.recipe_id, b.recipe_id from recipe_lsh_bucket a " +
+            "join recipe_lsh_bucket b on b.user_id = a.user_id and b.band_key = a.band_key and b.recipe_id > a.recipe_id " +
+            "where a.user_id = :userId limit :limit",
+            nativeQuery = true)
+    List<Object[]> findCandidatePairs(@Param("userId") Long userId, @Param("limit") int limit);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from RecipeLshBucket b where b.recipeId in :recipeIds")
+    int deleteByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+}
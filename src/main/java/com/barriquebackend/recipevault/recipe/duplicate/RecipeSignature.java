@@ -0,0 +1,42 @@
+package com.barriquebackend.recipevault.recipe.duplicate;
+
+import jakarta.persistence.*;
+
+/**
+ * The MinHash signature of a recipe, stored as {@value MinHash#SIZE} packed 32-bit values.
+ */
+@Entity
+@Table(name = "recipe_signature", indexes = @Index(name = "idx_recipe_signature_user", columnList = "user_id"))
+public class RecipeSignature {
+
+    @Id
+    private Long recipeId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private byte[] signature;
+
+    protected RecipeSignature() {
+    }
+
+    public RecipeSignature(Long recipeId, Long userId, byte[] signature) {
+        this.recipeId = recipeId;
+        this.userId = userId;
+        this.signature = signature;
+    }
+
+    // Getters
+    public Long getRecipeId() {
+        return recipeId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public byte[] getSignature() {
+        return signature;
+    }
+}
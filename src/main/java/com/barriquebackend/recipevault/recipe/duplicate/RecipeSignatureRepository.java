@@ -0,0 +1,24 @@
+package com.barriquebackend.recipevault.recipe.duplicate;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RecipeSignatureRepository extends JpaRepository<RecipeSignature, Long> {
+    List<RecipeSignature> findAllByRecipeIdIn(Collection<Long> recipeIds);
+
+    @Query("select r.recipeId from Recipe r where r.recipeId > :afterId and not exists " +
+            "(select 1 from RecipeSignature s where s.recipeId = r.recipeId) order by r.recipeId")
+    List<Long> findRecipeIdsWithoutSignature(@Param("afterId") long afterId, Limit limit);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from RecipeSignature s where s.recipeId in :recipeIds")
+    int deleteByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+}
@@ -0,0 +1,81 @@
+package com.barriquebackend.recipevault.recipe.export;
+
+import com.barriquebackend.user.User;
+import com.barriquebackend.user.UserRepository;
+import com.barriquebackend.web.ETags;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * REST controller for exporting the recipe vault of the authenticated user.
+ */
+@RestController
+@RequestMapping("/api")
+public class RecipeExportController {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final RecipeExportService recipeExportService;
+    private final UserRepository userRepository;
+
+    /**
+     * Constructs a RecipeExportController.
+     *
+     * @param recipeExportService the service writing archives
+     * @param userRepository      the repository for user data
+     */
+    public RecipeExportController(RecipeExportService recipeExportService, UserRepository userRepository) {
+        this.recipeExportService = recipeExportService;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Downloads all recipes and their uploaded images as a ZIP archive.
+     * <p>
+     * The archive is streamed to the client while it is read from the database, so it has no
+     * Content-Length. Answers 304 without reading any recipe if the If-None-Match header
+     * matches the aggregate version of the user's recipes.
+     * </p>
+     *
+     * @param ifNoneMatch    the If-None-Match header (optional)
+     * @param authentication the authentication token containing user details
+     * @param response       the HTTP response the archive is written to
+     * @throws IOException if the archive cannot be written
+     */
+    @GetMapping("/user/recipe/export")
+    public void exportRecipes(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                              Authentication authentication, HttpServletResponse response) throws IOException {
+        User user = getAuthenticatedUser(authentication);
+        String etag = recipeExportService.getExportVersion(user.getId()).toETag("recipe-export");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (ETags.matchesIfNoneMatch(ifNoneMatch, etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("recipes.zip").build().toString());
+        try (OutputStream out = new BufferedOutputStream(response.getOutputStream(), BUFFER_SIZE)) {
+            recipeExportService.exportRecipes(user.getId(), out);
+        }
+    }
+
+    /**
+     * Helper method to extract the authenticated user from the security context.
+     *
+     * @param authentication the authentication token containing user details
+     * @return the authenticated User
+     */
+    private User getAuthenticatedUser(Authentication authentication) {
+        String username = authentication.getName();
+        return userRepository.findByUsername(username);
+    }
+}
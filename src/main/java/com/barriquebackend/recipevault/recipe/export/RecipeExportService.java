@@ -0,0 +1,136 @@
+package com.barriquebackend.recipevault.recipe.export;
+
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.recipevault.recipe.RecipeRepository;
+import com.barriquebackend.storage.BlobStore;
+import com.barriquebackend.web.VersionStamp;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Service class for exporting a user's whole recipe vault as a ZIP archive.
+ * <p>
+ * The archive holds {@value #RECIPES_ENTRY}, one recipe per line in the JSON format of the
+ * recipe API (and of the bulk import), and every uploaded image under
+ * {@value #IMAGES_DIRECTORY} named by its hash, which is what the recipes' image URLs end with.
+ * </p>
+ * <p>
+ * Recipes are read through a database cursor and written as they arrive. The persistence
+ * context is cleared after every {@value #CHUNK_SIZE} recipes, so memory use does not grow
+ * with the size of the vault while the components of a chunk are still loaded with one
+ * batch query per component table.
+ * </p>
+ */
+@Service
+public class RecipeExportService {
+
+    static final String RECIPES_ENTRY = "recipes.ndjson";
+    static final String IMAGES_DIRECTORY = "images/";
+    private static final int CHUNK_SIZE = 100;
+
+    private final RecipeRepository recipeRepository;
+    private final BlobStore blobStore;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    /**
+     * Constructs a RecipeExportService.
+     *
+     * @param recipeRepository the repository for recipe data
+     * @param blobStore        the store holding uploaded images
+     * @param objectMapper     the mapper recipes are written with
+     * @param entityManager    the entity manager cleared between chunks
+     */
+    public RecipeExportService(RecipeRepository recipeRepository, BlobStore blobStore,
+                               ObjectMapper objectMapper, EntityManager entityManager) {
+        this.recipeRepository = recipeRepository;
+        this.blobStore = blobStore;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Retrieves the aggregate version of a user's recipes, from which the archive's entity tag
+     * is derived. Images need not be covered: they are immutable and only reach the archive
+     * through a recipe.
+     *
+     * @param userId the ID of the user
+     * @return the version stamp
+     */
+    public VersionStamp getExportVersion(Long userId) {
+        return recipeRepository.findVersionStampByUserId(userId);
+    }
+
+    /**
+     * Writes the archive of a user's recipes.
+     *
+     * @param userId the ID of the user
+     * @param out    the stream to write to; it is finished but not closed
+     * @throws IOException if writing fails, e.g. because the client went away
+     */
+    @Transactional(readOnly = true)
+    public void exportRecipes(Long userId, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        zip.putNextEntry(new ZipEntry(RECIPES_ENTRY));
+        try (Stream<Recipe> recipes = recipeRepository.streamAllByUserId(userId)) {
+            List<Recipe> chunk = new ArrayList<>(CHUNK_SIZE);
+            Iterator<Recipe> iterator = recipes.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    writeChunk(chunk, zip);
+                    chunk.clear();
+                }
+            }
+        }
+        zip.closeEntry();
+
+        // Images are compressed already; deflating them again costs time and saves nothing
+        zip.setLevel(Deflater.NO_COMPRESSION);
+        try (Stream<String> hashes = recipeRepository.streamImageHashesByUserId(userId)) {
+            Iterator<String> iterator = hashes.iterator();
+            while (iterator.hasNext()) {
+                String hash = iterator.next();
+                Path file = blobStore.path(hash);
+                if (Files.exists(file)) {
+                    zip.putNextEntry(new ZipEntry(IMAGES_DIRECTORY + hash));
+                    Files.copy(file, zip);
+                    zip.closeEntry();
+                }
+            }
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    private void writeChunk(List<Recipe> chunk, OutputStream out) throws IOException {
+        // Initializing the first recipe's collections batch-loads those of the whole chunk
+        for (Recipe recipe : chunk) {
+            Hibernate.initialize(recipe.getIngredients());
+            Hibernate.initialize(recipe.getNutritionalValues());
+            Hibernate.initialize(recipe.getSteps());
+            Hibernate.initialize(recipe.getTools());
+            Hibernate.initialize(recipe.getTags());
+        }
+        for (Recipe recipe : chunk) {
+            out.write(objectMapper.writeValueAsBytes(recipe));
+            out.write('\n');
+        }
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,134 @@
+package com.barriquebackend.recipevault.recipe.importer;
+
+import com.barriquebackend.user.User;
+import com.barriquebackend.user.UserRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * REST controller for importing many recipes at once.
+ * <p>
+ * An import is accepted with 202 and runs in the background; its progress, including the
+ * lines or pages that could not be imported, is polled with the returned job ID.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api")
+public class RecipeImportController {
+
+    private final RecipeImportService recipeImportService;
+    private final UserRepository userRepository;
+
+    /**
+     * Constructs a RecipeImportController.
+     *
+     * @param recipeImportService the service running imports
+     * @param userRepository      the repository for user data
+     */
+    public RecipeImportController(RecipeImportService recipeImportService, UserRepository userRepository) {
+        this.recipeImportService = recipeImportService;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Starts importing recipes from newline-delimited JSON, one recipe per line in the format of
+     * {@code GET /api/user/recipe}.
+     *
+     * @param request        the HTTP request carrying the lines
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the status of the import, 409 if one is already running, or 413 for too large uploads
+     * @throws IOException if the upload cannot be read
+     */
+    @PostMapping(value = "/user/recipe/import", consumes = "application/x-ndjson")
+    public ResponseEntity<RecipeImportStatus> importJsonLines(HttpServletRequest request,
+                                                              Authentication authentication) throws IOException {
+        User user = getAuthenticatedUser(authentication);
+        if (recipeImportService.isImportRunning(user.getId())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        Path file;
+        try (InputStream content = request.getInputStream()) {
+            file = recipeImportService.spool(content);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return start(user, RecipeImportFormat.NDJSON, List.of(file));
+    }
+
+    /**
+     * Starts importing recipes from saved web pages that embed schema.org Recipe data as JSON-LD.
+     *
+     * @param files          the HTML pages
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the status of the import, 409 if one is already running, or 413 for too large uploads
+     * @throws IOException if the upload cannot be read
+     */
+    @PostMapping(value = "/user/recipe/import", consumes = "multipart/form-data")
+    public ResponseEntity<RecipeImportStatus> importHtmlPages(@RequestParam("files") List<MultipartFile> files,
+                                                              Authentication authentication) throws IOException {
+        User user = getAuthenticatedUser(authentication);
+        if (recipeImportService.isImportRunning(user.getId())) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        List<Path> spooled = new ArrayList<>(files.size());
+        try {
+            for (MultipartFile file : files) {
+                try (InputStream content = file.getInputStream()) {
+                    spooled.add(recipeImportService.spool(content));
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            for (Path path : spooled) {
+                Files.deleteIfExists(path);
+            }
+            if (e instanceof IOException ioException) {
+                throw ioException;
+            }
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        return start(user, RecipeImportFormat.HTML, spooled);
+    }
+
+    /**
+     * Retrieves the progress of an import.
+     *
+     * @param jobId          the ID returned when the import was started
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the status, or 404 if the user has no such import
+     */
+    @GetMapping("/user/recipe/import/{jobId}")
+    public ResponseEntity<RecipeImportStatus> getImportStatus(@PathVariable String jobId, Authentication authentication) {
+        User user = getAuthenticatedUser(authentication);
+        return recipeImportService.getStatus(jobId, user.getId())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private ResponseEntity<RecipeImportStatus> start(User user, RecipeImportFormat format, List<Path> files) {
+        return recipeImportService.startImport(user, format, files)
+                .map(status -> ResponseEntity.status(HttpStatus.ACCEPTED).body(status))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
+    /**
+     * Helper method to extract the authenticated user from the security context.
+     *
+     * @param authentication the authentication token containing user details
+     * @return the authenticated User
+     */
+    private User getAuthenticatedUser(Authentication authentication) {
+        String username = authentication.getName();
+        return userRepository.findByUsername(username);
+    }
+}
@@ -0,0 +1,15 @@
+package com.barriquebackend.recipevault.recipe.importer;
+
+/**
+ * The input formats of a recipe import.
+ */
+public enum RecipeImportFormat {
+    /**
+     * One recipe per line, in the JSON format of {@code POST /api/recipe}.
+     */
+    NDJSON,
+    /**
+     * HTML pages containing schema.org {@code Recipe} objects as JSON-LD.
+     */
+    HTML
+}
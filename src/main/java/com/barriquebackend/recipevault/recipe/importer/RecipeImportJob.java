@@ -0,0 +1,95 @@
+package com.barriquebackend.recipevault.recipe.importer;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The mutable state of a running import, updated by its reader and writer threads and read by status requests.
+ */
+final class RecipeImportJob {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final String jobId = UUID.randomUUID().toString();
+    private final Long userId;
+    private final RecipeImportFormat format;
+    private final Instant startedAt = Instant.now();
+    private final AtomicInteger itemsRead = new AtomicInteger();
+    private final AtomicInteger imported = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final Queue<RecipeImportStatus.ItemError> errors = new ConcurrentLinkedQueue<>();
+    // Number of items the reader produced; -1 until it is done.
+    private volatile int totalItems = -1;
+    private volatile boolean cancelled;
+    private volatile Instant finishedAt;
+
+    RecipeImportJob(Long userId, RecipeImportFormat format) {
+        this.userId = userId;
+        this.format = format;
+    }
+
+    String getJobId() {
+        return jobId;
+    }
+
+    Long getUserId() {
+        return userId;
+    }
+
+    RecipeImportFormat getFormat() {
+        return format;
+    }
+
+    Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    int getTotalItems() {
+        return totalItems;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    void itemRead() {
+        itemsRead.incrementAndGet();
+    }
+
+    void readingFinished(int items) {
+        totalItems = items;
+    }
+
+    void recipesImported(int count) {
+        imported.addAndGet(count);
+    }
+
+    void itemFailed(int item, String message) {
+        if (failed.incrementAndGet() <= MAX_REPORTED_ERRORS) {
+            errors.add(new RecipeImportStatus.ItemError(item, message));
+        }
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    void finish() {
+        finishedAt = Instant.now();
+    }
+
+    RecipeImportStatus toStatus() {
+        List<RecipeImportStatus.ItemError> reportedErrors = errors.stream()
+                .sorted(Comparator.comparingInt(RecipeImportStatus.ItemError::item))
+                .toList();
+        RecipeImportStatus.State state = finishedAt == null ? RecipeImportStatus.State.RUNNING
+                : cancelled ? RecipeImportStatus.State.CANCELLED : RecipeImportStatus.State.COMPLETED;
+        return new RecipeImportStatus(jobId, format, state, itemsRead.get(), imported.get(), failed.get(),
+                reportedErrors, startedAt, finishedAt);
+    }
+}
@@ -0,0 +1,393 @@
+package com.barriquebackend.recipevault.recipe.importer;
+
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.recipevault.recipe.RecipeService;
+import com.barriquebackend.user.User;
+import com.barriquebackend.user.purge.AccountPurgeRequestedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class for importing many recipes at once.
+ * <p>
+ * An import runs in the background as a pipeline: a reader splits the upload into items
+ * (NDJSON lines or HTML pages), a pool of parsers turns them into JSON trees in parallel, and a
+ * single writer saves them through {@link RecipeService#createRecipe} in transactions of
+ * {@value #BATCH_SIZE} items. The queue between parsers and writer holds at most
+ * {@value #QUEUE_CAPACITY} items, so a slow database slows the reader down instead of filling
+ * the heap. If a batch fails, its items are retried one by one so that only the bad ones are
+ * reported.
+ * </p>
+ * <p>
+ * Progress is kept in memory; finished imports can be queried for {@link #RETENTION}.
+ * </p>
+ */
+@Service
+public class RecipeImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeImportService.class);
+
+    static final int BATCH_SIZE = 50;
+    static final int QUEUE_CAPACITY = 256;
+    private static final Duration RETENTION = Duration.ofHours(1);
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final RecipeService recipeService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final long maxUploadSize;
+    private final ConcurrentHashMap<String, RecipeImportJob> jobs = new ConcurrentHashMap<>();
+    // The running import of each user; a user runs at most one at a time.
+    private final ConcurrentHashMap<Long, RecipeImportJob> runningJobs = new ConcurrentHashMap<>();
+    private final ExecutorService parsers = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()),
+            Thread.ofPlatform().name("recipe-import-parser-", 0).factory());
+    private final ExecutorService pipelines = Executors.newCachedThreadPool(
+            Thread.ofPlatform().name("recipe-import-", 0).factory());
+
+    /**
+     * Constructs a RecipeImportService.
+     *
+     * @param recipeService      the service imported recipes are created with
+     * @param objectMapper       the mapper used to parse JSON
+     * @param transactionManager the transaction manager used for batches
+     * @param maxUploadSize      the maximum size of an upload
+     */
+    public RecipeImportService(RecipeService recipeService, ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${recipe.import.max-size:100MB}") DataSize maxUploadSize) {
+        this.recipeService = recipeService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxUploadSize = maxUploadSize.toBytes();
+    }
+
+    /**
+     * Checks whether the user has an import running.
+     *
+     * @param userId the ID of the user
+     * @return true if an import of the user is running
+     */
+    public boolean isImportRunning(Long userId) {
+        return runningJobs.containsKey(userId);
+    }
+
+    /**
+     * Copies an upload to a temporary file that a later {@link #startImport} takes over.
+     *
+     * @param content the upload
+     * @return the temporary file
+     * @throws IOException              if the upload cannot be read or written
+     * @throws IllegalArgumentException if the upload exceeds {@code recipe.import.max-size}
+     */
+    public Path spool(InputStream content) throws IOException {
+        Path file = Files.createTempFile("recipe-import-", ".tmp");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            long size = 0;
+            int read;
+            while ((read = content.read(buffer)) >= 0) {
+                size += read;
+                if (size > maxUploadSize) {
+                    throw new IllegalArgumentException("Import exceeds the maximum size of " + maxUploadSize + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Starts importing spooled files for a user.
+     *
+     * @param user   the user who will own the recipes
+     * @param format the format of the files
+     * @param files  the files returned by {@link #spool}, deleted when the import ends
+     * @return the initial status, or empty if the user already has an import running
+     */
+    public Optional<RecipeImportStatus> startImport(User user, RecipeImportFormat format, List<Path> files) {
+        RecipeImportJob job = new RecipeImportJob(user.getId(), format);
+        if (runningJobs.putIfAbsent(user.getId(), job) != null) {
+            deleteFiles(files);
+            return Optional.empty();
+        }
+        jobs.put(job.getJobId(), job);
+        pipelines.execute(() -> run(job, user, files));
+        return Optional.of(job.toStatus());
+    }
+
+    /**
+     * Retrieves the progress of an import.
+     *
+     * @param jobId  the ID of the import
+     * @param userId the ID of the user asking
+     * @return the status, or empty if there is no such import of the user
+     */
+    public Optional<RecipeImportStatus> getStatus(String jobId, Long userId) {
+        return Optional.ofNullable(jobs.get(jobId))
+                .filter(job -> job.getUserId().equals(userId))
+                .map(RecipeImportJob::toStatus);
+    }
+
+    /**
+     * Stops the running import of an account that is being deleted.
+     *
+     * @param event the purge request
+     */
+    @EventListener
+    public void onAccountPurgeRequested(AccountPurgeRequestedEvent event) {
+        RecipeImportJob job = runningJobs.get(event.userId());
+        if (job != null) {
+            job.cancel();
+        }
+    }
+
+    /**
+     * Forgets imports that finished more than {@link #RETENTION} ago.
+     */
+    @Scheduled(fixedDelay = 300_000)
+    public void evictFinishedJobs() {
+        Instant threshold = Instant.now().minus(RETENTION);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(threshold));
+    }
+
+    /**
+     * Cancels running imports and stops their threads on shutdown.
+     */
+    @PreDestroy
+    public void shutdown() {
+        runningJobs.values().forEach(RecipeImportJob::cancel);
+        pipelines.shutdownNow();
+        parsers.shutdownNow();
+    }
+
+    /**
+     * Creates a recipe with empty component lists, as {@link RecipeService#createRecipe} expects.
+     *
+     * @return the recipe
+     */
+    static Recipe emptyRecipe() {
+        Recipe recipe = new Recipe();
+        recipe.setIngredients(new ArrayList<>());
+        recipe.setNutritionalValues(new ArrayList<>());
+        recipe.setSteps(new ArrayList<>());
+        recipe.setTools(new ArrayList<>());
+        recipe.setTags(new ArrayList<>());
+        return recipe;
+    }
+
+    private void run(RecipeImportJob job, User user, List<Path> files) {
+        BlockingQueue<ParsedItem> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        // One permit per item between reader and writer, so the queue can never overflow.
+        Semaphore permits = new Semaphore(QUEUE_CAPACITY);
+        try {
+            pipelines.execute(() -> read(job, files, queue, permits));
+            write(job, user, queue, permits);
+        } catch (InterruptedException e) {
+            job.cancel();
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Recipe import {} failed", job.getJobId(), e);
+            job.cancel();
+        } finally {
+            // Wakes a reader waiting for a permit so that it sees the cancellation
+            permits.release(QUEUE_CAPACITY);
+            job.finish();
+            runningJobs.remove(job.getUserId(), job);
+            log.info("Recipe import {} finished: {}", job.getJobId(), job.toStatus());
+        }
+    }
+
+    // Reader stage: splits the files into items and hands them to the parsers.
+    private void read(RecipeImportJob job, List<Path> files, BlockingQueue<ParsedItem> queue, Semaphore permits) {
+        int items = 0;
+        try {
+            for (Path file : files) {
+                if (job.isCancelled()) {
+                    break;
+                }
+                if (job.getFormat() == RecipeImportFormat.NDJSON) {
+                    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                        String line;
+                        int lineNumber = 0;
+                        while ((line = reader.readLine()) != null && !job.isCancelled()) {
+                            lineNumber++;
+                            if (!line.isBlank()) {
+                                String json = line;
+                                submit(job, lineNumber, () -> List.of(objectMapper.readTree(json)), queue, permits);
+                                items++;
+                            }
+                        }
+                    }
+                } else {
+                    String html = Files.readString(file, StandardCharsets.UTF_8);
+                    submit(job, items + 1, () -> SchemaOrgRecipes.extract(html, objectMapper), queue, permits);
+                    items++;
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            job.itemFailed(items + 1, "Could not read the upload: " + e.getMessage());
+        } catch (InterruptedException e) {
+            job.cancel();
+            Thread.currentThread().interrupt();
+        } finally {
+            job.readingFinished(items);
+            deleteFiles(files);
+        }
+    }
+
+    private void submit(RecipeImportJob job, int item, Callable<List<JsonNode>> parser,
+                        BlockingQueue<ParsedItem> queue, Semaphore permits) throws InterruptedException {
+        permits.acquire();
+        job.itemRead();
+        parsers.execute(() -> {
+            ParsedItem parsed;
+            try {
+                parsed = new ParsedItem(item, parser.call(), null);
+            } catch (Exception e) {
+                parsed = new ParsedItem(item, List.of(), "Invalid input: " + e.getMessage());
+            }
+            queue.offer(parsed);
+        });
+    }
+
+    // Writer stage: the only thread touching the database, so batches never compete with each other.
+    private void write(RecipeImportJob job, User user, BlockingQueue<ParsedItem> queue, Semaphore permits)
+            throws InterruptedException {
+        List<ParsedItem> batch = new ArrayList<>(BATCH_SIZE);
+        int consumed = 0;
+        while (!job.isCancelled()) {
+            ParsedItem item = queue.poll(200, TimeUnit.MILLISECONDS);
+            if (item != null) {
+                permits.release();
+                consumed++;
+                if (item.error() != null) {
+                    job.itemFailed(item.item(), item.error());
+                } else if (item.recipes().isEmpty()) {
+                    job.itemFailed(item.item(), "No recipe found");
+                } else {
+                    batch.add(item);
+                }
+            }
+            boolean done = job.getTotalItems() >= 0 && consumed == job.getTotalItems();
+            if (batch.size() >= BATCH_SIZE || (!batch.isEmpty() && (item == null || done))) {
+                saveBatch(job, user, batch);
+                batch.clear();
+            }
+            if (done) {
+                return;
+            }
+        }
+    }
+
+    private void saveBatch(RecipeImportJob job, User user, List<ParsedItem> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> batch.forEach(item -> save(item, user, job.getFormat())));
+            batch.forEach(item -> job.recipesImported(item.recipes().size()));
+        } catch (RuntimeException batchFailure) {
+            // Recipes are mapped afresh for every attempt, so nothing of the failed batch is reused
+            for (ParsedItem item : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> save(item, user, job.getFormat()));
+                    job.recipesImported(item.recipes().size());
+                } catch (RuntimeException e) {
+                    job.itemFailed(item.item(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void save(ParsedItem item, User user, RecipeImportFormat format) {
+        for (JsonNode node : item.recipes()) {
+            recipeService.createRecipe(toRecipe(node, format), user);
+        }
+    }
+
+    private Recipe toRecipe(JsonNode node, RecipeImportFormat format) {
+        if (format == RecipeImportFormat.HTML) {
+            return SchemaOrgRecipes.toRecipe(node);
+        }
+        Recipe recipe;
+        try {
+            recipe = objectMapper.treeToValue(node, Recipe.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Not a recipe: " + e.getOriginalMessage(), e);
+        }
+        if (recipe.getTitle() == null || recipe.getTitle().isBlank()) {
+            throw new IllegalArgumentException("Recipe has no title");
+        }
+        // Imported recipes are always new; IDs from an export must not address existing rows
+        recipe.setRecipeId(null);
+        recipe.setIngredients(orEmpty(recipe.getIngredients()));
+        recipe.setNutritionalValues(orEmpty(recipe.getNutritionalValues()));
+        recipe.setSteps(orEmpty(recipe.getSteps()));
+        recipe.setTools(orEmpty(recipe.getTools()));
+        recipe.setTags(orEmpty(recipe.getTags()));
+        recipe.getIngredients().forEach(ingredient -> ingredient.setIngredientId(null));
+        recipe.getNutritionalValues().forEach(nutritionalValue -> nutritionalValue.setNutritionalValueId(null));
+        recipe.getSteps().forEach(step -> step.setStepId(null));
+        recipe.getTools().forEach(tool -> tool.setToolId(null));
+        recipe.getTags().forEach(tag -> tag.setTagId(null));
+        return recipe;
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list != null ? list : new ArrayList<>();
+    }
+
+    private static void deleteFiles(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * An item after the parse stage.
+     *
+     * @param item    the 1-based line or page number
+     * @param recipes the recipe objects found in it
+     * @param error   why it could not be parsed, or null
+     */
+    private record ParsedItem(int item, List<JsonNode> recipes, String error) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.barriquebackend.recipevault.recipe.importer;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The progress of a recipe import.
+ *
+ * @param jobId      the ID of the import
+ * @param format     the input format
+ * @param state      whether the import is still running
+ * @param itemsRead  the number of lines or pages read so far
+ * @param imported   the number of recipes saved so far
+ * @param failed     the number of lines or pages that could not be imported
+ * @param errors     the first errors, by line or page number
+ * @param startedAt  when the import started
+ * @param finishedAt when the import finished, or null while it runs
+ */
+public record RecipeImportStatus(String jobId, RecipeImportFormat format, State state, int itemsRead, int imported,
+                                 int failed, List<ItemError> errors, Instant startedAt, Instant finishedAt) {
+
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        CANCELLED
+    }
+
+    /**
+     * A line or page that could not be imported.
+     *
+     * @param item    the 1-based line (NDJSON) or page (HTML) number
+     * @param message why it failed
+     */
+    public record ItemError(int item, String message) {
+    }
+}
@@ -0,0 +1,250 @@
+package com.barriquebackend.recipevault.recipe.importer;
+
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.recipevault.recipe.components.Ingredient;
+import com.barriquebackend.recipevault.recipe.components.NutritionalValue;
+import com.barriquebackend.recipevault.recipe.components.RecipeStep;
+import com.barriquebackend.recipevault.recipe.components.tag.Tag;
+import com.barriquebackend.recipevault.recipe.components.tag.TagType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads schema.org {@code Recipe} objects from the JSON-LD blocks of HTML pages and maps them to recipes.
+ * <p>
+ * Handles the shapes found on common recipe sites: recipes at the top level, in arrays, in
+ * {@code @graph} or as {@code mainEntity}; instructions as text, {@code HowToStep} or
+ * {@code HowToSection}; images as URLs or {@code ImageObject}. Keywords, categories and diets
+ * that name a {@link TagType} become tags.
+ * </p>
+ */
+final class SchemaOrgRecipes {
+
+    private static final Pattern JSON_LD = Pattern.compile(
+            "<script[^>]*type\\s*=\\s*[\"']?application/ld\\+json[\"']?[^>]*>(.*?)</script>",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern NUMBER = Pattern.compile("\\d+(?:[.,]\\d+)?");
+    private static final Pattern TAG_NAME_SEPARATORS = Pattern.compile("[^A-Z0-9]+");
+
+    private static final Map<String, TagType> DIETS = Map.of(
+            "VEGANDIET", TagType.VEGAN,
+            "VEGETARIANDIET", TagType.VEGETARIAN,
+            "GLUTENFREEDIET", TagType.GLUTEN_FREE,
+            "LOWLACTOSEDIET", TagType.LACTOSE_FREE);
+
+    private SchemaOrgRecipes() {
+    }
+
+    /**
+     * Finds the schema.org recipes in an HTML page.
+     *
+     * @param html   the page
+     * @param mapper the mapper used to parse the JSON-LD blocks
+     * @return the recipe objects, empty if the page has none; malformed blocks are skipped
+     */
+    static List<JsonNode> extract(String html, ObjectMapper mapper) {
+        List<JsonNode> recipes = new ArrayList<>();
+        Matcher matcher = JSON_LD.matcher(html);
+        while (matcher.find()) {
+            try {
+                collect(mapper.readTree(matcher.group(1).strip()), recipes);
+            } catch (JsonProcessingException e) {
+                // Pages often carry unrelated or broken JSON-LD next to the recipe
+            }
+        }
+        return recipes;
+    }
+
+    /**
+     * Maps a schema.org recipe object to a recipe.
+     *
+     * @param node the recipe object
+     * @return the recipe, not yet owned by a user
+     * @throws IllegalArgumentException if the recipe has no name
+     */
+    static Recipe toRecipe(JsonNode node) {
+        String title = text(node.get("name"));
+        if (title == null) {
+            throw new IllegalArgumentException("Recipe has no name");
+        }
+
+        Recipe recipe = RecipeImportService.emptyRecipe();
+        recipe.setTitle(title);
+        recipe.setDescription(text(node.get("description")));
+        recipe.setImageUrl(imageUrl(node.get("image")));
+        recipe.setSourceUrl(text(node.get("url")));
+        String time = text(node.get("totalTime"));
+        recipe.setTime(time != null ? time : text(node.get("cookTime")));
+        Double servings = firstNumber(text(first(node.get("recipeYield"))));
+        if (servings != null) {
+            recipe.setServings(servings.intValue());
+        }
+
+        JsonNode ingredients = node.has("recipeIngredient") ? node.get("recipeIngredient") : node.get("ingredients");
+        for (JsonNode ingredientNode : iterable(ingredients)) {
+            String text = text(ingredientNode);
+            if (text != null) {
+                Ingredient ingredient = new Ingredient();
+                ingredient.setTitle(text);
+                recipe.getIngredients().add(ingredient);
+            }
+        }
+
+        List<String> steps = new ArrayList<>();
+        collectInstructions(node.get("recipeInstructions"), steps);
+        for (String text : steps) {
+            RecipeStep step = new RecipeStep();
+            step.setStepDescription(text);
+            step.setStepNumber(recipe.getSteps().size() + 1);
+            recipe.getSteps().add(step);
+        }
+
+        JsonNode nutrition = node.get("nutrition");
+        if (nutrition != null && nutrition.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = nutrition.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                Double amount = firstNumber(text(field.getValue()));
+                if (!field.getKey().startsWith("@") && amount != null) {
+                    NutritionalValue value = new NutritionalValue();
+                    value.setTitle(field.getKey().replaceFirst("Content$", ""));
+                    value.setAmount(amount);
+                    recipe.getNutritionalValues().add(value);
+                }
+            }
+        }
+
+        for (TagType tagType : tagTypes(node)) {
+            Tag tag = new Tag();
+            tag.setTagType(tagType);
+            recipe.getTags().add(tag);
+        }
+        return recipe;
+    }
+
+    private static void collect(JsonNode node, List<JsonNode> recipes) {
+        if (node.isArray()) {
+            node.forEach(element -> collect(element, recipes));
+        } else if (node.isObject()) {
+            if (isRecipe(node)) {
+                recipes.add(node);
+            } else if (node.has("@graph")) {
+                collect(node.get("@graph"), recipes);
+            } else if (node.has("mainEntity")) {
+                collect(node.get("mainEntity"), recipes);
+            }
+        }
+    }
+
+    private static boolean isRecipe(JsonNode node) {
+        for (JsonNode type : iterable(node.get("@type"))) {
+            String name = type.asText();
+            if (name.equals("Recipe") || name.endsWith("/Recipe") || name.endsWith(":Recipe")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collectInstructions(JsonNode node, List<String> steps) {
+        if (node == null || node.isNull()) {
+            return;
+        }
+        if (node.isArray()) {
+            node.forEach(element -> collectInstructions(element, steps));
+        } else if (node.isObject()) {
+            if (node.has("itemListElement")) {
+                collectInstructions(node.get("itemListElement"), steps);
+            } else {
+                String text = text(node.has("text") ? node.get("text") : node.get("name"));
+                if (text != null) {
+                    steps.add(text);
+                }
+            }
+        } else {
+            // One block of text, one step per line
+            for (String line : node.asText().split("\\R")) {
+                if (!line.isBlank()) {
+                    steps.add(line.strip());
+                }
+            }
+        }
+    }
+
+    private static Set<TagType> tagTypes(JsonNode node) {
+        Set<TagType> tagTypes = EnumSet.noneOf(TagType.class);
+        List<String> names = new ArrayList<>();
+        for (String field : List.of("keywords", "recipeCategory", "recipeCuisine")) {
+            for (JsonNode value : iterable(node.get(field))) {
+                for (String name : value.asText().split(",")) {
+                    names.add(name);
+                }
+            }
+        }
+        for (JsonNode diet : iterable(node.get("suitableForDiet"))) {
+            String name = diet.asText();
+            TagType tagType = DIETS.get(name.substring(name.lastIndexOf('/') + 1).toUpperCase(Locale.ROOT));
+            if (tagType != null) {
+                tagTypes.add(tagType);
+            }
+        }
+        for (String name : names) {
+            String constant = TAG_NAME_SEPARATORS.matcher(name.strip().toUpperCase(Locale.ROOT)).replaceAll("_");
+            for (TagType tagType : TagType.values()) {
+                if (tagType.name().equals(constant)) {
+                    tagTypes.add(tagType);
+                }
+            }
+        }
+        return tagTypes;
+    }
+
+    private static String imageUrl(JsonNode node) {
+        JsonNode image = first(node);
+        if (image != null && image.isObject()) {
+            return text(image.get("url"));
+        }
+        return text(image);
+    }
+
+    private static JsonNode first(JsonNode node) {
+        if (node != null && node.isArray()) {
+            return node.isEmpty() ? null : node.get(0);
+        }
+        return node;
+    }
+
+    private static Iterable<JsonNode> iterable(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return List.of();
+        }
+        return node.isArray() ? node : List.of(node);
+    }
+
+    private static String text(JsonNode node) {
+        if (node == null || node.isNull() || node.isContainerNode()) {
+            return null;
+        }
+        String text = node.asText().strip();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static Double firstNumber(String text) {
+        if (text == null) {
+            return null;
+        }
+        Matcher matcher = NUMBER.matcher(text);
+        return matcher.find() ? Double.valueOf(matcher.group().replace(',', '.')) : null;
+    }
+}
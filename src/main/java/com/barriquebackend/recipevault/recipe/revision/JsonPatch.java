@@ -0,0 +1,179 @@
+package com.barriquebackend.recipevault.recipe.revision;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Computes and applies the add, remove and replace operations of JSON Patch (RFC 6902).
+ * <p>
+ * Objects are compared field by field. Arrays are compared after skipping their common prefix
+ * and suffix, so appending, inserting or removing a component costs a single operation instead
+ * of a copy of the whole list.
+ * </p>
+ */
+final class JsonPatch {
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private JsonPatch() {
+    }
+
+    /**
+     * Computes the operations turning one document into another.
+     *
+     * @param source the old document
+     * @param target the new document
+     * @return the patch, empty if the documents are equal
+     */
+    static ArrayNode diff(JsonNode source, JsonNode target) {
+        ArrayNode patch = NODES.arrayNode();
+        diff("", source, target, patch);
+        return patch;
+    }
+
+    /**
+     * Applies a patch created by {@link #diff}.
+     *
+     * @param document the document to start from; it is not modified
+     * @param patch    the operations
+     * @return the patched document
+     * @throws IllegalArgumentException if the patch does not fit the document
+     */
+    static JsonNode apply(JsonNode document, JsonNode patch) {
+        JsonNode result = document.deepCopy();
+        for (JsonNode operation : patch) {
+            String op = operation.path("op").asText();
+            String path = operation.path("path").asText();
+            if (path.isEmpty()) {
+                if (!"replace".equals(op)) {
+                    throw new IllegalArgumentException("Unsupported operation on the document: " + op);
+                }
+                result = requireValue(operation.get("value"));
+                continue;
+            }
+            int separator = path.lastIndexOf('/');
+            JsonNode parent = separator == 0 ? result : resolve(result, path.substring(0, separator));
+            apply(op, parent, unescape(path.substring(separator + 1)), operation.get("value"));
+        }
+        return result;
+    }
+
+    private static void diff(String path, JsonNode source, JsonNode target, ArrayNode patch) {
+        if (source.equals(target)) {
+            return;
+        }
+        if (source.isObject() && target.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = source.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                String fieldPath = path + "/" + escape(field.getKey());
+                JsonNode newValue = target.get(field.getKey());
+                if (newValue == null) {
+                    patch.add(operation("remove", fieldPath, null));
+                } else {
+                    diff(fieldPath, field.getValue(), newValue, patch);
+                }
+            }
+            Iterator<Map.Entry<String, JsonNode>> added = target.fields();
+            while (added.hasNext()) {
+                Map.Entry<String, JsonNode> field = added.next();
+                if (!source.has(field.getKey())) {
+                    patch.add(operation("add", path + "/" + escape(field.getKey()), field.getValue()));
+                }
+            }
+        } else if (source.isArray() && target.isArray()) {
+            diffArrays(path, source, target, patch);
+        } else {
+            patch.add(operation("replace", path, target));
+        }
+    }
+
+    private static void diffArrays(String path, JsonNode source, JsonNode target, ArrayNode patch) {
+        int sourceSize = source.size();
+        int targetSize = target.size();
+        int prefix = 0;
+        while (prefix < sourceSize && prefix < targetSize && source.get(prefix).equals(target.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < sourceSize - prefix && suffix < targetSize - prefix
+                && source.get(sourceSize - 1 - suffix).equals(target.get(targetSize - 1 - suffix))) {
+            suffix++;
+        }
+        int sourceEnd = sourceSize - suffix;
+        int targetEnd = targetSize - suffix;
+        int common = Math.min(sourceEnd, targetEnd);
+        for (int i = prefix; i < common; i++) {
+            diff(path + "/" + i, source.get(i), target.get(i), patch);
+        }
+        for (int i = common; i < targetEnd; i++) {
+            patch.add(operation("add", path + "/" + i, target.get(i)));
+        }
+        // Removed from the back so that the indices of the remaining operations stay valid
+        for (int i = sourceEnd - 1; i >= common; i--) {
+            patch.add(operation("remove", path + "/" + i, null));
+        }
+    }
+
+    private static ObjectNode operation(String op, String path, JsonNode value) {
+        ObjectNode operation = NODES.objectNode();
+        operation.put("op", op);
+        operation.put("path", path);
+        if (value != null) {
+            operation.set("value", value);
+        }
+        return operation;
+    }
+
+    private static void apply(String op, JsonNode parent, String key, JsonNode value) {
+        if (parent instanceof ObjectNode object) {
+            switch (op) {
+                case "add", "replace" -> object.set(key, requireValue(value));
+                case "remove" -> object.remove(key);
+                default -> throw new IllegalArgumentException("Unsupported operation: " + op);
+            }
+        } else if (parent instanceof ArrayNode array) {
+            int index = "-".equals(key) ? array.size() : Integer.parseInt(key);
+            switch (op) {
+                case "add" -> array.insert(index, requireValue(value));
+                case "replace" -> array.set(index, requireValue(value));
+                case "remove" -> array.remove(index);
+                default -> throw new IllegalArgumentException("Unsupported operation: " + op);
+            }
+        } else {
+            throw new IllegalArgumentException("Patch path does not lead to a container: " + key);
+        }
+    }
+
+    private static JsonNode resolve(JsonNode document, String path) {
+        JsonNode node = document;
+        for (String token : path.substring(1).split("/", -1)) {
+            String key = unescape(token);
+            node = node.isArray() ? node.get(Integer.parseInt(key)) : node.get(key);
+            if (node == null) {
+                throw new IllegalArgumentException("Patch path does not exist: " + path);
+            }
+        }
+        return node;
+    }
+
+    private static JsonNode requireValue(JsonNode value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Patch operation has no value");
+        }
+        return value.deepCopy();
+    }
+
+    private static String escape(String key) {
+        return key.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static String unescape(String token) {
+        return token.replace("~1", "/").replace("~0", "~");
+    }
+}
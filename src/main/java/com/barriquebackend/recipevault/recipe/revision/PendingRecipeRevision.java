@@ -0,0 +1,38 @@
+package com.barriquebackend.recipevault.recipe.revision;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * A recipe whose change has not been recorded in its history yet.
+ * <p>
+ * The row is written in the transaction that changes the recipe, so it survives a restart, and
+ * removed in the transaction that records the revision. {@link RecipeRevisionService} inserts and
+ * claims these rows with SQL; the entity only defines the table.
+ * </p>
+ */
+@Entity
+@Table(name = "recipe_revision_pending", indexes = @Index(name = "idx_recipe_revision_pending_retry", columnList = "retry_at"))
+public class PendingRecipeRevision {
+
+    @Id
+    @Column(name = "recipe_id")
+    private Long recipeId;
+
+    // Not picked up before this time; pushed back after a failed attempt.
+    @Column(name = "retry_at", nullable = false)
+    private Instant retryAt;
+
+    protected PendingRecipeRevision() {
+    }
+
+    // Getters
+    public Long getRecipeId() {
+        return recipeId;
+    }
+
+    public Instant getRetryAt() {
+        return retryAt;
+    }
+}
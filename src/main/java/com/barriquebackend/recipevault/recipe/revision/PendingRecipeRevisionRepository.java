@@ -0,0 +1,33 @@
+package com.barriquebackend.recipevault.recipe.revision;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PendingRecipeRevisionRepository extends JpaRepository<PendingRecipeRevision, Long> {
+
+    // Due recipes, locked until the claiming transaction ends; rows claimed by another instance are skipped.
+    @Query(value = "select recipe_id from recipe_revision_pending where retry_at <= now() " +
+            "order by retry_at limit :limit for update skip locked",
+            nativeQuery = true)
+    List<Long> claimDue(@Param("limit") int limit);
+
+    @Query(value = "select recipe_id from recipe_revision_pending where recipe_id = :recipeId for update skip locked",
+            nativeQuery = true)
+    List<Long> claim(@Param("recipeId") Long recipeId);
+
+    @Modifying
+    @Query("delete from PendingRecipeRevision p where p.recipeId in :recipeIds")
+    int deleteByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+
+    @Modifying
+    @Query("update PendingRecipeRevision p set p.retryAt = :retryAt where p.recipeId = :recipeId")
+    int postpone(@Param("recipeId") Long recipeId, @Param("retryAt") Instant retryAt);
+}
@@ -0,0 +1,96 @@
+package com.barriquebackend.recipevault.recipe.revision;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * One entry in the history of a recipe.
+ * <p>
+ * Every {@value RecipeRevisionService#SNAPSHOT_INTERVAL}th revision, starting with the first,
+ * holds the whole recipe document; the others hold a JSON Patch against the revision before.
+ * A revision is therefore rebuilt from its latest snapshot and fewer than
+ * {@value RecipeRevisionService#SNAPSHOT_INTERVAL} patches.
+ * </p>
+ */
+@Entity
+@Table(name = "recipe_revision", uniqueConstraints = @UniqueConstraint(
+        name = "uk_recipe_revision_number", columnNames = {"recipe_id", "revision_number"}))
+public class RecipeRevision {
+
+    public enum Kind {
+        SNAPSHOT,
+        DELTA
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long revisionId;
+
+    @Column(name = "recipe_id", nullable = false)
+    private Long recipeId;
+
+    // Numbered from 1 per recipe without gaps.
+    @Column(name = "revision_number", nullable = false)
+    private int revisionNumber;
+
+    // The recipe's @Version when the revision was taken.
+    @Column(name = "recipe_version", nullable = false)
+    private long recipeVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Kind kind;
+
+    // The recipe document for snapshots, the patch operations for deltas.
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false)
+    private JsonNode data;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected RecipeRevision() {
+    }
+
+    public RecipeRevision(Long recipeId, int revisionNumber, long recipeVersion, Kind kind, JsonNode data) {
+        this.recipeId = recipeId;
+        this.revisionNumber = revisionNumber;
+        this.recipeVersion = recipeVersion;
+        this.kind = kind;
+        this.data = data;
+        this.createdAt = Instant.now();
+    }
+
+    // Getters and setters
+    public Long getRevisionId() {
+        return revisionId;
+    }
+
+    public Long getRecipeId() {
+        return recipeId;
+    }
+
+    public int getRevisionNumber() {
+        return revisionNumber;
+    }
+
+    public long getRecipeVersion() {
+        return recipeVersion;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public JsonNode getData() {
+        return data;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
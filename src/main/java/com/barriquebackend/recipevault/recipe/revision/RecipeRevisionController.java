@@ -0,0 +1,117 @@
+package com.barriquebackend.recipevault.recipe.revision;
+
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.recipevault.recipe.RecipeService;
+import com.barriquebackend.user.User;
+import com.barriquebackend.user.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST controller for browsing and restoring the revision history of recipes.
+ * <p>
+ * Revisions are recorded in the background, so a change may take a moment to show up.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api")
+public class RecipeRevisionController {
+
+    private final RecipeRevisionService recipeRevisionService;
+    private final RecipeService recipeService;
+    private final UserRepository userRepository;
+
+    /**
+     * Constructs a RecipeRevisionController.
+     *
+     * @param recipeRevisionService the service for recipe revisions
+     * @param recipeService         the service used to check ownership and restore revisions
+     * @param userRepository        the repository for user data
+     */
+    public RecipeRevisionController(RecipeRevisionService recipeRevisionService, RecipeService recipeService,
+                                    UserRepository userRepository) {
+        this.recipeRevisionService = recipeRevisionService;
+        this.recipeService = recipeService;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Lists the revisions of a recipe, newest first.
+     *
+     * @param id             the ID of the recipe
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the revisions, or 403 for another user's recipe
+     */
+    @GetMapping("/recipe/{id}/revisions")
+    public ResponseEntity<List<RecipeRevisionSummary>> getRevisions(@PathVariable Long id, Authentication authentication) {
+        if (!isOwner(id, getAuthenticatedUser(authentication))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(recipeRevisionService.getRevisions(id));
+    }
+
+    /**
+     * Retrieves a recipe as it was in a revision.
+     *
+     * @param id             the ID of the recipe
+     * @param revision       the number of the revision
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the recipe document, 403 for another user's recipe, or 404 for an unknown revision
+     */
+    @GetMapping("/recipe/{id}/revisions/{revision}")
+    public ResponseEntity<JsonNode> getRevision(@PathVariable Long id, @PathVariable int revision,
+                                                Authentication authentication) {
+        if (!isOwner(id, getAuthenticatedUser(authentication))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return recipeRevisionService.getRevisionDocument(id, revision)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Restores a recipe to the state of a revision. The restore is saved as a regular edit and
+     * thus becomes a new revision itself. The recipe keeps its current image.
+     *
+     * @param id             the ID of the recipe
+     * @param revision       the number of the revision
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the updated recipe, 403 for another user's recipe, or 404 for an unknown revision
+     */
+    @PostMapping("/recipe/{id}/revisions/{revision}/restore")
+    public ResponseEntity<Recipe> restoreRevision(@PathVariable Long id, @PathVariable int revision,
+                                                  Authentication authentication) {
+        User user = getAuthenticatedUser(authentication);
+        Recipe current = recipeService.getRecipeById(id);
+        if (!current.getUser().getId().equals(user.getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Optional<JsonNode> document = recipeRevisionService.getRevisionDocument(id, revision);
+        if (document.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Recipe restored = recipeRevisionService.toRecipe(document.get(), current);
+        return ResponseEntity.ok(recipeService.updateRecipe(id, restored, user));
+    }
+
+    private boolean isOwner(Long recipeId, User user) {
+        return recipeService.getRecipeById(recipeId).getUser().getId().equals(user.getId());
+    }
+
+    /**
+     * Helper method to extract the authenticated user from the security context.
+     *
+     * @param authentication the authentication token containing user details
+     * @return the authenticated User
+     */
+    private User getAuthenticatedUser(Authentication authentication) {
+        String username = authentication.getName();
+        return userRepository.findByUsername(username);
+    }
+}
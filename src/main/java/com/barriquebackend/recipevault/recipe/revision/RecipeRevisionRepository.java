@@ -0,0 +1,33 @@
+package com.barriquebackend.recipevault.recipe.revision;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RecipeRevisionRepository extends JpaRepository<RecipeRevision, Long> {
+
+    // The history without the documents and patches, newest first.
+    @Query("select new com.barriquebackend.recipevault.recipe.revision.RecipeRevisionSummary(" +
+            "r.revisionNumber, r.recipeVersion, r.createdAt) " +
+            "from RecipeRevision r where r.recipeId = :recipeId order by r.revisionNumber desc")
+    List<RecipeRevisionSummary> findSummariesByRecipeId(@Param("recipeId") Long recipeId);
+
+    Optional<RecipeRevision> findFirstByRecipeIdOrderByRevisionNumberDesc(Long recipeId);
+
+    Optional<RecipeRevision> findFirstByRecipeIdAndKindAndRevisionNumberLessThanEqualOrderByRevisionNumberDesc(
+            Long recipeId, RecipeRevision.Kind kind, int revisionNumber);
+
+    List<RecipeRevision> findAllByRecipeIdAndRevisionNumberBetweenOrderByRevisionNumberAsc(
+            Long recipeId, int fromRevision, int toRevision);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from RecipeRevision r where r.recipeId in :recipeIds")
+    int deleteByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+}
@@ -0,0 +1,315 @@
+package com.barriquebackend.recipevault.recipe.revision;
+
+import com.barriquebackend.recipevault.recipe.BulkRecipeChangedEvent;
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.recipevault.recipe.RecipeChangedEvent;
+import com.barriquebackend.recipevault.recipe.RecipeRepository;
+import com.barriquebackend.web.LruCache;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service class recording and reading the revision history of recipes.
+ * <p>
+ * Revisions are written off the request path: a {@link RecipeChangedEvent} only adds the recipe's
+ * ID to the {@code recipe_revision_pending} table, in the transaction that changed the recipe, so
+ * a crash or restart loses nothing. A background job claims up to {@value #MAX_BATCH_SIZE}
+ * pending recipes at a time, renders their committed state, diffs it against the previous
+ * revision and removes them from the table in the same transaction; a recipe that is gone by then
+ * has its history removed. A recipe changed several times meanwhile is recorded only once. If a
+ * batch fails, its recipes are retried one by one, and a recipe that still fails stays pending
+ * and is retried after {@link #RETRY_DELAY}.
+ * </p>
+ * <p>
+ * The job keeps the latest document of recently recorded recipes in memory instead of rebuilding
+ * it from the database for every diff.
+ * </p>
+ */
+@Service
+public class RecipeRevisionService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecipeRevisionService.class);
+
+    static final int SNAPSHOT_INTERVAL = 10;
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int LATEST_CACHE_SIZE = 1000;
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(10);
+
+    // A recipe changed again before it was recorded becomes due right away.
+    private static final String ADD_PENDING_SQL = "insert into recipe_revision_pending (recipe_id, retry_at) values (?, now()) " +
+            "on conflict (recipe_id) do update set retry_at = excluded.retry_at";
+
+    // Fields that change with every save or are derived from other fields; they do not belong in the history.
+    private static final List<String> VOLATILE_FIELDS =
+            List.of("recipeId", "version", "changeSeq", "updatedAt", "timeMinutes", "thumbnailUrl");
+    // The image is not versioned: a replaced upload is released from the BlobStore, so an old URL may point at a deleted file.
+    private static final List<String> UNVERSIONED_FIELDS = List.of("imageUrl");
+    // Component lists and their ID fields, which are reassigned whenever the components are replaced.
+    private static final Map<String, String> COMPONENT_IDS = Map.of(
+            "ingredients", "ingredientId",
+            "nutritionalValues", "nutritionalValueId",
+            "steps", "stepId",
+            "tools", "toolId",
+            "tags", "tagId");
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeRevisionRepository revisionRepository;
+    private final PendingRecipeRevisionRepository pendingRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final LruCache<Long, Revision> latest = new LruCache<>(LATEST_CACHE_SIZE);
+
+    /**
+     * Constructs a RecipeRevisionService.
+     *
+     * @param recipeRepository   the repository for recipe data
+     * @param revisionRepository the repository for revisions
+     * @param pendingRepository  the repository for recipes waiting to be recorded
+     * @param jdbcTemplate       the template used to add pending recipes
+     * @param objectMapper       the mapper recipes are rendered with
+     * @param transactionManager the transaction manager used by the background job
+     */
+    public RecipeRevisionService(RecipeRepository recipeRepository, RecipeRevisionRepository revisionRepository,
+                                 PendingRecipeRevisionRepository pendingRepository, JdbcTemplate jdbcTemplate,
+                                 ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.recipeRepository = recipeRepository;
+        this.revisionRepository = revisionRepository;
+        this.pendingRepository = pendingRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Marks a changed or deleted recipe as pending, in the transaction that changed it.
+     *
+     * @param event the recipe change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        jdbcTemplate.update(ADD_PENDING_SQL, event.recipeId());
+    }
+
+    /**
+     * Marks the recipes of a bulk operation as pending, in the transaction that changed them.
+     *
+     * @param event the bulk change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onBulkRecipeChanged(BulkRecipeChangedEvent event) {
+        jdbcTemplate.batchUpdate(ADD_PENDING_SQL, event.recipeIds(), MAX_BATCH_SIZE,
+                (statement, recipeId) -> statement.setLong(1, recipeId));
+    }
+
+    /**
+     * Lists the history of a recipe, newest revision first.
+     *
+     * @param recipeId the ID of the recipe
+     * @return the revisions
+     */
+    public List<RecipeRevisionSummary> getRevisions(Long recipeId) {
+        return revisionRepository.findSummariesByRecipeId(recipeId);
+    }
+
+    /**
+     * Rebuilds the recipe document of a revision from its latest snapshot and the patches after it.
+     *
+     * @param recipeId       the ID of the recipe
+     * @param revisionNumber the number of the revision
+     * @return the document, in the JSON format of the recipe API without IDs and versions, or empty if there is no such revision
+     */
+    public Optional<JsonNode> getRevisionDocument(Long recipeId, int revisionNumber) {
+        return revisionRepository
+                .findFirstByRecipeIdAndKindAndRevisionNumberLessThanEqualOrderByRevisionNumberDesc(
+                        recipeId, RecipeRevision.Kind.SNAPSHOT, revisionNumber)
+                .flatMap(snapshot -> {
+                    List<RecipeRevision> deltas = revisionNumber > snapshot.getRevisionNumber()
+                            ? revisionRepository.findAllByRecipeIdAndRevisionNumberBetweenOrderByRevisionNumberAsc(
+                            recipeId, snapshot.getRevisionNumber() + 1, revisionNumber)
+                            : List.of();
+                    if (deltas.size() != revisionNumber - snapshot.getRevisionNumber()) {
+                        return Optional.empty();
+                    }
+                    JsonNode document = snapshot.getData().deepCopy();
+                    for (RecipeRevision delta : deltas) {
+                        document = JsonPatch.apply(document, delta.getData());
+                    }
+                    if (document instanceof ObjectNode object) {
+                        object.remove(UNVERSIONED_FIELDS); // Revisions recorded before images were excluded still carry one
+                    }
+                    return Optional.of(document);
+                });
+    }
+
+    /**
+     * Converts a revision document back into a recipe that can be saved as the recipe's new state.
+     * The recipe keeps its current image, as images are not part of the history.
+     *
+     * @param document the document returned by {@link #getRevisionDocument}
+     * @param current  the recipe's current state
+     * @return the recipe
+     * @throws IllegalArgumentException if the document does not describe a recipe
+     */
+    public Recipe toRecipe(JsonNode document, Recipe current) {
+        Recipe recipe = objectMapper.convertValue(document, Recipe.class);
+        recipe.setImageUrl(current.getImageUrl());
+        if (recipe.getIngredients() == null) {
+            recipe.setIngredients(new ArrayList<>());
+        }
+        if (recipe.getNutritionalValues() == null) {
+            recipe.setNutritionalValues(new ArrayList<>());
+        }
+        if (recipe.getSteps() == null) {
+            recipe.setSteps(new ArrayList<>());
+        }
+        if (recipe.getTools() == null) {
+            recipe.setTools(new ArrayList<>());
+        }
+        if (recipe.getTags() == null) {
+            recipe.setTags(new ArrayList<>());
+        }
+        return recipe;
+    }
+
+    /**
+     * Records the pending recipes that are due, one batch per transaction, until none are left.
+     */
+    @Scheduled(fixedDelay = 1_000)
+    public void processPending() {
+        while (true) {
+            List<Long> claimed = new ArrayList<>();
+            try {
+                Map<Long, Revision> written = transactionTemplate.execute(status -> {
+                    claimed.addAll(pendingRepository.claimDue(MAX_BATCH_SIZE));
+                    return write(claimed);
+                });
+                cache(written);
+            } catch (RuntimeException e) {
+                claimed.forEach(latest::remove);
+                log.warn("Could not record revisions of recipes {}, retrying them one by one", claimed, e);
+                claimed.forEach(this::processOne);
+            }
+            if (claimed.size() < MAX_BATCH_SIZE) {
+                return;
+            }
+        }
+    }
+
+    private void processOne(Long recipeId) {
+        try {
+            cache(transactionTemplate.execute(status -> pendingRepository.claim(recipeId).isEmpty()
+                    ? Map.<Long, Revision>of()
+                    : write(List.of(recipeId))));
+        } catch (RuntimeException e) {
+            latest.remove(recipeId);
+            log.warn("Could not record a revision of recipe {}, retrying in {}", recipeId, RETRY_DELAY, e);
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        pendingRepository.postpone(recipeId, Instant.now().plus(RETRY_DELAY)));
+            } catch (RuntimeException postponeFailure) {
+                log.warn("Could not postpone recipe {}", recipeId, postponeFailure);
+            }
+        }
+    }
+
+    // Records the claimed recipes and removes them from the pending table; returns what to cache, null for removed histories.
+    private Map<Long, Revision> write(List<Long> recipeIds) {
+        Map<Long, Revision> written = new HashMap<>();
+        for (Long recipeId : recipeIds) {
+            Optional<Recipe> recipe = recipeRepository.findById(recipeId);
+            if (recipe.isEmpty()) {
+                revisionRepository.deleteByRecipeIds(List.of(recipeId));
+                written.put(recipeId, null);
+            } else {
+                record(recipe.get()).ifPresent(revision -> written.put(recipeId, revision));
+            }
+        }
+        if (!recipeIds.isEmpty()) {
+            pendingRepository.deleteByRecipeIds(recipeIds);
+        }
+        return written;
+    }
+
+    private void cache(Map<Long, Revision> written) {
+        written.forEach((recipeId, revision) -> {
+            if (revision == null) {
+                latest.remove(recipeId);
+            } else {
+                latest.put(recipeId, revision);
+            }
+        });
+    }
+
+    private Optional<Revision> record(Recipe recipe) {
+        Long recipeId = recipe.getRecipeId();
+        JsonNode document = render(recipe);
+        Revision previous = latest.get(recipeId);
+        if (previous == null) {
+            previous = revisionRepository.findFirstByRecipeIdOrderByRevisionNumberDesc(recipeId)
+                    .flatMap(revision -> getRevisionDocument(recipeId, revision.getRevisionNumber())
+                            .map(doc -> new Revision(revision.getRevisionNumber(), revision.getRecipeVersion(), doc)))
+                    .orElse(null);
+        }
+        if (previous != null && previous.recipeVersion() == recipe.getVersion()) {
+            return Optional.empty();
+        }
+
+        int number = previous == null ? 1 : previous.number() + 1;
+        RecipeRevision revision;
+        if (previous == null || (number - 1) % SNAPSHOT_INTERVAL == 0) {
+            revision = new RecipeRevision(recipeId, number, recipe.getVersion(), RecipeRevision.Kind.SNAPSHOT, document);
+        } else {
+            ArrayNode patch = JsonPatch.diff(previous.document(), document);
+            if (patch.isEmpty()) {
+                return Optional.empty();
+            }
+            revision = new RecipeRevision(recipeId, number, recipe.getVersion(), RecipeRevision.Kind.DELTA, patch);
+        }
+        revisionRepository.save(revision);
+        return Optional.of(new Revision(number, recipe.getVersion(), document));
+    }
+
+    private JsonNode render(Recipe recipe) {
+        ObjectNode document = objectMapper.valueToTree(recipe);
+        document.remove(VOLATILE_FIELDS);
+        document.remove(UNVERSIONED_FIELDS);
+        COMPONENT_IDS.forEach((list, idField) -> {
+            for (JsonNode component : document.path(list)) {
+                if (component instanceof ObjectNode object) {
+                    object.remove(idField);
+                }
+            }
+        });
+        return document;
+    }
+
+    /**
+     * The latest revision of a recipe as the background job needs it for the next diff.
+     *
+     * @param number        the revision number
+     * @param recipeVersion the recipe version it shows
+     * @param document      the full recipe document
+     */
+    private record Revision(int number, long recipeVersion, JsonNode document) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.barriquebackend.recipevault.recipe.revision;
+
+import java.time.Instant;
+
+/**
+ * An entry of a recipe's history as listed to its owner.
+ *
+ * @param revisionNumber the number of the revision, counting from 1
+ * @param recipeVersion  the version of the recipe the revision shows
+ * @param createdAt      when the revision was recorded
+ */
+public record RecipeRevisionSummary(int revisionNumber, long recipeVersion, Instant createdAt) {
+}
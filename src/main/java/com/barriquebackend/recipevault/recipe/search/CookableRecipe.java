@@ -0,0 +1,17 @@
+package com.barriquebackend.recipevault.recipe.search;
+
+import java.util.List;
+
+/**
+ * A recipe ranked by how many of its ingredients the user already has.
+ *
+ * @param recipeId            the ID of the recipe
+ * @param title               the title of the recipe
+ * @param matchedIngredients  the number of the recipe's ingredients the user has
+ * @param totalIngredients    the number of ingredients the recipe requires
+ * @param coverage            matchedIngredients divided by totalIngredients
+ * @param missingIngredients  the titles of the ingredients the user does not have
+ */
+public record CookableRecipe(long recipeId, String title, int matchedIngredients, int totalIngredients,
+                             double coverage, List<String> missingIngredients) {
+}
@@ -0,0 +1,322 @@
+package com.barriquebackend.recipevault.recipe.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index from ingredient terms to the recipe ingredients containing them, over the
+ * recipes of one user.
+ * <p>
+ * Every ingredient of a recipe occupies a slot. A posting is the pair (recipe ordinal, slot)
+ * packed into one {@code long}, so posting lists are sorted {@code long} arrays that can be
+ * intersected by merging. An owned ingredient such as "olive oil" covers every recipe
+ * ingredient whose terms include all of its own terms, like "extra virgin olive oil".
+ * </p>
+ * <p>
+ * A query only visits the postings of the owned ingredients' terms, never the recipes that
+ * share no ingredient with them. Ordinals are managed like in {@link InvertedIndex}.
+ * </p>
+ */
+final class IngredientCoverageIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinalsByRecipeId = new HashMap<>();
+
+    // Per-ordinal recipe data; terms[ordinal] is null for removed recipes.
+    private long[] recipeIds = new long[16];
+    private String[] titles = new String[16];
+    private String[][] ingredients = new String[16][];
+    private String[][] terms = new String[16][];
+    private int nextOrdinal;
+
+    /**
+     * Adds a recipe to the index, replacing any previous version of it.
+     *
+     * @param document the recipe, of which only the title and ingredients are used
+     */
+    void put(RecipeDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.recipeId());
+            addInternal(document);
+            if (nextOrdinal > 2 * ordinalsByRecipeId.size() + 64) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a recipe from the index if it is present.
+     *
+     * @param recipeId the ID of the recipe
+     */
+    void remove(long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the recipes whose ingredients are best covered by the given ingredients.
+     * <p>
+     * Recipes are ordered by the share of their ingredients that is covered, then by the number
+     * of missing ingredients. Recipes sharing no ingredient are not returned.
+     * </p>
+     *
+     * @param ownedIngredients the ingredients the user has
+     * @param limit            the maximum number of results
+     * @return the best covered recipes with their missing ingredients
+     */
+    List<CookableRecipe> findCookable(List<String> ownedIngredients, int limit) {
+        if (ownedIngredients == null || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, BitSet> covered = new HashMap<>();
+            for (String owned : ownedIngredients) {
+                long[] matches = intersect(terms(owned));
+                for (long posting : matches) {
+                    covered.computeIfAbsent((int) (posting >>> 32), ordinal -> new BitSet()).set((int) posting);
+                }
+            }
+
+            Comparator<Candidate> worstFirst = Comparator.comparingDouble(Candidate::coverage)
+                    .thenComparing(Comparator.comparingInt(Candidate::missing).reversed())
+                    .thenComparing(Comparator.comparingLong(Candidate::recipeId).reversed());
+            PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1, worstFirst);
+            for (Map.Entry<Integer, BitSet> entry : covered.entrySet()) {
+                int ordinal = entry.getKey();
+                int total = ingredients[ordinal].length;
+                int matched = entry.getValue().cardinality();
+                best.offer(new Candidate(ordinal, recipeIds[ordinal], (double) matched / total, total - matched, entry.getValue()));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            CookableRecipe[] results = new CookableRecipe[best.size()];
+            for (int i = results.length - 1; i >= 0; i--) {
+                Candidate candidate = best.poll();
+                String[] recipeIngredients = ingredients[candidate.ordinal()];
+                List<String> missing = new ArrayList<>(candidate.missing());
+                for (int slot = 0; slot < recipeIngredients.length; slot++) {
+                    if (!candidate.slots().get(slot)) {
+                        missing.add(recipeIngredients[slot]);
+                    }
+                }
+                results[i] = new CookableRecipe(candidate.recipeId(), titles[candidate.ordinal()],
+                        recipeIngredients.length - candidate.missing(), recipeIngredients.length,
+                        candidate.coverage(), missing);
+            }
+            return Arrays.asList(results);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Postings of the ingredients containing all the terms, merging the shortest lists first.
+    private long[] intersect(List<String> ownedTerms) {
+        if (ownedTerms.isEmpty()) {
+            return new long[0];
+        }
+        List<PostingList> lists = new ArrayList<>(ownedTerms.size());
+        for (String term : ownedTerms) {
+            PostingList postingList = postings.get(term);
+            if (postingList == null) {
+                return new long[0];
+            }
+            lists.add(postingList);
+        }
+        lists.sort(Comparator.comparingInt(postingList -> postingList.size));
+
+        long[] result = Arrays.copyOf(lists.get(0).postings, lists.get(0).size);
+        int resultSize = result.length;
+        for (int l = 1; l < lists.size() && resultSize > 0; l++) {
+            PostingList other = lists.get(l);
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < resultSize && j < other.size; ) {
+                if (result[i] == other.postings[j]) {
+                    result[kept++] = result[i++];
+                    j++;
+                } else if (result[i] < other.postings[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            resultSize = kept;
+        }
+        return Arrays.copyOf(result, resultSize);
+    }
+
+    private void addInternal(RecipeDocument document) {
+        List<String> recipeIngredients = new ArrayList<>();
+        Map<String, List<Integer>> slotsByTerm = new HashMap<>();
+        for (String ingredient : document.ingredients()) {
+            List<String> ingredientTerms = terms(ingredient);
+            if (ingredientTerms.isEmpty()) {
+                continue;
+            }
+            int slot = recipeIngredients.size();
+            recipeIngredients.add(ingredient);
+            for (String term : ingredientTerms) {
+                slotsByTerm.computeIfAbsent(term, t -> new ArrayList<>()).add(slot);
+            }
+        }
+        if (recipeIngredients.isEmpty()) {
+            return;
+        }
+
+        int ordinal = nextOrdinal++;
+        ensureCapacity(nextOrdinal);
+        recipeIds[ordinal] = document.recipeId();
+        titles[ordinal] = document.title();
+        ingredients[ordinal] = recipeIngredients.toArray(new String[0]);
+        ordinalsByRecipeId.put(document.recipeId(), ordinal);
+
+        String[] recipeTerms = new String[slotsByTerm.size()];
+        int i = 0;
+        for (Map.Entry<String, List<Integer>> entry : slotsByTerm.entrySet()) {
+            PostingList postingList = postings.computeIfAbsent(entry.getKey(), PostingList::new);
+            for (int slot : entry.getValue()) {
+                postingList.append(((long) ordinal << 32) | slot);
+            }
+            recipeTerms[i++] = postingList.term;
+        }
+        terms[ordinal] = recipeTerms;
+    }
+
+    private void removeInternal(long recipeId) {
+        Integer ordinal = ordinalsByRecipeId.remove(recipeId);
+        if (ordinal == null) {
+            return;
+        }
+        for (String term : terms[ordinal]) {
+            PostingList postingList = postings.get(term);
+            postingList.removeOrdinal(ordinal);
+            if (postingList.size == 0) {
+                postings.remove(term);
+            }
+        }
+        terms[ordinal] = null;
+        titles[ordinal] = null;
+        ingredients[ordinal] = null;
+    }
+
+    // Renumbers live recipes densely. The mapping is monotonic, so posting lists stay sorted.
+    private void compact() {
+        int[] remap = new int[nextOrdinal];
+        int live = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            if (terms[ordinal] == null) {
+                remap[ordinal] = -1;
+                continue;
+            }
+            remap[ordinal] = live;
+            recipeIds[live] = recipeIds[ordinal];
+            titles[live] = titles[ordinal];
+            ingredients[live] = ingredients[ordinal];
+            terms[live] = terms[ordinal];
+            ordinalsByRecipeId.put(recipeIds[live], live);
+            live++;
+        }
+        Arrays.fill(terms, live, nextOrdinal, null);
+        Arrays.fill(titles, live, nextOrdinal, null);
+        Arrays.fill(ingredients, live, nextOrdinal, null);
+        for (PostingList postingList : postings.values()) {
+            for (int i = 0; i < postingList.size; i++) {
+                long posting = postingList.postings[i];
+                postingList.postings[i] = ((long) remap[(int) (posting >>> 32)] << 32) | (posting & 0xFFFFFFFFL);
+            }
+        }
+        nextOrdinal = live;
+    }
+
+    // Distinct terms of an ingredient, with simple English plurals folded to the singular.
+    private static List<String> terms(String text) {
+        LinkedHashSet<String> result = new LinkedHashSet<>();
+        for (String token : Tokenizer.tokenize(text)) {
+            result.add(singular(token));
+        }
+        return new ArrayList<>(result);
+    }
+
+    private static String singular(String token) {
+        if (token.length() <= 3 || !token.endsWith("s") || token.endsWith("ss")) {
+            return token;
+        }
+        if (token.endsWith("ies")) {
+            return token.substring(0, token.length() - 3) + "y";
+        }
+        if (token.endsWith("oes") || token.endsWith("ches") || token.endsWith("shes")) {
+            return token.substring(0, token.length() - 2);
+        }
+        return token.substring(0, token.length() - 1);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= recipeIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, recipeIds.length * 2);
+        recipeIds = Arrays.copyOf(recipeIds, newCapacity);
+        titles = Arrays.copyOf(titles, newCapacity);
+        ingredients = Arrays.copyOf(ingredients, newCapacity);
+        terms = Arrays.copyOf(terms, newCapacity);
+    }
+
+    private record Candidate(int ordinal, long recipeId, double coverage, int missing, BitSet slots) {
+    }
+
+    /**
+     * Packed (ordinal, slot) pairs of the ingredients containing one term, sorted ascending.
+     */
+    private static final class PostingList {
+
+        private final String term;
+        private long[] postings = new long[4];
+        private int size;
+
+        private PostingList(String term) {
+            this.term = term;
+        }
+
+        private void append(long posting) {
+            if (size == postings.length) {
+                postings = Arrays.copyOf(postings, size * 2);
+            }
+            postings[size++] = posting;
+        }
+
+        private void removeOrdinal(int ordinal) {
+            long from = (long) ordinal << 32;
+            int start = Arrays.binarySearch(postings, 0, size, from);
+            if (start < 0) {
+                start = -start - 1;
+            }
+            int end = start;
+            while (end < size && (int) (postings[end] >>> 32) == ordinal) {
+                end++;
+            }
+            System.arraycopy(postings, end, postings, start, size - end);
+            size -= end - start;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.barriquebackend.recipevault.recipe.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the recipes of one user, ranked with BM25.
+ * <p>
+ * Each recipe gets a dense ordinal. Posting lists are parallel {@code int} arrays of ordinals
+ * (kept sorted because ordinals only grow) and term frequencies. Title terms count
+ * {@value #TITLE_WEIGHT} times, so a match in the title outranks one in a step.
+ * </p>
+ * <p>
+ * Removing a recipe deletes its ordinal from the posting lists of its own terms, so index
+ * statistics stay exact. Ordinals freed that way are reclaimed by compaction once they
+ * outnumber the live documents.
+ * </p>
+ */
+final class InvertedIndex {
+
+    static final double K1 = 1.2;
+    static final double B = 0.75;
+    static final int TITLE_WEIGHT = 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinalsByRecipeId = new HashMap<>();
+
+    // Per-ordinal document data; terms[ordinal] is null for removed documents.
+    private long[] recipeIds = new long[16];
+    private String[] titles = new String[16];
+    private int[] lengths = new int[16];
+    private String[][] terms = new String[16][];
+    private int nextOrdinal;
+    private long totalLength;
+
+    /**
+     * Adds a recipe to the index, replacing any previous version of it.
+     *
+     * @param document the searchable text of the recipe
+     */
+    void put(RecipeDocument document) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.recipeId());
+            addInternal(document);
+            if (nextOrdinal > 2 * ordinalsByRecipeId.size() + 64) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a recipe from the index if it is present.
+     *
+     * @param recipeId the ID of the recipe
+     */
+    void remove(long recipeId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed recipes.
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsByRecipeId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the recipes matching any of the query terms, best matches first.
+     *
+     * @param query the search text
+     * @param limit the maximum number of hits
+     * @return the hits ordered by descending BM25 score
+     */
+    List<RecipeSearchHit> search(String query, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = ordinalsByRecipeId.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / documentCount;
+            float[] scores = new float[nextOrdinal];
+            int[] matched = new int[nextOrdinal];
+            int matchedCount = 0;
+
+            for (String term : queryTerms) {
+                PostingList postingList = postings.get(term);
+                if (postingList == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - postingList.size + 0.5) / (postingList.size + 0.5));
+                for (int i = 0; i < postingList.size; i++) {
+                    int ordinal = postingList.ordinals[i];
+                    int frequency = postingList.frequencies[i];
+                    double norm = K1 * (1 - B + B * lengths[ordinal] / averageLength);
+                    if (scores[ordinal] == 0) {
+                        matched[matchedCount++] = ordinal;
+                    }
+                    scores[ordinal] += (float) (idf * frequency * (K1 + 1) / (frequency + norm));
+                }
+            }
+
+            PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1,
+                    (a, b) -> Float.compare(scores[a], scores[b]));
+            for (int i = 0; i < matchedCount; i++) {
+                best.offer(matched[i]);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+
+            RecipeSearchHit[] hits = new RecipeSearchHit[best.size()];
+            for (int i = hits.length - 1; i >= 0; i--) {
+                int ordinal = best.poll();
+                hits[i] = new RecipeSearchHit(recipeIds[ordinal], titles[ordinal], scores[ordinal]);
+            }
+            return Arrays.asList(hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addInternal(RecipeDocument document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        length += count(frequencies, document.title(), TITLE_WEIGHT);
+        length += count(frequencies, document.description(), 1);
+        for (String ingredient : document.ingredients()) {
+            length += count(frequencies, ingredient, 1);
+        }
+        for (String step : document.steps()) {
+            length += count(frequencies, step, 1);
+        }
+
+        int ordinal = nextOrdinal++;
+        ensureCapacity(nextOrdinal);
+        recipeIds[ordinal] = document.recipeId();
+        titles[ordinal] = document.title();
+        lengths[ordinal] = length;
+        totalLength += length;
+        ordinalsByRecipeId.put(document.recipeId(), ordinal);
+
+        String[] documentTerms = new String[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            PostingList postingList = postings.computeIfAbsent(entry.getKey(), PostingList::new);
+            postingList.append(ordinal, entry.getValue());
+            // Keep the posting list's copy of the term, so each distinct term string is held once.
+            documentTerms[i++] = postingList.term;
+        }
+        terms[ordinal] = documentTerms;
+    }
+
+    private void removeInternal(long recipeId) {
+        Integer ordinal = ordinalsByRecipeId.remove(recipeId);
+        if (ordinal == null) {
+            return;
+        }
+        for (String term : terms[ordinal]) {
+            PostingList postingList = postings.get(term);
+            postingList.remove(ordinal);
+            if (postingList.size == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= lengths[ordinal];
+        terms[ordinal] = null;
+        titles[ordinal] = null;
+    }
+
+    // Renumbers live documents densely. The mapping is monotonic, so posting lists stay sorted.
+    private void compact() {
+        int[] remap = new int[nextOrdinal];
+        int live = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            if (terms[ordinal] == null) {
+                remap[ordinal] = -1;
+                continue;
+            }
+            remap[ordinal] = live;
+            recipeIds[live] = recipeIds[ordinal];
+            titles[live] = titles[ordinal];
+            lengths[live] = lengths[ordinal];
+            terms[live] = terms[ordinal];
+            ordinalsByRecipeId.put(recipeIds[live], live);
+            live++;
+        }
+        Arrays.fill(terms, live, nextOrdinal, null);
+        Arrays.fill(titles, live, nextOrdinal, null);
+        for (PostingList postingList : postings.values()) {
+            for (int i = 0; i < postingList.size; i++) {
+                postingList.ordinals[i] = remap[postingList.ordinals[i]];
+            }
+        }
+        nextOrdinal = live;
+    }
+
+    private static int count(Map<String, Integer> frequencies, String text, int weight) {
+        List<String> tokens = Tokenizer.tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= recipeIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, recipeIds.length * 2);
+        recipeIds = Arrays.copyOf(recipeIds, newCapacity);
+        titles = Arrays.copyOf(titles, newCapacity);
+        lengths = Arrays.copyOf(lengths, newCapacity);
+        terms = Arrays.copyOf(terms, newCapacity);
+    }
+
+    /**
+     * Ordinals and term frequencies of the documents containing one term, sorted by ordinal.
+     */
+    private static final class PostingList {
+
+        private final String term;
+        private int[] ordinals = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        private PostingList(String term) {
+            this.term = term;
+        }
+
+        private void append(int ordinal, int frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        private void remove(int ordinal) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ordinals, index + 1, ordinals, index, size - index - 1);
+            System.arraycopy(frequencies, index + 1, frequencies, index, size - index - 1);
+            size--;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.barriquebackend.recipevault.recipe.search;
+
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.recipevault.recipe.components.Ingredient;
+import com.barriquebackend.recipevault.recipe.components.RecipeStep;
+
+import java.util.List;
+
+/**
+ * The searchable text of a recipe, detached from the entity so it can be indexed
+ * outside of a persistence context.
+ *
+ * @param recipeId    the ID of the recipe
+ * @param title       the recipe title
+ * @param description the recipe description
+ * @param ingredients the ingredient titles
+ * @param steps       the step descriptions
+ */
+record RecipeDocument(long recipeId, String title, String description, List<String> ingredients, List<String> steps) {
+
+    static RecipeDocument from(Recipe recipe) {
+        List<String> ingredients = recipe.getIngredients() == null ? List.of()
+                : recipe.getIngredients().stream().map(Ingredient::getTitle).toList();
+        List<String> steps = recipe.getSteps() == null ? List.of()
+                : recipe.getSteps().stream().map(RecipeStep::getStepDescription).toList();
+        return new RecipeDocument(recipe.getRecipeId(), recipe.getTitle(), recipe.getDescription(), ingredients, steps);
+    }
+}
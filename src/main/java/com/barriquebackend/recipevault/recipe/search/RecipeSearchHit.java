@@ -0,0 +1,11 @@
+package com.barriquebackend.recipevault.recipe.search;
+
+/**
+ * A single recipe search result.
+ *
+ * @param recipeId the ID of the matching recipe
+ * @param title    the title of the matching recipe
+ * @param score    the BM25 relevance score; higher is better
+ */
+public record RecipeSearchHit(long recipeId, String title, double score) {
+}
@@ -0,0 +1,190 @@
+package com.barriquebackend.recipevault.recipe.search;
+
+import com.barriquebackend.recipevault.recipe.BulkRecipeChangedEvent;
+import com.barriquebackend.recipevault.recipe.RecipeChangedEvent;
+import com.barriquebackend.recipevault.recipe.RecipeRepository;
+import com.barriquebackend.user.purge.AccountPurgeRequestedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service class for full-text search and ingredient-coverage search over a user's recipes.
+ * <p>
+ * Each user gets an {@link InvertedIndex} and an {@link IngredientCoverageIndex} that are built
+ * from the database on their first search and then kept current from {@link RecipeChangedEvent}s. Indexes that have not been
+ * searched for {@link #IDLE_TIMEOUT} are dropped and rebuilt on demand.
+ * </p>
+ */
+@Service
+public class RecipeSearchService {
+
+    private static final int MAX_LIMIT = 100;
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(30);
+
+    private final RecipeRepository recipeRepository;
+    private final ConcurrentHashMap<Long, UserIndex> indexes = new ConcurrentHashMap<>();
+    // Bumped on every change, so an index built from a snapshot that went stale is not kept. Entries are
+    // created by builds only and dropped with the index they belong to.
+    private final ConcurrentHashMap<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a RecipeSearchService with the specified RecipeRepository.
+     *
+     * @param recipeRepository the repository used to load recipes when an index is built
+     */
+    public RecipeSearchService(RecipeRepository recipeRepository) {
+        this.recipeRepository = recipeRepository;
+    }
+
+    /**
+     * Searches the titles, descriptions, ingredients and steps of a user's recipes.
+     *
+     * @param userId the ID of the user whose recipes are searched
+     * @param query  the search text
+     * @param limit  the maximum number of hits, capped at {@value #MAX_LIMIT}
+     * @return the hits ordered by descending relevance
+     */
+    @Transactional(readOnly = true)
+    public List<RecipeSearchHit> search(Long userId, String query, int limit) {
+        return indexFor(userId).text.search(query, Math.min(Math.max(limit, 1), MAX_LIMIT));
+    }
+
+    /**
+     * Ranks a user's recipes by how many of their ingredients the user already has.
+     *
+     * @param userId           the ID of the user whose recipes are searched
+     * @param ownedIngredients the ingredients the user has
+     * @param limit            the maximum number of results, capped at {@value #MAX_LIMIT}
+     * @return the recipes with the highest share of owned ingredients, with the missing ones listed
+     */
+    @Transactional(readOnly = true)
+    public List<CookableRecipe> findCookableRecipes(Long userId, List<String> ownedIngredients, int limit) {
+        return indexFor(userId).coverage.findCookable(ownedIngredients, Math.min(Math.max(limit, 1), MAX_LIMIT));
+    }
+
+    /**
+     * Applies a recipe change to the owner's index, if one has been built.
+     *
+     * @param event the recipe change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        bumpGeneration(event.userId());
+        UserIndex userIndex = indexes.get(event.userId());
+        if (userIndex == null) {
+            return;
+        }
+        if (event.deleted()) {
+            userIndex.remove(event.recipeId());
+        } else if (event.recipe() != null) {
+            userIndex.put(RecipeDocument.from(event.recipe()));
+        } else {
+            recipeRepository.findById(event.recipeId()).ifPresentOrElse(
+                    recipe -> userIndex.put(RecipeDocument.from(recipe)),
+                    () -> userIndex.remove(event.recipeId()));
+        }
+    }
+
+    /**
+     * Removes the recipes of a bulk delete from the owner's index. The other bulk operations
+     * change neither text nor ingredients, so the index stays as it is.
+     *
+     * @param event the bulk change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkRecipeChanged(BulkRecipeChangedEvent event) {
+        if (!event.deleted()) {
+            return;
+        }
+        bumpGeneration(event.userId());
+        UserIndex userIndex = indexes.get(event.userId());
+        if (userIndex != null) {
+            event.recipeIds().forEach(userIndex::remove);
+        }
+    }
+
+    /**
+     * Drops the index of an account that is being deleted.
+     *
+     * @param event the purge request
+     */
+    @EventListener
+    public void onAccountPurgeRequested(AccountPurgeRequestedEvent event) {
+        indexes.remove(event.userId());
+        generations.remove(event.userId());
+    }
+
+    /**
+     * Drops indexes that have not been used recently, together with their generations.
+     */
+    @Scheduled(fixedDelay = 300_000)
+    public void evictIdleIndexes() {
+        long threshold = System.nanoTime() - IDLE_TIMEOUT.toNanos();
+        indexes.values().removeIf(userIndex -> userIndex.lastAccess - threshold < 0);
+        generations.keySet().removeIf(userId -> !indexes.containsKey(userId));
+    }
+
+    private UserIndex indexFor(Long userId) {
+        UserIndex existing = indexes.get(userId);
+        if (existing != null) {
+            existing.lastAccess = System.nanoTime();
+            return existing;
+        }
+
+        // Built outside of any map lock so that a slow load never blocks other users.
+        // Registered before loading, so a change committed after the load is counted
+        AtomicLong generation = generations.computeIfAbsent(userId, id -> new AtomicLong());
+        long seen = generation.get();
+        UserIndex built = new UserIndex();
+        recipeRepository.findAllByUserId(userId).forEach(recipe -> built.put(RecipeDocument.from(recipe)));
+        if (!isCurrent(userId, generation, seen)) {
+            return built;
+        }
+
+        UserIndex raced = indexes.putIfAbsent(userId, built);
+        if (raced != null) {
+            return raced;
+        }
+        if (!isCurrent(userId, generation, seen)) {
+            indexes.remove(userId, built);
+        }
+        return built;
+    }
+
+    private void bumpGeneration(Long userId) {
+        AtomicLong generation = generations.get(userId);
+        if (generation != null) {
+            generation.incrementAndGet();
+        }
+    }
+
+    // False if the entry changed or was dropped by the eviction meanwhile.
+    private boolean isCurrent(Long userId, AtomicLong generation, long seen) {
+        return generations.get(userId) == generation && generation.get() == seen;
+    }
+
+    private static final class UserIndex {
+
+        private final InvertedIndex text = new InvertedIndex();
+        private final IngredientCoverageIndex coverage = new IngredientCoverageIndex();
+        private volatile long lastAccess = System.nanoTime();
+
+        private void put(RecipeDocument document) {
+            text.put(document);
+            coverage.put(document);
+        }
+
+        private void remove(long recipeId) {
+            text.remove(recipeId);
+            coverage.remove(recipeId);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.barriquebackend.recipevault.recipe.share;
+
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.recipevault.recipe.components.Ingredient;
+import com.barriquebackend.recipevault.recipe.components.NutritionalValue;
+import com.barriquebackend.recipevault.recipe.components.RecipeStep;
+import com.barriquebackend.recipevault.recipe.components.Tool;
+import com.barriquebackend.recipevault.recipe.components.tag.Tag;
+
+import java.util.List;
+
+/**
+ * The view of a recipe shown to anyone holding its share link. Unlike {@link Recipe} it leaves
+ * out the owner's bookkeeping such as IDs, versions and the favorite flag.
+ */
+public record PublicRecipe(String title,
+                           String description,
+                           String imageUrl,
+                           String thumbnailUrl,
+                           String time,
+                           Integer timeMinutes,
+                           String sourceUrl,
+                           int servings,
+                           int portionSize,
+                           List<Ingredient> ingredients,
+                           List<NutritionalValue> nutritionalValues,
+                           List<RecipeStep> steps,
+                           List<Tool> tools,
+                           List<Tag> tags) {
+
+    public static PublicRecipe from(Recipe recipe) {
+        return new PublicRecipe(recipe.getTitle(), recipe.getDescription(), recipe.getImageUrl(),
+                recipe.getThumbnailUrl(), recipe.getTime(), recipe.getTimeMinutes(), recipe.getSourceUrl(),
+                recipe.getServings(), recipe.getPortionSize(), recipe.getIngredients(),
+                recipe.getNutritionalValues(), recipe.getSteps(), recipe.getTools(), recipe.getTags());
+    }
+}
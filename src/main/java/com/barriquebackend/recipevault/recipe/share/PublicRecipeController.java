@@ -0,0 +1,49 @@
+package com.barriquebackend.recipevault.recipe.share;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+/**
+ * REST controller serving shared recipes without authentication.
+ * <p>
+ * Requests below {@code /public} skip the JWT filter, and responses may be cached by shared
+ * caches. They are kept briefly and revalidated with their ETag, so that edits and revoked links
+ * reach visitors within a minute.
+ * </p>
+ */
+@RestController
+@RequestMapping("/public")
+public class PublicRecipeController {
+
+    private static final CacheControl SHARED_CACHE = CacheControl.maxAge(Duration.ofSeconds(60)).cachePublic();
+
+    private final RecipeShareService recipeShareService;
+
+    /**
+     * Constructs a PublicRecipeController.
+     *
+     * @param recipeShareService the service for share links
+     */
+    public PublicRecipeController(RecipeShareService recipeShareService) {
+        this.recipeShareService = recipeShareService;
+    }
+
+    /**
+     * Retrieves a shared recipe.
+     *
+     * @param token       the token of the share link
+     * @param ifNoneMatch the If-None-Match header (optional)
+     * @return a ResponseEntity with the recipe as JSON, 304, or 404 if the link is unknown or revoked
+     */
+    @GetMapping("/recipe/{token}")
+    public ResponseEntity<byte[]> getSharedRecipe(@PathVariable String token,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return recipeShareService.getSharedRecipe(token)
+                .map(response -> response.toResponse(ifNoneMatch, SHARED_CACHE))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
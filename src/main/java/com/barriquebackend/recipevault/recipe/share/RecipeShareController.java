@@ -0,0 +1,82 @@
+package com.barriquebackend.recipevault.recipe.share;
+
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.recipevault.recipe.RecipeService;
+import com.barriquebackend.user.User;
+import com.barriquebackend.user.UserRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for managing the share links of the authenticated user's recipes.
+ */
+@RestController
+@RequestMapping("/api")
+public class RecipeShareController {
+
+    private final RecipeShareService recipeShareService;
+    private final RecipeService recipeService;
+    private final UserRepository userRepository;
+
+    /**
+     * Constructs a RecipeShareController.
+     *
+     * @param recipeShareService the service for share links
+     * @param recipeService      the service used to check recipe ownership
+     * @param userRepository     the repository for user data
+     */
+    public RecipeShareController(RecipeShareService recipeShareService, RecipeService recipeService,
+                                 UserRepository userRepository) {
+        this.recipeShareService = recipeShareService;
+        this.recipeService = recipeService;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Shares a recipe through a public link. Sharing a shared recipe again returns its existing link.
+     *
+     * @param id             the ID of the recipe
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the share link, or 403 for another user's recipe
+     */
+    @PostMapping("/recipe/{id}/share")
+    public ResponseEntity<ShareLink> shareRecipe(@PathVariable Long id, Authentication authentication) {
+        User user = getAuthenticatedUser(authentication);
+        Recipe recipe = recipeService.getRecipeById(id);
+        if (!recipe.getUser().getId().equals(user.getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(recipeShareService.share(recipe));
+    }
+
+    /**
+     * Stops sharing a recipe.
+     *
+     * @param id             the ID of the recipe
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with 204, or 403 for another user's recipe
+     */
+    @DeleteMapping("/recipe/{id}/share")
+    public ResponseEntity<Void> unshareRecipe(@PathVariable Long id, Authentication authentication) {
+        User user = getAuthenticatedUser(authentication);
+        Recipe recipe = recipeService.getRecipeById(id);
+        if (!recipe.getUser().getId().equals(user.getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        recipeShareService.unshare(recipe);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Helper method to extract the authenticated user from the security context.
+     *
+     * @param authentication the authentication token containing user details
+     * @return the authenticated User
+     */
+    private User getAuthenticatedUser(Authentication authentication) {
+        String username = authentication.getName();
+        return userRepository.findByUsername(username);
+    }
+}
@@ -0,0 +1,176 @@
+package com.barriquebackend.recipevault.recipe.share;
+
+import com.barriquebackend.recipevault.recipe.BulkRecipeChangedEvent;
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.recipevault.recipe.RecipeChangedEvent;
+import com.barriquebackend.recipevault.recipe.RecipeRepository;
+import com.barriquebackend.user.purge.AccountPurgeRequestedEvent;
+import com.barriquebackend.web.CachedResponse;
+import com.barriquebackend.web.ETags;
+import com.barriquebackend.web.LruCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Service class for sharing recipes through public links.
+ * <p>
+ * A shared recipe is rendered to JSON once and kept in a bounded in-memory cache, so repeated
+ * visits of a popular link are served without any database query. Entries are dropped whenever
+ * the recipe changes, is unshared or deleted, or its owner's account is being deleted.
+ * </p>
+ */
+@Service
+public class RecipeShareService {
+
+    private static final int TOKEN_BYTES = 16;
+    private static final Pattern TOKEN = Pattern.compile("[A-Za-z0-9_-]{22}");
+
+    private final RecipeRepository recipeRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SecureRandom random = new SecureRandom();
+    private final LruCache<String, SharedRecipe> cache;
+    // Incremented by every invalidation, so that a render racing with a change is not cached.
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Constructs a RecipeShareService.
+     *
+     * @param recipeRepository   the repository for recipe data
+     * @param objectMapper       the mapper shared recipes are rendered with
+     * @param transactionManager the transaction manager
+     * @param cacheSize          the maximum number of rendered recipes kept in memory
+     */
+    public RecipeShareService(RecipeRepository recipeRepository, ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${recipe.share.cache-size:1000}") int cacheSize) {
+        this.recipeRepository = recipeRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cache = new LruCache<>(cacheSize);
+    }
+
+    /**
+     * Shares a recipe, keeping its existing link if it is shared already.
+     *
+     * @param recipe the recipe, whose ownership has been verified
+     * @return the share link
+     */
+    @Transactional
+    public ShareLink share(Recipe recipe) {
+        if (recipe.getShareToken() != null) {
+            return ShareLink.of(recipe.getShareToken());
+        }
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        recipeRepository.updateShareToken(recipe.getRecipeId(), token);
+        return ShareLink.of(token);
+    }
+
+    /**
+     * Stops sharing a recipe; its link answers 404 from now on.
+     *
+     * @param recipe the recipe, whose ownership has been verified
+     */
+    public void unshare(Recipe recipe) {
+        // Invalidated after the commit, so that no request can render the still shared recipe again
+        transactionTemplate.executeWithoutResult(status -> recipeRepository.updateShareToken(recipe.getRecipeId(), null));
+        invalidateRecipe(recipe.getRecipeId());
+    }
+
+    /**
+     * Retrieves the rendered JSON of a shared recipe.
+     *
+     * @param token the token of the share link
+     * @return the response, or empty if no recipe is shared under the token
+     */
+    public Optional<CachedResponse> getSharedRecipe(String token) {
+        if (!TOKEN.matcher(token).matches()) {
+            return Optional.empty();
+        }
+        SharedRecipe cached = cache.get(token);
+        if (cached != null) {
+            return Optional.of(cached.response());
+        }
+
+        long renderedAt = generation.get();
+        Optional<SharedRecipe> rendered = readOnlyTransaction.execute(status ->
+                recipeRepository.findSharedRecipe(token).map(this::render));
+        if (rendered.isPresent() && generation.get() == renderedAt) {
+            cache.put(token, rendered.get());
+        }
+        return rendered.map(SharedRecipe::response);
+    }
+
+    /**
+     * Drops the rendered copy of a changed or deleted recipe.
+     *
+     * @param event the recipe change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        invalidateRecipe(event.recipeId());
+    }
+
+    /**
+     * Drops the rendered recipes of a bulk operation.
+     *
+     * @param event the bulk change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkRecipeChanged(BulkRecipeChangedEvent event) {
+        Set<Long> recipeIds = Set.copyOf(event.recipeIds());
+        generation.incrementAndGet();
+        cache.removeIf((token, shared) -> recipeIds.contains(shared.recipeId()));
+    }
+
+    /**
+     * Drops the rendered recipes of an account that is being deleted.
+     *
+     * @param event the purge request
+     */
+    @EventListener
+    public void onAccountPurgeRequested(AccountPurgeRequestedEvent event) {
+        generation.incrementAndGet();
+        cache.removeIf((token, shared) -> shared.userId().equals(event.userId()));
+    }
+
+    private void invalidateRecipe(Long recipeId) {
+        generation.incrementAndGet();
+        cache.removeIf((token, shared) -> shared.recipeId().equals(recipeId));
+    }
+
+    private SharedRecipe render(Recipe recipe) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(PublicRecipe.from(recipe));
+            String etag = ETags.of("shared-recipe", recipe.getRecipeId(), recipe.getVersion());
+            return new SharedRecipe(recipe.getUser().getId(), recipe.getRecipeId(),
+                    new CachedResponse(body, MediaType.APPLICATION_JSON, etag));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record SharedRecipe(Long userId, Long recipeId, CachedResponse response) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.barriquebackend.recipevault.recipe.share;
+
+/**
+ * The public link of a shared recipe.
+ *
+ * @param token the secret part of the link
+ * @param url   the path serving the recipe without authentication
+ */
+public record ShareLink(String token, String url) {
+
+    static ShareLink of(String token) {
+        return new ShareLink(token, "/public/recipe/" + token);
+    }
+}
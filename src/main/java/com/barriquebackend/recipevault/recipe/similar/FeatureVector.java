@@ -0,0 +1,174 @@
+package com.barriquebackend.recipevault.recipe.similar;
+
+import com.barriquebackend.recipevault.ingredient.IngredientTerm;
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.recipevault.recipe.components.Ingredient;
+import com.barriquebackend.recipevault.recipe.components.tag.TagType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A sparse, unit-length feature vector describing a recipe, so that the cosine similarity of two
+ * recipes is the dot product of their vectors.
+ * <p>
+ * Features are the recipe's tag types, its normalized ingredient names and its cooking time in
+ * half-octave buckets, with the two neighbouring buckets at half weight so that 40 and 50 minutes
+ * still match. Each group is normalized on its own and then weighted, so a recipe with twenty
+ * ingredients does not drown its tags.
+ * </p>
+ */
+final class FeatureVector {
+
+    private static final long TAG = 1L << 56;
+    private static final long INGREDIENT = 2L << 56;
+    private static final long TIME = 3L << 56;
+    private static final long VALUE_MASK = (1L << 56) - 1;
+
+    private static final double TAG_WEIGHT = 0.35;
+    private static final double INGREDIENT_WEIGHT = 0.45;
+    private static final double TIME_WEIGHT = 0.2;
+
+    private static final int ENTRY_BYTES = Long.BYTES + Float.BYTES;
+
+    private final long[] keys;
+    private final float[] weights;
+
+    private FeatureVector(long[] keys, float[] weights) {
+        this.keys = keys;
+        this.weights = weights;
+    }
+
+    /**
+     * Builds the feature vector of a recipe.
+     *
+     * @param recipe the recipe
+     * @return its vector, empty if the recipe has no tags, ingredients or parsed cooking time
+     */
+    static FeatureVector of(Recipe recipe) {
+        Map<Long, Double> tags = new TreeMap<>();
+        for (TagType tagType : TagType.values()) {
+            if ((recipe.getTagMask() & tagType.bit()) != 0) {
+                tags.put(TAG | tagType.ordinal(), 1.0);
+            }
+        }
+
+        Map<Long, Double> ingredients = new TreeMap<>();
+        if (recipe.getIngredients() != null) {
+            for (Ingredient ingredient : recipe.getIngredients()) {
+                if (ingredient.getTitle() != null && !ingredient.getTitle().isBlank()) {
+                    ingredients.put(INGREDIENT | (hash(IngredientTerm.normalize(ingredient.getTitle())) & VALUE_MASK), 1.0);
+                }
+            }
+        }
+
+        Map<Long, Double> time = new TreeMap<>();
+        Integer minutes = recipe.getTimeMinutes();
+        if (minutes != null && minutes > 0) {
+            long bucket = Math.round(2 * Math.log(minutes) / Math.log(2));
+            time.put(TIME | bucket, 1.0);
+            time.put(TIME | (bucket + 1), 0.5);
+            if (bucket > 0) {
+                time.put(TIME | (bucket - 1), 0.5);
+            }
+        }
+
+        TreeMap<Long, Double> features = new TreeMap<>();
+        addGroup(features, tags, TAG_WEIGHT);
+        addGroup(features, ingredients, INGREDIENT_WEIGHT);
+        addGroup(features, time, TIME_WEIGHT);
+
+        double norm = 0;
+        for (double weight : features.values()) {
+            norm += weight * weight;
+        }
+        norm = Math.sqrt(norm);
+        long[] keys = new long[features.size()];
+        float[] weights = new float[features.size()];
+        int i = 0;
+        for (Map.Entry<Long, Double> feature : features.entrySet()) {
+            keys[i] = feature.getKey();
+            weights[i] = (float) (feature.getValue() / norm);
+            i++;
+        }
+        return new FeatureVector(keys, weights);
+    }
+
+    /**
+     * Restores a vector written by {@link #encode()}.
+     *
+     * @param bytes the encoded vector
+     * @return the vector
+     */
+    static FeatureVector decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int size = bytes.length / ENTRY_BYTES;
+        long[] keys = new long[size];
+        float[] weights = new float[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = buffer.getLong();
+            weights[i] = buffer.getFloat();
+        }
+        return new FeatureVector(keys, weights);
+    }
+
+    /**
+     * Encodes the vector as twelve bytes per feature.
+     *
+     * @return the encoded vector
+     */
+    byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(keys.length * ENTRY_BYTES);
+        for (int i = 0; i < keys.length; i++) {
+            buffer.putLong(keys[i]).putFloat(weights[i]);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Computes the cosine similarity to another vector by merging the sorted feature keys.
+     *
+     * @param other the other vector
+     * @return the similarity between 0 and 1, 0 if either vector is empty
+     */
+    double similarity(FeatureVector other) {
+        double dot = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                dot += (double) weights[i++] * other.weights[j++];
+            }
+        }
+        return Math.min(dot, 1.0);
+    }
+
+    boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    private static void addGroup(Map<Long, Double> features, Map<Long, Double> group, double groupWeight) {
+        double norm = 0;
+        for (double weight : group.values()) {
+            norm += weight * weight;
+        }
+        double scale = Math.sqrt(groupWeight / norm);
+        group.forEach((key, weight) -> features.put(key, weight * scale));
+    }
+
+    // 64-bit FNV-1a; the 32-bit String.hashCode would collide too often across a large ingredient vocabulary.
+    private static long hash(String text) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : text.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,46 @@
+package com.barriquebackend.recipevault.recipe.similar;
+
+import jakarta.persistence.*;
+
+/**
+ * The encoded {@link FeatureVector} of a recipe.
+ */
+@Entity
+@Table(name = "recipe_feature_vector", indexes = @Index(name = "idx_recipe_feature_vector_user", columnList = "user_id"))
+public class RecipeFeatureVector {
+
+    @Id
+    private Long recipeId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private byte[] features;
+
+    protected RecipeFeatureVector() {
+    }
+
+    public RecipeFeatureVector(Long recipeId, Long userId, byte[] features) {
+        this.recipeId = recipeId;
+        this.userId = userId;
+        this.features = features;
+    }
+
+    // Getters and setters
+    public Long getRecipeId() {
+        return recipeId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public byte[] getFeatures() {
+        return features;
+    }
+
+    public void setFeatures(byte[] features) {
+        this.features = features;
+    }
+}
@@ -0,0 +1,24 @@
+package com.barriquebackend.recipevault.recipe.similar;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RecipeFeatureVectorRepository extends JpaRepository<RecipeFeatureVector, Long> {
+    List<RecipeFeatureVector> findAllByUserId(Long userId);
+
+    // (userId, recipeId) of recipes saved before similar recipes were computed.
+    @Query("select r.user.id, r.recipeId from Recipe r where not exists " +
+            "(select 1 from RecipeFeatureVector v where v.recipeId = r.recipeId)")
+    List<Object[]> findRecipesWithoutFeatureVector();
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from RecipeFeatureVector v where v.recipeId in :recipeIds")
+    int deleteByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+}
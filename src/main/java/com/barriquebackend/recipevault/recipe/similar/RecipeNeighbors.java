@@ -0,0 +1,62 @@
+package com.barriquebackend.recipevault.recipe.similar;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The precomputed most similar recipes of a recipe, kept in one row so that reading them is a
+ * single primary key lookup.
+ */
+@Entity
+@Table(name = "recipe_neighbors", indexes = @Index(name = "idx_recipe_neighbors_user", columnList = "user_id"))
+public class RecipeNeighbors {
+
+    @Id
+    private Long recipeId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Ordered by descending score.
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false)
+    private List<Neighbor> neighbors = new ArrayList<>();
+
+    protected RecipeNeighbors() {
+    }
+
+    public RecipeNeighbors(Long recipeId, Long userId) {
+        this.recipeId = recipeId;
+        this.userId = userId;
+    }
+
+    /**
+     * A similar recipe and how similar it is.
+     *
+     * @param recipeId the ID of the similar recipe
+     * @param score    the cosine similarity of the two recipes' feature vectors
+     */
+    public record Neighbor(Long recipeId, double score) {
+    }
+
+    // Getters and setters
+    public Long getRecipeId() {
+        return recipeId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public List<Neighbor> getNeighbors() {
+        return neighbors;
+    }
+
+    public void setNeighbors(List<Neighbor> neighbors) {
+        this.neighbors = neighbors;
+    }
+}
@@ -0,0 +1,19 @@
+package com.barriquebackend.recipevault.recipe.similar;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RecipeNeighborsRepository extends JpaRepository<RecipeNeighbors, Long> {
+    List<RecipeNeighbors> findAllByUserId(Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from RecipeNeighbors n where n.recipeId in :recipeIds")
+    int deleteByRecipeIds(@Param("recipeIds") Collection<Long> recipeIds);
+}
@@ -0,0 +1,11 @@
+package com.barriquebackend.recipevault.recipe.similar;
+
+/**
+ * A recipe recommended because it is similar to another one.
+ *
+ * @param recipeId the ID of the similar recipe
+ * @param title    its title
+ * @param score    how similar it is, between 0 and 1
+ */
+public record SimilarRecipe(Long recipeId, String title, double score) {
+}
@@ -0,0 +1,286 @@
+package com.barriquebackend.recipevault.recipe.similar;
+
+import com.barriquebackend.recipevault.recipe.BulkRecipeChangedEvent;
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.recipevault.recipe.RecipeChangedEvent;
+import com.barriquebackend.recipevault.recipe.RecipeRepository;
+import com.barriquebackend.user.purge.AccountPurgeRequestedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service class for "you might also like" recommendations.
+ * <p>
+ * Every recipe has a stored {@link FeatureVector} and a stored list of its {@value #NEIGHBORS}
+ * most similar recipes of the same user. Reading recommendations is one primary key lookup plus
+ * one query for the titles; nothing is compared at request time.
+ * </p>
+ * <p>
+ * Recipe changes only mark the recipe as pending. A background job picks up the pending recipes
+ * every few seconds, recomputes their vectors and neighbor lists, and patches the neighbor lists of
+ * the owner's other recipes: a changed recipe is merged into a list if it now ranks high enough,
+ * and a list is only recomputed from scratch if it was full and lost one of its entries.
+ * </p>
+ */
+@Service
+public class SimilarRecipeService {
+
+    private static final Logger log = LoggerFactory.getLogger(SimilarRecipeService.class);
+
+    static final int NEIGHBORS = 10;
+
+    private static final Comparator<RecipeNeighbors.Neighbor> BY_SCORE =
+            Comparator.comparingDouble(RecipeNeighbors.Neighbor::score).reversed()
+                    .thenComparing(RecipeNeighbors.Neighbor::recipeId);
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeFeatureVectorRepository vectorRepository;
+    private final RecipeNeighborsRepository neighborsRepository;
+    private final TransactionTemplate transactionTemplate;
+    // Recipe IDs waiting for the background job, by owner. Replaced atomically so no ID is lost while draining.
+    private final ConcurrentHashMap<Long, Set<Long>> pending = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a SimilarRecipeService.
+     *
+     * @param recipeRepository    the repository used to load changed recipes and titles
+     * @param vectorRepository    the repository for feature vectors
+     * @param neighborsRepository the repository for neighbor lists
+     * @param transactionManager  the transaction manager used by the background job
+     */
+    public SimilarRecipeService(RecipeRepository recipeRepository,
+                                RecipeFeatureVectorRepository vectorRepository,
+                                RecipeNeighborsRepository neighborsRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.recipeRepository = recipeRepository;
+        this.vectorRepository = vectorRepository;
+        this.neighborsRepository = neighborsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Retrieves the precomputed most similar recipes of a recipe.
+     *
+     * @param recipeId the ID of the recipe
+     * @return the similar recipes, most similar first; empty if they have not been computed yet
+     */
+    @Transactional(readOnly = true)
+    public List<SimilarRecipe> getSimilarRecipes(Long recipeId) {
+        List<RecipeNeighbors.Neighbor> neighbors = neighborsRepository.findById(recipeId)
+                .map(RecipeNeighbors::getNeighbors)
+                .orElse(List.of());
+        if (neighbors.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = neighbors.stream().map(RecipeNeighbors.Neighbor::recipeId).toList();
+        Map<Long, String> titles = new HashMap<>();
+        for (Object[] row : recipeRepository.findTitlesByRecipeIds(ids)) {
+            titles.put((Long) row[0], (String) row[1]);
+        }
+        List<SimilarRecipe> similarRecipes = new ArrayList<>(neighbors.size());
+        for (RecipeNeighbors.Neighbor neighbor : neighbors) {
+            // A neighbor deleted since the last run is skipped until the job removes it.
+            if (titles.containsKey(neighbor.recipeId())) {
+                similarRecipes.add(new SimilarRecipe(neighbor.recipeId(), titles.get(neighbor.recipeId()), neighbor.score()));
+            }
+        }
+        return similarRecipes;
+    }
+
+    /**
+     * Marks a changed recipe for the background job.
+     *
+     * @param event the recipe change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRecipeChanged(RecipeChangedEvent event) {
+        markPending(event.userId(), List.of(event.recipeId()));
+    }
+
+    /**
+     * Marks the recipes of a bulk operation for the background job, unless only their favorite flag changed.
+     *
+     * @param event the bulk change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBulkRecipeChanged(BulkRecipeChangedEvent event) {
+        if (event.deleted() || event.tagsChanged()) {
+            markPending(event.userId(), event.recipeIds());
+        }
+    }
+
+    /**
+     * Forgets pending work of an account that is being deleted; its rows go with its recipes.
+     *
+     * @param event the purge request
+     */
+    @EventListener
+    public void onAccountPurgeRequested(AccountPurgeRequestedEvent event) {
+        pending.remove(event.userId());
+    }
+
+    /**
+     * Marks recipes saved before recommendations existed for the background job.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Object[]> recipes = vectorRepository.findRecipesWithoutFeatureVector();
+        for (Object[] recipe : recipes) {
+            markPending((Long) recipe[0], List.of((Long) recipe[1]));
+        }
+        if (!recipes.isEmpty()) {
+            log.info("Queued {} recipes for similar recipe computation", recipes.size());
+        }
+    }
+
+    /**
+     * Recomputes the vectors and neighbor lists affected by pending recipe changes, one user per transaction.
+     * The recipes of a user whose transaction fails are marked pending again for the next run.
+     */
+    @Scheduled(fixedDelay = 5_000)
+    public void processPending() {
+        for (Long userId : pending.keySet()) {
+            Set<Long> changedIds = pending.remove(userId);
+            if (changedIds == null) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> update(userId, changedIds));
+            } catch (RuntimeException e) {
+                log.warn("Could not update similar recipes of user {}", userId, e);
+                markPending(userId, changedIds);
+            }
+        }
+    }
+
+    private void markPending(Long userId, Collection<Long> changedIds) {
+        pending.compute(userId, (id, recipeIds) -> {
+            Set<Long> updated = recipeIds != null ? recipeIds : new HashSet<>();
+            updated.addAll(changedIds);
+            return updated;
+        });
+    }
+
+    private void update(Long userId, Set<Long> changedIds) {
+        Map<Long, RecipeFeatureVector> vectorRows = new HashMap<>();
+        Map<Long, FeatureVector> vectors = new HashMap<>();
+        for (RecipeFeatureVector row : vectorRepository.findAllByUserId(userId)) {
+            vectorRows.put(row.getRecipeId(), row);
+            vectors.put(row.getRecipeId(), FeatureVector.decode(row.getFeatures()));
+        }
+
+        Set<Long> removedIds = new HashSet<>(changedIds);
+        for (Recipe recipe : recipeRepository.findAllById(changedIds)) {
+            if (!recipe.getUser().getId().equals(userId)) {
+                continue;
+            }
+            removedIds.remove(recipe.getRecipeId());
+            FeatureVector vector = FeatureVector.of(recipe);
+            vectors.put(recipe.getRecipeId(), vector);
+            RecipeFeatureVector row = vectorRows.get(recipe.getRecipeId());
+            if (row != null) {
+                row.setFeatures(vector.encode());
+            } else {
+                vectorRepository.save(new RecipeFeatureVector(recipe.getRecipeId(), userId, vector.encode()));
+            }
+        }
+        if (!removedIds.isEmpty()) {
+            vectors.keySet().removeAll(removedIds);
+            vectorRepository.deleteByRecipeIds(removedIds);
+            neighborsRepository.deleteByRecipeIds(removedIds);
+        }
+
+        Map<Long, RecipeNeighbors> lists = new HashMap<>();
+        for (RecipeNeighbors list : neighborsRepository.findAllByUserId(userId)) {
+            lists.put(list.getRecipeId(), list);
+        }
+        for (Map.Entry<Long, FeatureVector> entry : vectors.entrySet()) {
+            Long recipeId = entry.getKey();
+            RecipeNeighbors list = lists.get(recipeId);
+            List<RecipeNeighbors.Neighbor> neighbors;
+            if (list == null || changedIds.contains(recipeId)) {
+                neighbors = nearest(recipeId, entry.getValue(), vectors);
+            } else {
+                neighbors = patch(recipeId, entry.getValue(), list.getNeighbors(), changedIds, vectors);
+            }
+
+            if (list == null) {
+                list = new RecipeNeighbors(recipeId, userId);
+                list.setNeighbors(neighbors);
+                neighborsRepository.save(list);
+            } else if (!neighbors.equals(list.getNeighbors())) {
+                list.setNeighbors(neighbors);
+            }
+        }
+    }
+
+    // Merges the changed recipes into an existing list, falling back to a full scan only when that is not enough.
+    private List<RecipeNeighbors.Neighbor> patch(Long recipeId, FeatureVector vector, List<RecipeNeighbors.Neighbor> current,
+                                                 Set<Long> changedIds, Map<Long, FeatureVector> vectors) {
+        List<RecipeNeighbors.Neighbor> neighbors = new ArrayList<>(current.size() + changedIds.size());
+        for (RecipeNeighbors.Neighbor neighbor : current) {
+            if (!changedIds.contains(neighbor.recipeId())) {
+                neighbors.add(neighbor);
+            }
+        }
+        // Whatever ranked just below a dropped entry is unknown, so a full list that lost one is rebuilt.
+        if (current.size() == NEIGHBORS && neighbors.size() < NEIGHBORS) {
+            return nearest(recipeId, vector, vectors);
+        }
+        for (Long changedId : changedIds) {
+            FeatureVector other = vectors.get(changedId);
+            RecipeNeighbors.Neighbor neighbor = other != null ? scored(changedId, vector.similarity(other)) : null;
+            if (neighbor != null) {
+                neighbors.add(neighbor);
+            }
+        }
+        neighbors.sort(BY_SCORE);
+        return neighbors.size() > NEIGHBORS ? new ArrayList<>(neighbors.subList(0, NEIGHBORS)) : neighbors;
+    }
+
+    private List<RecipeNeighbors.Neighbor> nearest(Long recipeId, FeatureVector vector, Map<Long, FeatureVector> vectors) {
+        PriorityQueue<RecipeNeighbors.Neighbor> best = new PriorityQueue<>(NEIGHBORS + 1, BY_SCORE.reversed());
+        if (!vector.isEmpty()) {
+            for (Map.Entry<Long, FeatureVector> other : vectors.entrySet()) {
+                if (other.getKey().equals(recipeId)) {
+                    continue;
+                }
+                RecipeNeighbors.Neighbor neighbor = scored(other.getKey(), vector.similarity(other.getValue()));
+                if (neighbor != null) {
+                    best.add(neighbor);
+                    if (best.size() > NEIGHBORS) {
+                        best.poll();
+                    }
+                }
+            }
+        }
+        List<RecipeNeighbors.Neighbor> neighbors = new ArrayList<>(best);
+        neighbors.sort(BY_SCORE);
+        return neighbors;
+    }
+
+    // Rounded so that recomputing an unchanged list compares equal and is not written again; null if unrelated.
+    private static RecipeNeighbors.Neighbor scored(Long recipeId, double similarity) {
+        double score = Math.round(similarity * 10_000) / 10_000.0;
+        return score > 0 ? new RecipeNeighbors.Neighbor(recipeId, score) : null;
+    }
+}
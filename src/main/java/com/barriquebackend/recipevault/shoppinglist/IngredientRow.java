@@ -0,0 +1,13 @@
+package com.barriquebackend.recipevault.shoppinglist;
+
+/**
+ * An ingredient of a recipe, as loaded for aggregation.
+ *
+ * @param recipeId the ID of the recipe
+ * @param servings the servings the recipe's amounts are meant for
+ * @param title    the ingredient title
+ * @param amount   the amount, or null
+ * @param unit     the unit as entered, or null
+ */
+public record IngredientRow(Long recipeId, int servings, String title, Double amount, String unit) {
+}
@@ -0,0 +1,59 @@
+package com.barriquebackend.recipevault.shoppinglist;
+
+import com.barriquebackend.user.User;
+import com.barriquebackend.user.UserRepository;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for shopping lists built from recipes.
+ */
+@RestController
+@RequestMapping("/api")
+public class ShoppingListController {
+
+    private final ShoppingListService shoppingListService;
+    private final UserRepository userRepository;
+
+    /**
+     * Constructs a ShoppingListController with the specified ShoppingListService and UserRepository.
+     *
+     * @param shoppingListService the service for shopping list aggregation
+     * @param userRepository      the repository for user data
+     */
+    public ShoppingListController(ShoppingListService shoppingListService, UserRepository userRepository) {
+        this.shoppingListService = shoppingListService;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Builds a consolidated shopping list from recipes of the authenticated user.
+     *
+     * @param request        the recipes and target servings
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the shopping list, or 400 if no recipes were given
+     */
+    @PostMapping("/user/shopping-list")
+    public ResponseEntity<List<ShoppingListItem>> buildShoppingList(@RequestBody ShoppingListRequest request,
+                                                                    Authentication authentication) {
+        if (request.recipes() == null || request.recipes().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        User user = getAuthenticatedUser(authentication);
+        return ResponseEntity.ok(shoppingListService.buildShoppingList(user.getId(), request));
+    }
+
+    /**
+     * Helper method to extract the authenticated user from the security context.
+     *
+     * @param authentication the authentication token containing user details
+     * @return the authenticated User
+     */
+    private User getAuthenticatedUser(Authentication authentication) {
+        String username = authentication.getName();
+        return userRepository.findByUsername(username);
+    }
+}
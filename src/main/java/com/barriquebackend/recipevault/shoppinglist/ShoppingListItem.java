@@ -0,0 +1,14 @@
+package com.barriquebackend.recipevault.shoppinglist;
+
+import java.util.List;
+
+/**
+ * One line of a shopping list.
+ *
+ * @param title     the ingredient title
+ * @param amount    the total amount, or null if none of the merged ingredients had one
+ * @param unit      the unit of the amount, or null
+ * @param recipeIds the IDs of the recipes that need this ingredient
+ */
+public record ShoppingListItem(String title, Double amount, String unit, List<Long> recipeIds) {
+}
@@ -0,0 +1,19 @@
+package com.barriquebackend.recipevault.shoppinglist;
+
+import com.barriquebackend.recipevault.recipe.Recipe;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ShoppingListRepository extends org.springframework.data.repository.Repository<Recipe, Long> {
+
+    // All given recipes owned by the user with their ingredients, in one query. Fetching the
+    // recipe row covers recipes stored in either storage mode.
+    @Query("select r from Recipe r left join fetch r.ingredients i left join fetch i.term " +
+            "where r.recipeId in :recipeIds and r.user.id = :userId order by r.recipeId")
+    List<Recipe> findRecipesWithIngredients(@Param("userId") Long userId, @Param("recipeIds") Collection<Long> recipeIds);
+}
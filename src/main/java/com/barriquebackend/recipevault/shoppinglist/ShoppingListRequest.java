@@ -0,0 +1,20 @@
+package com.barriquebackend.recipevault.shoppinglist;
+
+import java.util.List;
+
+/**
+ * The recipes to shop for.
+ *
+ * @param recipes the recipes, each with the number of servings to cook
+ */
+public record ShoppingListRequest(List<Entry> recipes) {
+
+    /**
+     * One recipe to shop for.
+     *
+     * @param recipeId the ID of the recipe
+     * @param servings the servings to cook, or null for the recipe's own servings
+     */
+    public record Entry(Long recipeId, Integer servings) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.barriquebackend.recipevault.shoppinglist;
+
+import com.barriquebackend.recipevault.ingredient.IngredientTerm;
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.recipevault.recipe.components.Ingredient;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service class for aggregating the ingredients of several recipes into one shopping list.
+ */
+@Service
+public class ShoppingListService {
+
+    private final ShoppingListRepository shoppingListRepository;
+
+    /**
+     * Constructs a ShoppingListService with the specified ShoppingListRepository.
+     *
+     * @param shoppingListRepository the repository used to load ingredients
+     */
+    public ShoppingListService(ShoppingListRepository shoppingListRepository) {
+        this.shoppingListRepository = shoppingListRepository;
+    }
+
+    /**
+     * Builds a consolidated shopping list for the given recipes.
+     * <p>
+     * Amounts are scaled from each recipe's servings to the requested servings. Ingredients are
+     * merged by normalized title; amounts in convertible units (g/kg, ml/l, tsp/tbsp) are summed
+     * and shown in the larger unit once they reach one of it, other units are only summed with
+     * the same unit. The ingredients of all recipes are loaded with a single query. Recipes that
+     * do not exist or belong to another user contribute nothing.
+     * </p>
+     *
+     * @param userId  the ID of the user who owns the recipes
+     * @param request the recipes and servings to shop for
+     * @return the shopping list items in order of first appearance
+     */
+    public List<ShoppingListItem> buildShoppingList(Long userId, ShoppingListRequest request) {
+        // A recipe listed twice is cooked twice.
+        Map<Long, List<Integer>> servingsByRecipe = new HashMap<>();
+        for (ShoppingListRequest.Entry entry : request.recipes()) {
+            if (entry.recipeId() != null) {
+                servingsByRecipe.computeIfAbsent(entry.recipeId(), id -> new ArrayList<>()).add(entry.servings());
+            }
+        }
+        if (servingsByRecipe.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Line> lines = new LinkedHashMap<>();
+        List<IngredientRow> rows = new ArrayList<>();
+        for (Recipe recipe : shoppingListRepository.findRecipesWithIngredients(userId, servingsByRecipe.keySet())) {
+            for (Ingredient ingredient : recipe.getIngredients()) {
+                rows.add(new IngredientRow(recipe.getRecipeId(), recipe.getServings(),
+                        ingredient.getTitle(), ingredient.getAmount(), ingredient.getUnit()));
+            }
+        }
+
+        for (IngredientRow row : rows) {
+            String normalizedTitle = IngredientTerm.normalize(row.title());
+            if (normalizedTitle.isEmpty()) {
+                continue;
+            }
+            double factor = 0;
+            for (Integer servings : servingsByRecipe.get(row.recipeId())) {
+                factor += servings == null || servings <= 0 || row.servings() <= 0 ? 1 : (double) servings / row.servings();
+            }
+
+            Unit unit = Unit.parse(row.unit());
+            String unitKey = unit != null ? unit.family().name() : normalizeUnit(row.unit());
+            Line line = lines.computeIfAbsent(normalizedTitle + '\0' + unitKey,
+                    key -> new Line(row.title(), unit != null ? null : row.unit(), unit != null ? unit.family() : null));
+            if (row.amount() != null) {
+                double amount = row.amount() * factor;
+                line.add(unit != null ? unit.toBase(amount) : amount);
+            }
+            line.recipeIds.add(row.recipeId());
+        }
+
+        List<ShoppingListItem> items = new ArrayList<>(lines.size());
+        for (Line line : lines.values()) {
+            items.add(line.toItem());
+        }
+        return items;
+    }
+
+    private static String normalizeUnit(String unit) {
+        return unit == null ? "" : unit.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static double round(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
+
+    /**
+     * A shopping list line being aggregated; convertible amounts are held in the base unit.
+     */
+    private static final class Line {
+
+        private final String title;
+        private final String unit;
+        private final Unit.Family family;
+        private final Set<Long> recipeIds = new LinkedHashSet<>();
+        private Double amount;
+
+        private Line(String title, String unit, Unit.Family family) {
+            this.title = title;
+            this.unit = unit;
+            this.family = family;
+        }
+
+        private void add(double value) {
+            amount = amount == null ? value : amount + value;
+        }
+
+        private ShoppingListItem toItem() {
+            List<Long> ids = List.copyOf(recipeIds);
+            if (family == null) {
+                return new ShoppingListItem(title, amount == null ? null : round(amount), unit, ids);
+            }
+            if (amount == null) {
+                return new ShoppingListItem(title, null, null, ids);
+            }
+            Unit display = Unit.display(family, amount);
+            return new ShoppingListItem(title, round(display.fromBase(amount)), display.symbol(), ids);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.barriquebackend.recipevault.shoppinglist;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Units that can be converted into each other within their family.
+ * Amounts are summed in the family's base unit (gram, milliliter, teaspoon).
+ */
+enum Unit {
+    GRAM(Family.MASS, 1, "g", "g", "gr", "gram", "grams", "gramm"),
+    KILOGRAM(Family.MASS, 1000, "kg", "kg", "kilo", "kilogram", "kilograms", "kilogramm"),
+    MILLILITER(Family.VOLUME, 1, "ml", "ml", "milliliter", "milliliters", "millilitre", "millilitres"),
+    LITER(Family.VOLUME, 1000, "l", "l", "liter", "liters", "litre", "litres"),
+    TEASPOON(Family.SPOON, 1, "tsp", "tsp", "teaspoon", "teaspoons", "tl"),
+    TABLESPOON(Family.SPOON, 3, "tbsp", "tbsp", "tablespoon", "tablespoons", "el");
+
+    enum Family {
+        MASS, VOLUME, SPOON
+    }
+
+    private static final Map<String, Unit> BY_ALIAS = new HashMap<>();
+
+    static {
+        for (Unit unit : values()) {
+            for (String alias : unit.aliases) {
+                BY_ALIAS.put(alias, unit);
+            }
+        }
+    }
+
+    private final Family family;
+    private final double factor;
+    private final String symbol;
+    private final String[] aliases;
+
+    Unit(Family family, double factor, String symbol, String... aliases) {
+        this.family = family;
+        this.factor = factor;
+        this.symbol = symbol;
+        this.aliases = aliases;
+    }
+
+    /**
+     * Parses a unit as entered by a user.
+     *
+     * @param text the unit text, e.g. "Tbsp." or "grams"
+     * @return the unit, or null if it is not convertible
+     */
+    static Unit parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        String alias = text.strip().toLowerCase(Locale.ROOT);
+        if (alias.endsWith(".")) {
+            alias = alias.substring(0, alias.length() - 1);
+        }
+        return BY_ALIAS.get(alias);
+    }
+
+    Family family() {
+        return family;
+    }
+
+    String symbol() {
+        return symbol;
+    }
+
+    double toBase(double amount) {
+        return amount * factor;
+    }
+
+    /**
+     * Picks the unit to display a total of the given family in: the larger unit once the
+     * total reaches one of it.
+     *
+     * @param family     the unit family
+     * @param baseAmount the total in the family's base unit
+     * @return the unit to display the total in
+     */
+    static Unit display(Family family, double baseAmount) {
+        return switch (family) {
+            case MASS -> baseAmount >= KILOGRAM.factor ? KILOGRAM : GRAM;
+            case VOLUME -> baseAmount >= LITER.factor ? LITER : MILLILITER;
+            case SPOON -> baseAmount >= TABLESPOON.factor ? TABLESPOON : TEASPOON;
+        };
+    }
+
+    double fromBase(double baseAmount) {
+        return baseAmount / factor;
+    }
+}
@@ -0,0 +1,57 @@
+package com.barriquebackend.storage;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * A file kept by the {@link BlobStore}, identified by the SHA-256 of its content.
+ * <p>
+ * Identical uploads share one blob. The reference count is the number of rows pointing at the
+ * blob; blobs whose count dropped to zero are deleted by {@link BlobStore#sweep()}.
+ * </p>
+ */
+@Entity
+@Table(name = "blob")
+public class Blob {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+
+    @Column(name = "reference_count", nullable = false)
+    private int referenceCount;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected Blob() {
+    }
+
+    // Getters
+    public String getHash() {
+        return hash;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public int getReferenceCount() {
+        return referenceCount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,39 @@
+package com.barriquebackend.storage;
+
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface BlobRepository extends JpaRepository<Blob, String> {
+
+    // Creates the blob with one reference, or adds a reference to the existing one. Waits for a sweep holding the row.
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "blob"))
+    @Modifying
+    @Query(value = "insert into blob (hash, size, content_type, reference_count, created_at) " +
+            "values (:hash, :size, :contentType, 1, now()) " +
+            "on conflict (hash) do update set reference_count = blob.reference_count + 1",
+            nativeQuery = true)
+    int acquire(@Param("hash") String hash, @Param("size") long size, @Param("contentType") String contentType);
+
+    @Modifying
+    @Query("update Blob b set b.referenceCount = b.referenceCount - 1 where b.hash = :hash")
+    int release(@Param("hash") String hash);
+
+    @Query("select b.hash from Blob b where b.hash in :hashes")
+    List<String> findExistingHashes(@Param("hashes") Collection<String> hashes);
+
+    // Unreferenced blobs, locked so that a concurrent acquire waits until they are gone.
+    @Query(value = "select hash from blob where reference_count <= 0 limit :limit for update skip locked",
+            nativeQuery = true)
+    List<String> lockUnreferenced(@Param("limit") int limit);
+}
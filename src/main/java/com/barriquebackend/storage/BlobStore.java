@@ -0,0 +1,354 @@
+package com.barriquebackend.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed, reference-counted file storage on the local disk.
+ * <p>
+ * Uploads are streamed to a temporary file while their SHA-256 is computed, so no upload is
+ * held in memory, and then moved to {@code <root>/<hash[0..2]>/<hash[2..4]>/<hash>}. Storing
+ * the same content again only adds a reference. Files derived from a blob (for example image
+ * thumbnails) live next to it as {@code <hash>.<variant>} and are deleted with it.
+ * </p>
+ */
+@Service
+public class BlobStore {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobStore.class);
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern VARIANT = Pattern.compile("[0-9a-z]{1,32}");
+    private static final int SWEEP_BATCH_SIZE = 100;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final Duration ORPHAN_MIN_AGE = Duration.ofDays(1);
+
+    private final BlobRepository blobRepository;
+    private final Path root;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructs a BlobStore.
+     *
+     * @param blobRepository     the repository for blob metadata and reference counts
+     * @param root               the directory blobs are stored in
+     * @param transactionManager the transaction manager used by the sweep
+     */
+    public BlobStore(BlobRepository blobRepository, @Value("${storage.blob.root:data/blobs}") String root,
+                     PlatformTransactionManager transactionManager) {
+        this.blobRepository = blobRepository;
+        this.root = Path.of(root).toAbsolutePath();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Stores content and adds one reference to it.
+     *
+     * @param content     the content, read to the end but not closed
+     * @param contentType the media type of the content
+     * @return the stored blob
+     * @throws UncheckedIOException if the content cannot be read or written
+     * @see #store(InputStream, String, long)
+     */
+    @Transactional
+    public Blob store(InputStream content, String contentType) {
+        return store(content, contentType, Long.MAX_VALUE);
+    }
+
+    /**
+     * Stores content of limited size and adds one reference to it.
+     * <p>
+     * The reference belongs to the caller's transaction: if it rolls back, the reference is gone.
+     * The file is then removed by the next {@link #sweep()} if the blob existed before, or by
+     * {@link #sweepOrphanedFiles()} a day later if the rolled back transaction created it.
+     * </p>
+     *
+     * @param content     the content, read to the end but not closed
+     * @param contentType the media type of the content
+     * @param maxSize     the maximum number of bytes; reading stops as soon as it is exceeded
+     * @return the stored blob
+     * @throws BlobTooLargeException if the content is larger than maxSize
+     * @throws UncheckedIOException  if the content cannot be read or written
+     */
+    @Transactional
+    public Blob store(InputStream content, String contentType, long maxSize) {
+        try {
+            Path temp = Files.createTempFile(tempDirectory(), "upload-", ".tmp");
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                long size = copy(new DigestInputStream(content, digest), temp, maxSize);
+                String hash = HexFormat.of().formatHex(digest.digest());
+
+                // Referenced before the file is moved into place, so a concurrent sweep either
+                // skips this blob or has finished deleting it before the file is written again.
+                blobRepository.acquire(hash, size, contentType);
+                Path target = path(hash);
+                Files.createDirectories(target.getParent());
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return blobRepository.findById(hash).orElseThrow();
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store blob", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Adds a reference to an existing blob.
+     *
+     * @param hash the hash of the blob
+     * @return true if the blob exists
+     */
+    @Transactional
+    public boolean retain(String hash) {
+        return blobRepository.findById(hash)
+                .map(blob -> blobRepository.acquire(hash, blob.getSize(), blob.getContentType()) > 0)
+                .orElse(false);
+    }
+
+    /**
+     * Removes one reference from a blob. The file is deleted by the sweep once no references are left.
+     *
+     * @param hash the hash of the blob
+     */
+    @Transactional
+    public void release(String hash) {
+        blobRepository.release(hash);
+    }
+
+    /**
+     * Retrieves the metadata of a blob.
+     *
+     * @param hash the hash of the blob
+     * @return the blob, or empty if the hash is malformed or unknown
+     */
+    public Optional<Blob> find(String hash) {
+        return isHash(hash) ? blobRepository.findById(hash) : Optional.empty();
+    }
+
+    /**
+     * Resolves the file of a blob.
+     *
+     * @param hash the hash of the blob
+     * @return the path of its file, which may not exist
+     * @throws IllegalArgumentException if the hash is not 64 lower-case hex digits
+     */
+    public Path path(String hash) {
+        if (!isHash(hash)) {
+            throw new IllegalArgumentException("Invalid blob hash: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    /**
+     * Resolves the file of a variant derived from a blob.
+     *
+     * @param hash    the hash of the blob
+     * @param variant the name of the variant, lower-case letters and digits
+     * @return the path of the variant's file, which may not exist
+     */
+    public Path variantPath(String hash, String variant) {
+        if (!VARIANT.matcher(variant).matches()) {
+            throw new IllegalArgumentException("Invalid blob variant: " + variant);
+        }
+        return path(hash).resolveSibling(hash + "." + variant);
+    }
+
+    /**
+     * Writes a variant derived from a blob, replacing it atomically if it exists.
+     *
+     * @param hash    the hash of the blob
+     * @param variant the name of the variant
+     * @param writer  writes the variant's content to the given temporary file
+     * @throws UncheckedIOException if the variant cannot be written
+     */
+    public void writeVariant(String hash, String variant, VariantWriter writer) {
+        Path target = variantPath(hash, variant);
+        try {
+            Path temp = Files.createTempFile(tempDirectory(), "variant-", ".tmp");
+            try {
+                writer.write(temp);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write variant " + variant + " of blob " + hash, e);
+        }
+    }
+
+    /**
+     * Deletes blobs without references, together with their variants.
+     */
+    @Scheduled(fixedDelay = 600_000, initialDelay = 60_000)
+    public void sweep() {
+        int deleted;
+        do {
+            Integer count = transactionTemplate.execute(status -> {
+                List<String> hashes = blobRepository.lockUnreferenced(SWEEP_BATCH_SIZE);
+                for (String hash : hashes) {
+                    deleteFiles(hash);
+                }
+                blobRepository.deleteAllById(hashes);
+                return hashes.size();
+            });
+            deleted = count != null ? count : 0;
+            if (deleted > 0) {
+                log.info("Deleted {} unreferenced blobs", deleted);
+            }
+        } while (deleted == SWEEP_BATCH_SIZE);
+    }
+
+    /**
+     * Deletes files without a blob row, together with temporary files left behind by a crash.
+     * <p>
+     * Such files remain when the transaction that stored a new blob rolls back: the row is gone,
+     * so {@link #sweep()} never sees it. Only files unchanged for a day are considered, so the
+     * transaction that wrote a file has long ended; a file replaced by a new upload of the same
+     * content meanwhile is recognized by its new modification time and kept.
+     * </p>
+     */
+    @Scheduled(fixedDelay = 86_400_000, initialDelay = 3_600_000)
+    public void sweepOrphanedFiles() {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(ORPHAN_MIN_AGE);
+        Path temp = root.resolve("tmp");
+        Map<String, List<Path>> candidates = new HashMap<>();
+        int deleted = 0;
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                if (!isUnchangedSince(file, cutoff)) {
+                    continue;
+                }
+                if (file.getParent().equals(temp)) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                String name = file.getFileName().toString();
+                String hash = name.contains(".") ? name.substring(0, name.indexOf('.')) : name;
+                if (isHash(hash)) {
+                    candidates.computeIfAbsent(hash, h -> new ArrayList<>()).add(file);
+                }
+                if (candidates.size() >= SWEEP_BATCH_SIZE) {
+                    deleted += deleteOrphans(candidates, cutoff);
+                }
+            }
+            deleted += deleteOrphans(candidates, cutoff);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not sweep blob files", e);
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} files without a blob", deleted);
+        }
+    }
+
+    /**
+     * Writes the content of a derived file.
+     */
+    @FunctionalInterface
+    public interface VariantWriter {
+        void write(Path file) throws IOException;
+    }
+
+    private void deleteFiles(String hash) {
+        Path file = path(hash);
+        if (!Files.isDirectory(file.getParent())) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(file.getParent(), hash + "*")) {
+            for (Path path : files) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete blob " + hash, e);
+        }
+    }
+
+    private int deleteOrphans(Map<String, List<Path>> candidates, Instant cutoff) throws IOException {
+        candidates.keySet().removeAll(blobRepository.findExistingHashes(candidates.keySet()));
+        int deleted = 0;
+        for (List<Path> files : candidates.values()) {
+            for (Path file : files) {
+                if (isUnchangedSince(file, cutoff) && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        }
+        candidates.clear();
+        return deleted;
+    }
+
+    private static boolean isUnchangedSince(Path file, Instant cutoff) throws IOException {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private static long copy(InputStream in, Path target, long maxSize) throws IOException {
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        long size = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                size += read;
+                if (size > maxSize) {
+                    throw new BlobTooLargeException(maxSize);
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return size;
+    }
+
+    private Path tempDirectory() throws IOException {
+        Path temp = root.resolve("tmp");
+        Files.createDirectories(temp);
+        return temp;
+    }
+
+    /**
+     * Checks whether a string is a well-formed blob hash.
+     *
+     * @param hash the string to check
+     * @return true if it is 64 lower-case hex digits
+     */
+    public static boolean isHash(String hash) {
+        return hash != null && HASH.matcher(hash).matches();
+    }
+}
@@ -0,0 +1,11 @@
+package com.barriquebackend.storage;
+
+/**
+ * Thrown when content given to the {@link BlobStore} exceeds the allowed size.
+ */
+public class BlobTooLargeException extends RuntimeException {
+
+    public BlobTooLargeException(long maxSize) {
+        super("Content exceeds the maximum size of " + maxSize + " bytes");
+    }
+}
@@ -0,0 +1,96 @@
+package com.barriquebackend.sync;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out values of the global, monotonically increasing {@code change_seq} database sequence.
+ * <p>
+ * The sequence is created in schema.sql. Values are drawn through the JDBC connection of the
+ * current transaction, so drawing one never triggers a Hibernate flush.
+ * </p>
+ * <p>
+ * Values are drawn before commit, so transactions commit them out of order. Before its first
+ * value, every transaction takes a shared, transaction-scoped advisory lock whose key is the last
+ * value drawn so far; everything it draws afterwards is above that key. The lock is visible to
+ * other sessions in {@code pg_locks} until the transaction ends, which lets
+ * {@link #safeWatermark()} tell up to which value nothing can still appear. No other part of the
+ * application uses single-key advisory locks, so every such lock in this database is a lease.
+ * </p>
+ */
+@Component
+public class ChangeSequence {
+
+    // The value nextval would have returned last; a fresh sequence has not been called yet
+    private static final String LAST_DRAWN_SQL =
+            "select case when is_called then last_value else last_value - 1 end from change_seq";
+
+    // Keys of single bigint advisory locks are split into classid (high half) and objid (low half), objsubid = 1
+    private static final String LOWEST_LEASE_SQL =
+            "select min((classid::bigint << 32) | objid::bigint) from pg_locks " +
+                    "where locktype = 'advisory' and objsubid = 1 and granted " +
+                    "and database = (select oid from pg_database where datname = current_database())";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChangeSequence(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Draws the next change sequence value.
+     *
+     * @return the next value
+     */
+    public long next() {
+        lease();
+        Long value = jdbcTemplate.queryForObject("select nextval('change_seq')", Long.class);
+        if (value == null) {
+            throw new IllegalStateException("change_seq returned no value");
+        }
+        return value;
+    }
+
+    /**
+     * Registers the current transaction as a writer of change sequence values until it ends.
+     * <p>
+     * {@link #next()} does this itself; statements that draw from {@code change_seq} directly in SQL
+     * must call it first. Calling it again in the same transaction does nothing.
+     * </p>
+     */
+    public void lease() {
+        boolean tracked = TransactionSynchronizationManager.isSynchronizationActive();
+        if (tracked && TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        jdbcTemplate.execute("select pg_advisory_xact_lock_shared((" + LAST_DRAWN_SQL + "))");
+        if (tracked) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeSequence.this);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns a value up to which every drawn change sequence value has been committed or rolled back.
+     * <p>
+     * The last drawn value is read before the leases: a transaction that takes its lease after that
+     * read can only draw higher values, and one that ended before the leases were read is visible to
+     * every statement that follows under READ COMMITTED. Call this before reading the changed rows.
+     * </p>
+     *
+     * @return the safe watermark
+     */
+    public long safeWatermark() {
+        Long lastDrawn = jdbcTemplate.queryForObject(LAST_DRAWN_SQL, Long.class);
+        Long lowestLease = jdbcTemplate.queryForObject(LOWEST_LEASE_SQL, Long.class);
+        long watermark = lastDrawn == null ? 0 : lastDrawn;
+        return lowestLease == null ? watermark : Math.min(watermark, lowestLease);
+    }
+}
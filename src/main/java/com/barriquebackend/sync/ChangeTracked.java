@@ -0,0 +1,18 @@
+package com.barriquebackend.sync;
+
+import java.time.Instant;
+
+/**
+ * Implemented by entities that take part in delta sync.
+ * {@link ChangeTrackingListener} stamps them on every insert and update.
+ */
+public interface ChangeTracked {
+
+    long getChangeSeq();
+
+    void setChangeSeq(long changeSeq);
+
+    Instant getUpdatedAt();
+
+    void setUpdatedAt(Instant updatedAt);
+}
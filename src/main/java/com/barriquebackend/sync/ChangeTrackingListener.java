@@ -0,0 +1,28 @@
+package com.barriquebackend.sync;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * JPA entity listener that stamps {@link ChangeTracked} entities with a new change
+ * sequence value and timestamp whenever Hibernate inserts or updates them.
+ */
+@Component
+public class ChangeTrackingListener {
+
+    private final ChangeSequence changeSequence;
+
+    public ChangeTrackingListener(ChangeSequence changeSequence) {
+        this.changeSequence = changeSequence;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void stamp(ChangeTracked entity) {
+        entity.setChangeSeq(changeSequence.next());
+        entity.setUpdatedAt(Instant.now());
+    }
+}
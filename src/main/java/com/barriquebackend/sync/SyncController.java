@@ -0,0 +1,60 @@
+package com.barriquebackend.sync;
+
+import com.barriquebackend.user.User;
+import com.barriquebackend.user.UserRepository;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for delta sync of offline-first clients.
+ */
+@RestController
+@RequestMapping("/api")
+public class SyncController {
+
+    private final SyncService syncService;
+    private final UserRepository userRepository;
+
+    /**
+     * Constructs a SyncController with the specified SyncService and UserRepository.
+     *
+     * @param syncService    the service for delta sync
+     * @param userRepository the repository for user data
+     */
+    public SyncController(SyncService syncService, UserRepository userRepository) {
+        this.syncService = syncService;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Retrieves the recipes, journeys and expenses of the authenticated user that changed
+     * after the given cursor, plus tombstones for those that were deleted.
+     *
+     * @param since          the cursor returned by the previous sync, or 0 for a full sync
+     * @param limit          the maximum number of rows per entity type
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with the changes and the next cursor
+     */
+    @GetMapping("/sync")
+    public ResponseEntity<SyncResponse> sync(@RequestParam(defaultValue = "0") long since,
+                                             @RequestParam(defaultValue = "500") int limit,
+                                             Authentication authentication) {
+        if (since < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        User user = getAuthenticatedUser(authentication);
+        return ResponseEntity.ok(syncService.getChangesSince(user.getId(), since, limit));
+    }
+
+    /**
+     * Helper method to extract the authenticated user from the security context.
+     *
+     * @param authentication the authentication token containing user details
+     * @return the authenticated User
+     */
+    private User getAuthenticatedUser(Authentication authentication) {
+        String username = authentication.getName();
+        return userRepository.findByUsername(username);
+    }
+}
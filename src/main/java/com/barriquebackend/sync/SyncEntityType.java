@@ -0,0 +1,7 @@
+package com.barriquebackend.sync;
+
+public enum SyncEntityType {
+    RECIPE,
+    JOURNEY,
+    EXPENSE
+}
@@ -0,0 +1,25 @@
+package com.barriquebackend.sync;
+
+import com.barriquebackend.bucksbuddy.journey.Journey;
+import com.barriquebackend.bucksbuddy.journey.expense.Expense;
+import com.barriquebackend.recipevault.recipe.Recipe;
+
+import java.util.List;
+
+/**
+ * Everything that changed for a user after a sync cursor.
+ *
+ * @param cursor   the value to pass as {@code since} on the next call
+ * @param hasMore  true if the page was truncated and the client should call again right away
+ * @param recipes  recipes created or updated after the cursor
+ * @param journeys journeys created or updated after the cursor
+ * @param expenses expenses created or updated after the cursor
+ * @param deleted  tombstones of entities deleted after the cursor
+ */
+public record SyncResponse(long cursor,
+                           boolean hasMore,
+                           List<Recipe> recipes,
+                           List<Journey> journeys,
+                           List<Expense> expenses,
+                           List<SyncTombstone> deleted) {
+}
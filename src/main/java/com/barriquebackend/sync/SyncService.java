@@ -0,0 +1,157 @@
+package com.barriquebackend.sync;
+
+import com.barriquebackend.bucksbuddy.journey.Journey;
+import com.barriquebackend.bucksbuddy.journey.JourneyRepository;
+import com.barriquebackend.bucksbuddy.journey.expense.Expense;
+import com.barriquebackend.bucksbuddy.journey.expense.ExpenseRepository;
+import com.barriquebackend.recipevault.recipe.Recipe;
+import com.barriquebackend.recipevault.recipe.RecipeRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Service class for delta sync.
+ * <p>
+ * Every insert or update of a recipe, journey or expense draws a value from the global
+ * {@code change_seq} sequence, and every deletion leaves a {@link SyncTombstone}. A client
+ * keeps the highest value it has seen as its cursor and asks only for rows above it; the
+ * {@code (user_id, change_seq)} indexes make that cost proportional to the number of changes.
+ * </p>
+ * <p>
+ * Sequence values are drawn before commit, so a slow transaction can commit a value lower than
+ * one already visible. The returned cursor therefore never passes
+ * {@link ChangeSequence#safeWatermark()}, the oldest value still held by a running transaction;
+ * rows above it are sent now and again on the next call, so clients must apply responses
+ * idempotently.
+ * </p>
+ */
+@Service
+public class SyncService {
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final RecipeRepository recipeRepository;
+    private final JourneyRepository journeyRepository;
+    private final ExpenseRepository expenseRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final ChangeSequence changeSequence;
+
+    /**
+     * Constructs a SyncService with the repositories of all synced entities.
+     *
+     * @param recipeRepository    the repository for recipes
+     * @param journeyRepository   the repository for journeys
+     * @param expenseRepository   the repository for expenses
+     * @param tombstoneRepository the repository for deletion tombstones
+     * @param changeSequence      the sequence telling which changes are safe to pass
+     */
+    public SyncService(RecipeRepository recipeRepository, JourneyRepository journeyRepository,
+                       ExpenseRepository expenseRepository, SyncTombstoneRepository tombstoneRepository,
+                       ChangeSequence changeSequence) {
+        this.recipeRepository = recipeRepository;
+        this.journeyRepository = journeyRepository;
+        this.expenseRepository = expenseRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.changeSequence = changeSequence;
+    }
+
+    /**
+     * Records that an entity of the given user was deleted.
+     *
+     * @param userId     the ID of the user who owned the entity
+     * @param entityType the type of the deleted entity
+     * @param entityId   the ID of the deleted entity
+     */
+    public void recordDeletion(Long userId, SyncEntityType entityType, Long entityId) {
+        tombstoneRepository.save(new SyncTombstone(userId, entityType, entityId));
+    }
+
+    /**
+     * Records that several entities of the given user were deleted.
+     *
+     * @param userId     the ID of the user who owned the entities
+     * @param entityType the type of the deleted entities
+     * @param entityIds  the IDs of the deleted entities
+     */
+    public void recordDeletions(Long userId, SyncEntityType entityType, Collection<Long> entityIds) {
+        tombstoneRepository.saveAll(entityIds.stream()
+                .map(entityId -> new SyncTombstone(userId, entityType, entityId))
+                .toList());
+    }
+
+    /**
+     * Retrieves everything that changed for a user after the given cursor.
+     * <p>
+     * Each entity type returns at most {@code limit} rows. If any type was truncated, the
+     * returned cursor is the lowest last sequence value among the truncated types, so nothing
+     * is skipped; rows of other types above that cursor are sent again on the next call. The
+     * cursor is also held back at the safe watermark, so a transaction that commits a lower
+     * sequence value later is still picked up.
+     * </p>
+     *
+     * @param userId the ID of the user
+     * @param since  the cursor returned by the previous call, or 0 for a full sync
+     * @param limit  the maximum number of rows per entity type
+     * @return the changes and the next cursor
+     */
+    @Transactional(readOnly = true)
+    public SyncResponse getChangesSince(Long userId, long since, int limit) {
+        Limit pageLimit = Limit.of(Math.min(Math.max(limit, 1), MAX_LIMIT));
+        // Read before the rows, see ChangeSequence#safeWatermark
+        long watermark = changeSequence.safeWatermark();
+
+        List<Recipe> recipes = recipeRepository.findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(userId, since, pageLimit);
+        List<Journey> journeys = journeyRepository.findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(userId, since, pageLimit);
+        List<Expense> expenses = expenseRepository.findByJourney_User_IdAndChangeSeqGreaterThanOrderByChangeSeqAsc(userId, since, pageLimit);
+        List<SyncTombstone> deleted = tombstoneRepository.findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(userId, since, pageLimit);
+
+        CursorTracker tracker = new CursorTracker(since, pageLimit.max());
+        tracker.accept(recipes);
+        tracker.accept(journeys);
+        tracker.accept(expenses);
+        tracker.accept(deleted);
+
+        long cursor = Math.max(since, Math.min(tracker.cursor(), watermark));
+        // A cursor held back by a running transaction would return the same page again right away
+        boolean hasMore = tracker.hasMore() && cursor == tracker.cursor();
+        return new SyncResponse(cursor, hasMore, recipes, journeys, expenses, deleted);
+    }
+
+    /**
+     * Computes the next cursor from the pages returned for each entity type.
+     */
+    private static final class CursorTracker {
+
+        private final int limit;
+        private long highest;
+        private long lowestTruncated = Long.MAX_VALUE;
+
+        private CursorTracker(long since, int limit) {
+            this.highest = since;
+            this.limit = limit;
+        }
+
+        private void accept(List<? extends ChangeTracked> page) {
+            if (page.isEmpty()) {
+                return;
+            }
+            long last = page.get(page.size() - 1).getChangeSeq();
+            highest = Math.max(highest, last);
+            if (page.size() >= limit) {
+                lowestTruncated = Math.min(lowestTruncated, last);
+            }
+        }
+
+        private boolean hasMore() {
+            return lowestTruncated != Long.MAX_VALUE;
+        }
+
+        private long cursor() {
+            return hasMore() ? lowestTruncated : highest;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.barriquebackend.sync;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Records the deletion of a synced entity, so offline clients can remove their copy.
+ * Deleting a journey leaves a single tombstone for the journey; its expenses go with it.
+ */
+@Entity
+@Table(name = "sync_tombstone", indexes = @Index(name = "idx_sync_tombstone_user_change", columnList = "user_id, change_seq"))
+@EntityListeners(ChangeTrackingListener.class)
+public class SyncTombstone implements ChangeTracked {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @JsonIgnore
+    private Long tombstoneId;
+
+    @Column(name = "user_id", nullable = false)
+    @JsonIgnore
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private SyncEntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    protected SyncTombstone() {
+    }
+
+    public SyncTombstone(Long userId, SyncEntityType entityType, Long entityId) {
+        this.userId = userId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+    }
+
+    // Getters and setters
+    public Long getTombstoneId() {
+        return tombstoneId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public SyncEntityType getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    @Override
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    @Override
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    @Override
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,19 @@
+package com.barriquebackend.sync;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+    List<SyncTombstone> findByUserIdAndChangeSeqGreaterThanOrderByChangeSeqAsc(Long userId, long changeSeq, Limit limit);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from SyncTombstone t where t.userId = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,8 @@
+package com.barriquebackend.user;
+
+public enum AccountStatus {
+    ACTIVE,
+
+    // The account was deleted and its data is being purged in the background.
+    PURGING
+}
@@ -2,11 +2,16 @@ package com.barriquebackend.user;
 
 import com.barriquebackend.bucksbuddy.journey.Journey;
 import com.barriquebackend.recipevault.recipe.Recipe;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 @Table(name = "users")
 public class User {
 
@@ -18,6 +23,11 @@ public class User {
     private String username;
     private String password;
 
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "varchar(16) default 'ACTIVE'")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private AccountStatus status = AccountStatus.ACTIVE;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Recipe> recipes;
 
@@ -48,5 +58,13 @@ public class User {
         this.password = password;
     }
 
+    public AccountStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AccountStatus status) {
+        this.status = status;
+    }
+
 
 }
\ No newline at end of file
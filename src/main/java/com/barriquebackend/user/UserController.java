@@ -1,8 +1,11 @@
 package com.barriquebackend.user;
 
+import com.barriquebackend.user.purge.AccountPurge;
+import com.barriquebackend.user.purge.AccountPurgeService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.web.csrf.CsrfToken;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,9 +18,11 @@ import java.util.Map;
 public class UserController {
 
     private final UserService userService;
+    private final AccountPurgeService accountPurgeService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, AccountPurgeService accountPurgeService) {
         this.userService = userService;
+        this.accountPurgeService = accountPurgeService;
     }
 
     /**
@@ -60,6 +65,18 @@ public class UserController {
         return userService.getAllUsers();
     }
 
+    /**
+     * Deletes the authenticated user's account. The account is disabled immediately;
+     * its recipes and journeys are purged in the background.
+     *
+     * @param authentication the authentication token containing user details
+     * @return a ResponseEntity with status 202 and the purge progress
+     */
+    @DeleteMapping
+    public ResponseEntity<AccountPurge> deleteAccount(Authentication authentication) {
+        AccountPurge purge = accountPurgeService.requestPurge(authentication.getName());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(purge);
+    }
 
     /**
      * Retrieves the CSRF token.
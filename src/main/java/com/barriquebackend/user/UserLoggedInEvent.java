@@ -0,0 +1,10 @@
+package com.barriquebackend.user;
+
+/**
+ * Published by {@link UserService} after a user logged in successfully, so that the user's
+ * most requested data can be prepared before the first request arrives.
+ *
+ * @param userId the ID of the user
+ */
+public record UserLoggedInEvent(Long userId) {
+}
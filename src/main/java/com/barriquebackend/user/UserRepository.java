@@ -1,9 +1,23 @@
 package com.barriquebackend.user;
 
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Runs for every authenticated request; the query cache answers it until the users table changes.
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     User findByUsername(String username);
+
+    // Deletes the user row without cascading through the (already purged) collections.
+    @Modifying(flushAutomatically = true)
+    @Query("delete from User u where u.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
 }
\ No newline at end of file
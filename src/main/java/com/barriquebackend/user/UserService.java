@@ -1,9 +1,10 @@
 package com.barriquebackend.user;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.lang.NonNull;
 
@@ -15,13 +16,16 @@ public class UserService {
     private final UserRepository userRepository;
     private final JWTService jwtService;
     private final AuthenticationManager authManager;
-    private final BCryptPasswordEncoder encoder;
+    private final PasswordEncoder encoder;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserService(UserRepository userRepository, JWTService jwtService, AuthenticationManager authManager) {
+    public UserService(UserRepository userRepository, JWTService jwtService, AuthenticationManager authManager,
+                       PasswordEncoder encoder, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.jwtService = jwtService;
         this.authManager = authManager;
-        this.encoder = new BCryptPasswordEncoder(12);
+        this.encoder = encoder;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -46,6 +50,10 @@ public class UserService {
         Authentication authentication = authManager.authenticate(
                 new UsernamePasswordAuthenticationToken(user.getUsername(), user.getPassword()));
         if (authentication.isAuthenticated()) {
+            User authenticatedUser = userRepository.findByUsername(user.getUsername());
+            if (authenticatedUser != null) {
+                eventPublisher.publishEvent(new UserLoggedInEvent(authenticatedUser.getId()));
+            }
             return jwtService.generateToken(user.getUsername());
         } else {
             return null;
@@ -0,0 +1,97 @@
+package com.barriquebackend.user.purge;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Progress of the background purge of a deleted account.
+ * <p>
+ * The row is the durable work item: it is written in the same transaction that disables the
+ * account, updated after every chunk, and an unfinished row is picked up again after a restart.
+ * It is kept after completion as a record of what was deleted.
+ * </p>
+ */
+@Entity
+@Table(name = "account_purge")
+public class AccountPurge {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long purgeId;
+
+    @Column(nullable = false, unique = true)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Instant requestedAt;
+
+    private Instant lastProgressAt;
+    private Instant completedAt;
+
+    private long recipesDeleted;
+    private long journeysDeleted;
+    private long expensesDeleted;
+
+    protected AccountPurge() {
+    }
+
+    public AccountPurge(Long userId) {
+        this.userId = userId;
+        this.requestedAt = Instant.now();
+    }
+
+    // Getters
+    public Long getPurgeId() {
+        return purgeId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Instant getRequestedAt() {
+        return requestedAt;
+    }
+
+    public Instant getLastProgressAt() {
+        return lastProgressAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public long getRecipesDeleted() {
+        return recipesDeleted;
+    }
+
+    public long getJourneysDeleted() {
+        return journeysDeleted;
+    }
+
+    public long getExpensesDeleted() {
+        return expensesDeleted;
+    }
+
+    public boolean isCompleted() {
+        return completedAt != null;
+    }
+
+    // Progress helpers
+    public void recordRecipesDeleted(int count) {
+        recipesDeleted += count;
+        lastProgressAt = Instant.now();
+    }
+
+    public void recordJourneysDeleted(int journeys, int expenses) {
+        journeysDeleted += journeys;
+        expensesDeleted += expenses;
+        lastProgressAt = Instant.now();
+    }
+
+    public void markCompleted() {
+        completedAt = Instant.now();
+        lastProgressAt = completedAt;
+    }
+}
@@ -0,0 +1,14 @@
+package com.barriquebackend.user.purge;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountPurgeRepository extends JpaRepository<AccountPurge, Long> {
+    Optional<AccountPurge> findByUserId(Long userId);
+
+    List<AccountPurge> findAllByCompletedAtIsNull();
+}
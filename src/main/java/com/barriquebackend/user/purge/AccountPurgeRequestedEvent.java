@@ -0,0 +1,10 @@
+package com.barriquebackend.user.purge;
+
+/**
+ * Published when an account has been disabled and its data is due to be purged.
+ *
+ * @param purgeId the ID of the purge work item
+ * @param userId  the ID of the disabled user
+ */
+public record AccountPurgeRequestedEvent(Long purgeId, Long userId) {
+}
@@ -0,0 +1,137 @@
+package com.barriquebackend.user.purge;
+
+import com.barriquebackend.bucksbuddy.journey.JourneyRepository;
+import com.barriquebackend.bucksbuddy.journey.expense.ExpenseRepository;
+import com.barriquebackend.recipevault.recipe.RecipeRepository;
+import com.barriquebackend.sync.SyncTombstoneRepository;
+import com.barriquebackend.user.AccountStatus;
+import com.barriquebackend.user.User;
+import com.barriquebackend.user.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Service class for deleting accounts.
+ * <p>
+ * Deleting an account only disables it and records an {@link AccountPurge}; the data is then
+ * removed in the background by {@link AccountPurgeWorker}, one chunk per short transaction,
+ * using set-based deletes. A crash between chunks loses nothing: the next run starts over with
+ * whatever rows are left.
+ * </p>
+ */
+@Service
+public class AccountPurgeService {
+
+    private final UserRepository userRepository;
+    private final RecipeRepository recipeRepository;
+    private final JourneyRepository journeyRepository;
+    private final ExpenseRepository expenseRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final AccountPurgeRepository purgeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public AccountPurgeService(UserRepository userRepository,
+                               RecipeRepository recipeRepository,
+                               JourneyRepository journeyRepository,
+                               ExpenseRepository expenseRepository,
+                               SyncTombstoneRepository tombstoneRepository,
+                               AccountPurgeRepository purgeRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${account.purge.chunk-size:200}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.recipeRepository = recipeRepository;
+        this.journeyRepository = journeyRepository;
+        this.expenseRepository = expenseRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.purgeRepository = purgeRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Disables the account of the given user and schedules the purge of its data.
+     * Requesting the purge of an account that is already being purged returns the existing purge.
+     *
+     * @param username the username of the account to delete
+     * @return the purge work item
+     * @throws RuntimeException if no user with the given username exists
+     */
+    @Transactional
+    public AccountPurge requestPurge(String username) {
+        User user = userRepository.findByUsername(username);
+        if (user == null) {
+            throw new RuntimeException("User not found: " + username);
+        }
+
+        user.setStatus(AccountStatus.PURGING);
+        userRepository.save(user);
+
+        AccountPurge purge = purgeRepository.findByUserId(user.getId())
+                .orElseGet(() -> purgeRepository.save(new AccountPurge(user.getId())));
+        eventPublisher.publishEvent(new AccountPurgeRequestedEvent(purge.getPurgeId(), user.getId()));
+        return purge;
+    }
+
+    /**
+     * Retrieves all purges that have not completed yet.
+     *
+     * @return the unfinished purges
+     */
+    public List<AccountPurge> getUnfinishedPurges() {
+        return purgeRepository.findAllByCompletedAtIsNull();
+    }
+
+    /**
+     * Deletes the next chunk of data of an account in its own transaction.
+     * <p>
+     * Recipes are deleted first, then journeys with their expenses, then the user row itself.
+     * </p>
+     *
+     * @param purgeId the ID of the purge
+     * @return true if there may be more work, false once the purge is complete
+     */
+    public boolean purgeNextChunk(Long purgeId) {
+        Boolean moreWork = transactionTemplate.execute(status -> {
+            AccountPurge purge = purgeRepository.findById(purgeId)
+                    .orElseThrow(() -> new RuntimeException("Account purge not found for ID: " + purgeId));
+            if (purge.isCompleted()) {
+                return false;
+            }
+            Long userId = purge.getUserId();
+
+            List<Long> recipeIds = recipeRepository.findIdsByUserId(userId, Limit.of(chunkSize));
+            if (!recipeIds.isEmpty()) {
+                purge.recordRecipesDeleted(recipeRepository.deleteAllWithComponents(recipeIds));
+                purgeRepository.save(purge);
+                return true;
+            }
+
+            List<Long> journeyIds = journeyRepository.findIdsByUserId(userId, Limit.of(chunkSize));
+            if (!journeyIds.isEmpty()) {
+                int expenses = expenseRepository.deleteAllByJourneyIds(journeyIds);
+                int journeys = journeyRepository.deleteJourneysByIds(journeyIds);
+                purge.recordJourneysDeleted(journeys, expenses);
+                purgeRepository.save(purge);
+                return true;
+            }
+
+            tombstoneRepository.deleteAllByUserId(userId);
+            userRepository.deleteByUserId(userId);
+            purge.markCompleted();
+            purgeRepository.save(purge);
+            return false;
+        });
+        return Boolean.TRUE.equals(moreWork);
+    }
+}
@@ -0,0 +1,68 @@
+package com.barriquebackend.user.purge;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs account purges off the request threads.
+ * <p>
+ * A purge starts as soon as the transaction that requested it commits. A periodic sweep
+ * resumes purges that were interrupted, e.g. by a restart.
+ * </p>
+ */
+@Component
+public class AccountPurgeWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountPurgeWorker.class);
+
+    private final AccountPurgeService purgeService;
+    private final Set<Long> runningPurges = ConcurrentHashMap.newKeySet();
+
+    public AccountPurgeWorker(AccountPurgeService purgeService) {
+        this.purgeService = purgeService;
+    }
+
+    /**
+     * Starts the purge once the account has been disabled.
+     *
+     * @param event the purge request
+     */
+    @Async
+    @TransactionalEventListener
+    public void onPurgeRequested(AccountPurgeRequestedEvent event) {
+        run(event.purgeId());
+    }
+
+    /**
+     * Resumes purges that did not complete.
+     */
+    @Scheduled(initialDelayString = "${account.purge.resume-initial-delay-ms:30000}",
+            fixedDelayString = "${account.purge.resume-interval-ms:300000}")
+    public void resumeUnfinished() {
+        purgeService.getUnfinishedPurges().forEach(purge -> run(purge.getPurgeId()));
+    }
+
+    private void run(Long purgeId) {
+        if (!runningPurges.add(purgeId)) {
+            return;
+        }
+        try {
+            int chunks = 0;
+            while (purgeService.purgeNextChunk(purgeId)) {
+                chunks++;
+            }
+            log.info("Account purge {} completed after {} chunks", purgeId, chunks);
+        } catch (RuntimeException e) {
+            log.warn("Account purge {} interrupted, it will be resumed later", purgeId, e);
+        } finally {
+            runningPurges.remove(purgeId);
+        }
+    }
+}
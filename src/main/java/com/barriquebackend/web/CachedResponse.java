@@ -0,0 +1,46 @@
+package com.barriquebackend.web;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * A response body rendered once and served as is until its source changes.
+ *
+ * @param body        the encoded body; must not be modified
+ * @param contentType the media type of the body
+ * @param etag        the quoted entity tag of the body
+ */
+public record CachedResponse(byte[] body, MediaType contentType, String etag) {
+
+    /**
+     * Builds the response for a request without a Cache-Control header, answering 304 if the
+     * client's copy is current.
+     *
+     * @param ifNoneMatch the If-None-Match header, may be null
+     * @return the response
+     */
+    public ResponseEntity<byte[]> toResponse(String ifNoneMatch) {
+        return toResponse(ifNoneMatch, CacheControl.empty());
+    }
+
+    /**
+     * Builds the response for a request, answering 304 if the client's copy is current.
+     *
+     * @param ifNoneMatch  the If-None-Match header, may be null
+     * @param cacheControl the Cache-Control header to send
+     * @return the response
+     */
+    public ResponseEntity<byte[]> toResponse(String ifNoneMatch, CacheControl cacheControl) {
+        if (ETags.matchesIfNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .contentLength(body.length)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(body);
+    }
+}
@@ -0,0 +1,23 @@
+package com.barriquebackend.web;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class ConcurrencyExceptionHandler {
+
+    /**
+     * Maps a failed {@code @Version} check to 412, the same status an outdated If-Match header gets.
+     *
+     * @param e the optimistic locking failure
+     * @return a ResponseEntity with status 412
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body("The resource was modified concurrently. Reload it and try again.");
+    }
+}
@@ -0,0 +1,74 @@
+package com.barriquebackend.web;
+
+import java.util.StringJoiner;
+
+/**
+ * Helpers for building entity tags and evaluating conditional request headers.
+ * <p>
+ * Tags are derived from {@code @Version} columns, so they can be computed with a
+ * single-column query before the entity graph is loaded.
+ * </p>
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Builds a strong entity tag from the given parts.
+     *
+     * @param parts the values identifying the representation, e.g. a resource name and a version
+     * @return the quoted entity tag
+     */
+    public static String of(Object... parts) {
+        StringJoiner joiner = new StringJoiner("-", "\"", "\"");
+        for (Object part : parts) {
+            joiner.add(String.valueOf(part));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Evaluates an If-None-Match header using weak comparison.
+     *
+     * @param ifNoneMatch the header value, may be null
+     * @param etag        the current entity tag
+     * @return true if the client's copy is current and a 304 may be sent
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(stripWeak(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Evaluates an If-Match header using strong comparison.
+     *
+     * @param ifMatch the header value, may be null
+     * @param etag    the current entity tag
+     * @return true if the header is absent or matches, false if the request must fail with 412
+     */
+    public static boolean satisfiesIfMatch(String ifMatch, String etag) {
+        if (ifMatch == null) {
+            return true;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (!tag.startsWith("W/") && tag.equals(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,159 @@
+package com.barriquebackend.web;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiPredicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A thread-safe map bounded by the number or the total weight of its entries, evicting the
+ * least recently used ones when full.
+ * <p>
+ * Every access takes a short lock because a lookup reorders the entries; values should be
+ * computed outside of the cache and only stored in it.
+ * </p>
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public final class LruCache<K, V> {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private long weight;
+
+    /**
+     * Creates an empty cache holding a fixed number of entries.
+     *
+     * @param capacity the maximum number of entries
+     */
+    public LruCache(int capacity) {
+        this(capacity, value -> 1);
+    }
+
+    /**
+     * Creates an empty cache bounded by the total weight of its values, e.g. their size in bytes.
+     *
+     * @param maxWeight the maximum total weight
+     * @param weigher   computes the weight of a value; it must not change while the value is cached
+     */
+    public LruCache(long maxWeight, ToLongFunction<? super V> weigher) {
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Maximum weight must be positive: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Looks up an entry and marks it as recently used.
+     *
+     * @param key the key
+     * @return the value, or null if there is none
+     */
+    public V get(K key) {
+        lock.lock();
+        try {
+            return entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores an entry, evicting the least recently used ones while the cache is over its bound.
+     * A value heavier than the whole cache is not stored.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        long valueWeight = weigher.applyAsLong(value);
+        lock.lock();
+        try {
+            V previous = valueWeight <= maxWeight ? entries.put(key, value) : entries.remove(key);
+            if (previous != null) {
+                weight -= weigher.applyAsLong(previous);
+            }
+            if (valueWeight <= maxWeight) {
+                weight += valueWeight;
+            }
+            Iterator<V> eldest = entries.values().iterator();
+            while (weight > maxWeight) {
+                weight -= weigher.applyAsLong(eldest.next());
+                eldest.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @param key the key
+     */
+    public void remove(K key) {
+        lock.lock();
+        try {
+            V previous = entries.remove(key);
+            if (previous != null) {
+                weight -= weigher.applyAsLong(previous);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all entries matching a condition.
+     *
+     * @param filter the condition on key and value
+     */
+    public void removeIf(BiPredicate<? super K, ? super V> filter) {
+        lock.lock();
+        try {
+            Iterator<Map.Entry<K, V>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<K, V> entry = iterator.next();
+                if (filter.test(entry.getKey(), entry.getValue())) {
+                    weight -= weigher.applyAsLong(entry.getValue());
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+            weight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Counts the entries.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.barriquebackend.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the serialized JSON of per-user GET responses in memory, so a repeated read is served
+ * as a copy of bytes instead of loading and serializing entities again.
+ * <p>
+ * Every entry remembers the ETag it was rendered for, and callers pass the ETag of the current
+ * state, which they compute from version columns anyway. An entry is only served while the two
+ * match, so a write can never be answered with an outdated body, even if its eviction is late or
+ * lost. Write paths still evict the entries they invalidate, which frees the memory early.
+ * </p>
+ * <p>
+ * The cache is bounded by the total size of the bodies and drops the least recently used ones
+ * first; a body bigger than a quarter of the budget is served but not kept.
+ * </p>
+ */
+@Component
+public class ResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final LruCache<Key, CachedResponse> cache;
+    private final long maxEntrySize;
+
+    /**
+     * Constructs a ResponseCache.
+     *
+     * @param objectMapper the mapper also used for regular responses
+     * @param maxSize      the total size of the cached bodies
+     */
+    public ResponseCache(ObjectMapper objectMapper, @Value("${response.cache.max-size:64MB}") DataSize maxSize) {
+        this.objectMapper = objectMapper;
+        this.cache = new LruCache<>(maxSize.toBytes(), response -> response.body().length);
+        this.maxEntrySize = maxSize.toBytes() / 4;
+    }
+
+    /**
+     * Serves a user's resource, answering 304 if the client's copy is current and rendering
+     * the body only if no cached copy for the current ETag exists.
+     *
+     * @param userId      the ID of the user the resource belongs to
+     * @param resource    identifies the resource and any query parameters that change its body
+     * @param etag        the quoted ETag of the resource's current state
+     * @param ifNoneMatch the If-None-Match header, may be null
+     * @param body        loads the body; only called on a cache miss
+     * @return the response
+     */
+    public ResponseEntity<byte[]> serve(Long userId, String resource, String etag, String ifNoneMatch, Supplier<?> body) {
+        if (ETags.matchesIfNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return get(userId, resource, etag, body).toResponse(null);
+    }
+
+    /**
+     * Returns the cached body of a user's resource, rendering and caching it if it is missing
+     * or was rendered for another ETag. Also used to warm the cache ahead of the first request.
+     *
+     * @param userId   the ID of the user the resource belongs to
+     * @param resource identifies the resource and any query parameters that change its body
+     * @param etag     the quoted ETag of the resource's current state
+     * @param body     loads the body; only called on a cache miss
+     * @return the cached or newly rendered response
+     */
+    public CachedResponse get(Long userId, String resource, String etag, Supplier<?> body) {
+        Key key = new Key(userId, resource);
+        CachedResponse cached = cache.get(key);
+        if (cached != null && cached.etag().equals(etag)) {
+            return cached;
+        }
+        CachedResponse rendered = new CachedResponse(render(body.get()), MediaType.APPLICATION_JSON, etag);
+        if (rendered.body().length <= maxEntrySize) {
+            cache.put(key, rendered);
+        } else {
+            cache.remove(key);
+        }
+        return rendered;
+    }
+
+    /**
+     * Drops the cached body of one of a user's resources.
+     *
+     * @param userId   the ID of the user
+     * @param resource the resource as passed to {@link #serve}
+     */
+    public void evict(Long userId, String resource) {
+        cache.remove(new Key(userId, resource));
+    }
+
+    /**
+     * Drops the cached bodies of all of a user's resources starting with a prefix,
+     * e.g. every filtered and sorted variant of a list.
+     *
+     * @param userId         the ID of the user
+     * @param resourcePrefix the common prefix of the resources
+     */
+    public void evictAll(Long userId, String resourcePrefix) {
+        cache.removeIf((key, response) -> key.userId().equals(userId) && key.resource().startsWith(resourcePrefix));
+    }
+
+    private byte[] render(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Key(Long userId, String resource) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.barriquebackend.web;
+
+/**
+ * Aggregate version of a collection of versioned rows.
+ * <p>
+ * Any insert changes {@code maxId}, any delete changes {@code count} and any update
+ * changes {@code versionSum}, so the stamp changes whenever the collection does.
+ * </p>
+ *
+ * @param count      the number of rows
+ * @param versionSum the sum of the rows' version columns
+ * @param maxId      the highest row ID
+ */
+public record VersionStamp(Long count, Long versionSum, Long maxId) {
+
+    /**
+     * Builds an entity tag for the collection.
+     *
+     * @param resource a name distinguishing the collection from other resources
+     * @return the quoted entity tag
+     */
+    public String toETag(String resource) {
+        return ETags.of(resource, count, versionSum, maxId);
+    }
+}
@@ -0,0 +1,27 @@
+-- Database objects that Hibernate's ddl-auto cannot express.
+-- Runs after Hibernate has updated the schema (spring.jpa.defer-datasource-initialization),
+-- so every statement must be idempotent.
+
+-- Expense search (full-text and trigram)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_expense_name_fts ON expense USING gin (to_tsvector('simple', coalesce(name, '')));
+CREATE INDEX IF NOT EXISTS idx_expense_name_trgm ON expense USING gin (name gin_trgm_ops);
+
+-- Delta sync: global change sequence, backfilled for rows that predate change tracking
+CREATE SEQUENCE IF NOT EXISTS change_seq;
+UPDATE recipe SET change_seq = nextval('change_seq'), updated_at = coalesce(updated_at, now()) WHERE change_seq = 0;
+UPDATE journeys SET change_seq = nextval('change_seq'), updated_at = coalesce(updated_at, now()) WHERE change_seq = 0;
+UPDATE expense SET change_seq = nextval('change_seq'), updated_at = coalesce(updated_at, now()) WHERE change_seq = 0;
+
+-- Ingredient dictionary: move free-text ingredient titles into ingredient_term.
+-- The normalization matches IngredientTerm.normalize (trim, collapse whitespace, lower-case).
+INSERT INTO ingredient_term (name, normalized_name)
+SELECT DISTINCT ON (lower(btrim(regexp_replace(title, '\s+', ' ', 'g'))))
+       btrim(regexp_replace(title, '\s+', ' ', 'g')), lower(btrim(regexp_replace(title, '\s+', ' ', 'g')))
+FROM ingredient
+WHERE term_id IS NULL AND btrim(regexp_replace(title, '\s+', ' ', 'g')) <> ''
+ON CONFLICT (normalized_name) DO NOTHING;
+UPDATE ingredient i SET term_id = t.term_id, title = NULL
+FROM ingredient_term t
+WHERE i.term_id IS NULL AND i.title IS NOT NULL
+  AND t.normalized_name = lower(btrim(regexp_replace(i.title, '\s+', ' ', 'g')));
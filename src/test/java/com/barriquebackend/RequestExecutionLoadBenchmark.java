@@ -0,0 +1,338 @@
+package com.barriquebackend;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the whole application on platform request threads and on virtual threads
+ * ({@code spring.threads.virtual.enabled}) while the database answers slowly.
+ * <p>
+ * For every combination of thread mode, injected database latency and connection pool size the
+ * application is started on a random port against PostgreSQL, with Tomcat, Spring Security,
+ * Hikari, the PostgreSQL driver and the BCrypt encoder all in the path. Every JDBC statement and
+ * commit is delayed by the latency before it reaches the driver. Closed-loop HTTP clients then
+ * repeat a mix of journey list reads (served from the response cache), single journey reads,
+ * journey updates and a few logins, and the throughput and p50/p99 latency are printed per run.
+ * </p>
+ * <p>
+ * Not part of {@code ./gradlew test}; run it with
+ * {@code ./gradlew loadBenchmark -Dbench.db.url=jdbc:postgresql://localhost:5432/postgres -Dbench.db.user=... -Dbench.db.password=...}.
+ * The task traces virtual threads that block while pinned, so pinning in the driver or the pool
+ * shows up as stack traces in the output. The matrix can be narrowed with {@code bench.latencies},
+ * {@code bench.pool-sizes}, {@code bench.clients}, {@code bench.warmup} and {@code bench.duration}.
+ * </p>
+ */
+@Tag("benchmark")
+class RequestExecutionLoadBenchmark {
+
+    private static final int USERS = 40;
+    private static final String PASSWORD = "benchmark-password";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    @Test
+    void compareThreadModes() throws Exception {
+        List<Integer> latencies = intList(System.getProperty("bench.latencies", "1,10,50"));
+        List<Integer> poolSizes = intList(System.getProperty("bench.pool-sizes", "10,100"));
+        int clients = Integer.getInteger("bench.clients", 400);
+        Duration warmup = Duration.parse(System.getProperty("bench.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("bench.duration", "PT30S"));
+
+        List<String> rows = new ArrayList<>();
+        rows.add(String.format("%-8s %10s %9s %8s %12s %9s %9s %7s",
+                "mode", "latencyMs", "poolSize", "clients", "requests/s", "p50 ms", "p99 ms", "errors"));
+        for (int latency : latencies) {
+            for (int poolSize : poolSizes) {
+                for (boolean virtual : new boolean[]{false, true}) {
+                    Result result = run(virtual, latency, poolSize, clients, warmup, duration);
+                    assertThat(result.requests()).isPositive();
+                    rows.add(String.format("%-8s %10d %9d %8d %12.1f %9.1f %9.1f %7d",
+                            virtual ? "virtual" : "platform", latency, poolSize, clients,
+                            result.requests() / (duration.toMillis() / 1000.0),
+                            result.percentileMillis(0.50), result.percentileMillis(0.99), result.errors()));
+                    System.out.println(rows.get(rows.size() - 1));
+                }
+            }
+        }
+        System.out.println(String.join(System.lineSeparator(), rows));
+    }
+
+    private Result run(boolean virtual, int latencyMillis, int poolSize, int clients,
+                       Duration warmup, Duration duration) throws Exception {
+        // Passed as command line arguments, which take precedence over application.properties
+        String[] args = {
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--spring.datasource.url=" + System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/postgres"),
+                "--spring.datasource.username=" + System.getProperty("bench.db.user", "postgres"),
+                "--spring.datasource.password=" + System.getProperty("bench.db.password", "postgres"),
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--spring.security.user.name=benchmark",
+                "--spring.security.user.password=" + PASSWORD,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"
+        };
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BarriquebackendApplication.class)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new LatencyInjector(latencyMillis)))
+                .run(args)) {
+            String baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            List<Client> sessions = prepareClients(baseUrl, clients);
+
+            AtomicBoolean measuring = new AtomicBoolean(false);
+            AtomicBoolean running = new AtomicBoolean(true);
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<Recorder>> futures = new ArrayList<>();
+                for (Client client : sessions) {
+                    futures.add(executor.submit(() -> client.loop(running, measuring)));
+                }
+                Thread.sleep(warmup.toMillis());
+                measuring.set(true);
+                Thread.sleep(duration.toMillis());
+                measuring.set(false);
+                running.set(false);
+
+                Recorder total = new Recorder();
+                for (Future<Recorder> future : futures) {
+                    total.addAll(future.get());
+                }
+                return total.result();
+            }
+        }
+    }
+
+    /**
+     * Registers the users and logs them in; every client gets a journey of its own to read and update.
+     */
+    private List<Client> prepareClients(String baseUrl, int clients) throws Exception {
+        String prefix = "bench-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            String credentials = objectMapper.writeValueAsString(Map.of("username", prefix + i, "password", PASSWORD));
+            send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/user/register")), "POST", credentials, null);
+            JsonNode login = objectMapper.readTree(
+                    send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/user/login")), "POST", credentials, null).body());
+            tokens.add(login.get("token").asText());
+        }
+        List<Client> result = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            String token = tokens.get(i % USERS);
+            JsonNode journey = objectMapper.readTree(send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/journey")),
+                    "POST", journeyJson("journey " + i), token).body());
+            result.add(new Client(baseUrl, prefix + (i % USERS), token, journey.get("journeyId").asLong()));
+        }
+        return result;
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request, String method, String body, String token)
+            throws Exception {
+        request.timeout(Duration.ofSeconds(60));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        HttpResponse<String> response = httpClient.send(request.method(method, body != null
+                ? HttpRequest.BodyPublishers.ofString(body)
+                : HttpRequest.BodyPublishers.noBody()).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(method + " " + response.uri() + " answered " + response.statusCode());
+        }
+        return response;
+    }
+
+    private static String journeyJson(String name) {
+        return "{\"name\":\"" + name + "\",\"homeCurr\":\"EUR\",\"vacCurr\":\"USD\",\"budget\":1000,"
+                + "\"startDate\":\"2026-01-01\",\"endDate\":\"2026-01-10\"}";
+    }
+
+    private static List<Integer> intList(String values) {
+        return Arrays.stream(values.split(",")).map(String::trim).map(Integer::valueOf).toList();
+    }
+
+    private final class Client {
+
+        private final String baseUrl;
+        private final String username;
+        private final String token;
+        private final long journeyId;
+
+        private Client(String baseUrl, String username, String token, long journeyId) {
+            this.baseUrl = baseUrl;
+            this.username = username;
+            this.token = token;
+            this.journeyId = journeyId;
+        }
+
+        private Recorder loop(AtomicBoolean running, AtomicBoolean measuring) {
+            Recorder recorder = new Recorder();
+            int updates = 0;
+            while (running.get()) {
+                int choice = ThreadLocalRandom.current().nextInt(100);
+                long start = System.nanoTime();
+                boolean failed = false;
+                try {
+                    if (choice < 40) {
+                        send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/user/journey")), "GET", null, token);
+                    } else if (choice < 80) {
+                        send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/journey/" + journeyId)), "GET", null, token);
+                    } else if (choice < 98) {
+                        send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/journey/" + journeyId)), "PUT",
+                                journeyJson("journey " + journeyId + " #" + ++updates), token);
+                    } else {
+                        send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/user/login")), "POST",
+                                objectMapper.writeValueAsString(Map.of("username", username, "password", PASSWORD)), null);
+                    }
+                } catch (Exception e) {
+                    failed = true;
+                }
+                if (measuring.get()) {
+                    recorder.record(System.nanoTime() - start, failed);
+                }
+            }
+            return recorder;
+        }
+    }
+
+    private static final class Recorder {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        private void record(long nanos, boolean failed) {
+            if (failed) {
+                errors++;
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        private void addAll(Recorder other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], false);
+            }
+            errors += other.errors;
+        }
+
+        private Result result() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Result(sorted, errors);
+        }
+    }
+
+    private record Result(long[] sortedLatencies, int errors) {
+
+        long requests() {
+            return sortedLatencies.length;
+        }
+
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+
+    /**
+     * Wraps the application's DataSource so that every statement execution and commit waits for
+     * the given latency first, as if PostgreSQL were slow or far away. Connections still come
+     * from Hikari and statements still run through the real driver.
+     */
+    private static final class LatencyInjector implements BeanPostProcessor {
+
+        private final long latencyMillis;
+
+        private LatencyInjector(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (!(bean instanceof DataSource dataSource) || latencyMillis <= 0) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return delayed(Connection.class, super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return delayed(Connection.class, super.getConnection(username, password));
+                }
+            };
+        }
+
+        private <T> T delayed(Class<T> type, T target) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("execute") || name.equals("commit")) {
+                    Thread.sleep(latencyMillis);
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof CallableStatement statement) {
+                    return delayed(CallableStatement.class, statement);
+                }
+                if (result instanceof PreparedStatement statement) {
+                    return delayed(PreparedStatement.class, statement);
+                }
+                if (result instanceof Statement statement) {
+                    return delayed(Statement.class, statement);
+                }
+                return result;
+            };
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+    }
+}
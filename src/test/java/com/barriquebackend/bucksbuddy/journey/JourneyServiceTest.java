@@ -0,0 +1,121 @@
+package com.barriquebackend.bucksbuddy.journey;
+
+import com.barriquebackend.bucksbuddy.journey.expense.Expense;
+import com.barriquebackend.sync.ChangeSequence;
+import com.barriquebackend.sync.ChangeTrackingListener;
+import com.barriquebackend.sync.SyncService;
+import com.barriquebackend.user.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.auto_quote_keyword=true"
+})
+@Import({JourneyService.class, SyncService.class, ChangeTrackingListener.class})
+class JourneyServiceTest {
+
+    @MockBean
+    private ChangeSequence changeSequence;
+
+    @Autowired
+    private JourneyService journeyService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        AtomicLong sequence = new AtomicLong();
+        when(changeSequence.next()).thenAnswer(invocation -> sequence.incrementAndGet());
+    }
+
+    @Test
+    void deleteJourneyUsesConstantNumberOfStatements() {
+        User user = persistUser("traveller");
+        Journey smallJourney = persistJourney(user, 1);
+        Journey largeJourney = persistJourney(user, 50);
+
+        long smallCount = countStatements(() -> journeyService.deleteJourney(smallJourney.getJourneyId(), user));
+        long largeCount = countStatements(() -> journeyService.deleteJourney(largeJourney.getJourneyId(), user));
+
+        assertThat(largeCount).isEqualTo(smallCount);
+        assertThat(entityManager.find(Journey.class, largeJourney.getJourneyId())).isNull();
+        assertThat(countExpenses()).isZero();
+    }
+
+    @Test
+    void deleteJourneyRejectsOtherUsers() {
+        User owner = persistUser("owner");
+        User intruder = persistUser("intruder");
+        Journey journey = persistJourney(owner, 3);
+
+        assertThatThrownBy(() -> journeyService.deleteJourney(journey.getJourneyId(), intruder))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("not authorized");
+        assertThat(entityManager.find(Journey.class, journey.getJourneyId())).isNotNull();
+        assertThat(countExpenses()).isEqualTo(3);
+    }
+
+    private long countStatements(Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        entityManager.flush();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long countExpenses() {
+        return entityManager.getEntityManager()
+                .createQuery("select count(e) from Expense e", Long.class)
+                .getSingleResult();
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("secret");
+        return entityManager.persistAndFlush(user);
+    }
+
+    private Journey persistJourney(User user, int expenseCount) {
+        Journey journey = new Journey();
+        journey.setUser(user);
+        journey.setName("Lisbon");
+        journey.setHomeCurr("EUR");
+        journey.setVacCurr("EUR");
+        journey.setBudget(1000);
+        journey.setStartDate(LocalDate.of(2024, 5, 1));
+        journey.setEndDate(LocalDate.of(2024, 5, 10));
+        for (int i = 0; i < expenseCount; i++) {
+            Expense expense = new Expense();
+            expense.setName("Taxi " + i);
+            expense.setAmount(12.5);
+            expense.setDate(LocalDate.of(2024, 5, 2));
+            journey.addExpense(expense);
+        }
+        entityManager.persist(journey);
+        entityManager.flush();
+        entityManager.clear();
+        return journey;
+    }
+}
@@ -0,0 +1,49 @@
+package com.barriquebackend.recipevault.recipe;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CookingTimeParserTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "30|30",
+            "30 min|30",
+            "90 Min.|90",
+            "1 h 30 min|90",
+            "1h30|90",
+            "1:30|90",
+            "1.5 hours|90",
+            "1,5 Stunden|90",
+            "2 Std.|120",
+            "1 hour 15 minutes|75",
+            "45-60 min|60",
+            "1 to 2 hours|120",
+            "PT1H30M|90",
+            "pt45m|45",
+            "about 20 minutes|20",
+            "prep 20 min|20",
+            "Prep: 15 min|15",
+            "P1D|1440",
+            "1 1/2 hours|90",
+            "1/2 hour|30",
+            "1 1/2 - 2 hours|120"
+    })
+    void parsesCommonFormats(String text, int minutes) {
+        assertEquals(minutes, CookingTimeParser.parseMinutes(text));
+    }
+
+    @Test
+    void returnsNullForBlankOrUnknownText() {
+        assertNull(CookingTimeParser.parseMinutes(null));
+        assertNull(CookingTimeParser.parseMinutes("  "));
+        assertNull(CookingTimeParser.parseMinutes("quick"));
+        assertNull(CookingTimeParser.parseMinutes("P1X"));
+        assertNull(CookingTimeParser.parseMinutes("Prep time"));
+        assertNull(CookingTimeParser.parseMinutes("1/0 h"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.barriquebackend.recipevault.recipe.revision;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonPatchTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', quoteCharacter = '"', value = {
+            "{'a':1,'l':[1,2,3,4]}|{'a':2,'b':'x','l':[1,9,3,4,5]}",
+            "{'l':[1,2,3,4,5]}|{'l':[1,5]}",
+            "{'l':[1,2]}|{'l':[0,1,7,2]}",
+            "{'l':[1,2,3]}|{'l':[4,5]}",
+            "{'a/b':{'c~':1}}|{'a/b':{'c~':2},'x':null}",
+            "{'steps':[{'n':1},{'n':2}]}|{'steps':[{'n':2}]}",
+            "[1]|{}"
+    })
+    void appliedDiffTurnsSourceIntoTarget(String source, String target) throws Exception {
+        JsonNode from = json(source);
+        JsonNode to = json(target);
+
+        assertEquals(to, JsonPatch.apply(from, JsonPatch.diff(from, to)));
+    }
+
+    @Test
+    void appendingToAListIsASingleOperation() throws Exception {
+        JsonNode patch = JsonPatch.diff(json("{'tools':['pan','pot']}"), json("{'tools':['pan','pot','whisk']}"));
+
+        assertEquals(json("[{'op':'add','path':'/tools/2','value':'whisk'}]"), patch);
+    }
+
+    @Test
+    void equalDocumentsGiveAnEmptyPatch() throws Exception {
+        assertTrue(JsonPatch.diff(json("{'a':[1,{'b':2}]}"), json("{'a':[1,{'b':2}]}")).isEmpty());
+    }
+
+    @Test
+    void applyLeavesTheSourceUnchanged() throws Exception {
+        JsonNode from = json("{'a':{'b':1}}");
+        JsonPatch.apply(from, JsonPatch.diff(from, json("{'a':{'b':2}}")));
+
+        assertEquals(json("{'a':{'b':1}}"), from);
+    }
+
+    private JsonNode json(String text) throws Exception {
+        return mapper.readTree(text.replace('\'', '"'));
+    }
+}